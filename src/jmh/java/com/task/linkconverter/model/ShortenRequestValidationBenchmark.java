@@ -0,0 +1,46 @@
+package com.task.linkconverter.model;
+
+import com.task.linkconverter.validation.UrlSyntax;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.regex.Pattern;
+
+@State(Scope.Benchmark)
+public class ShortenRequestValidationBenchmark {
+    // the @Pattern ShortenRequest used before UrlSyntax
+    private static final Pattern REGEX = Pattern.compile(
+            "^https://www\\.[a-zA-Z0-9-]+\\.[a-zA-Z]{2,5}(?:/[a-zA-Z0-9-._~!$&'()*+,;=:@/?%]*)?$");
+
+    private Validator validator;
+
+    @Param({
+            "https://www.example.com/campaigns/2024/spring-launch?utm_source=newsletter",
+            "https://www.example.com/" + "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa" + "<",
+            "ftp://invalid.protocol"
+    })
+    public String url;
+
+    @Setup
+    public void setUp() {
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ShortenRequest>> validate() {
+        return validator.validate(new ShortenRequest(url));
+    }
+
+    @Benchmark
+    public boolean regex() {
+        return REGEX.matcher(url).matches();
+    }
+
+    @Benchmark
+    public boolean handWritten() {
+        return UrlSyntax.isValid(url);
+    }
+}
@@ -0,0 +1,51 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.LinkConverterApplication;
+import com.task.linkconverter.interfaces.ShortLinkRepository;
+import com.task.linkconverter.model.ShortLink;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Lookups against the in-memory H2 datasource through the full Spring context.
+ */
+@State(Scope.Benchmark)
+public class H2LookupBenchmark {
+    private static final String CODE = "0000a1B";
+
+    private ConfigurableApplicationContext context;
+    private ShortLinkService service;
+    private ShortLinkRepository repository;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(LinkConverterApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN", "spring.datasource.url=jdbc:h2:mem:jmh")
+                .run();
+        service = context.getBean(ShortLinkService.class);
+        repository = context.getBean(ShortLinkRepository.class);
+        repository.save(new ShortLink(null, "https://www.example.com/path", CODE,
+                Instant.now().plus(1, ChronoUnit.DAYS)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String getOriginalUrl() {
+        return service.getOriginalUrl(CODE);
+    }
+
+    @Benchmark
+    public ShortLink repositoryFindByShortLink() {
+        return repository.findByShortLink(CODE).orElseThrow();
+    }
+}
@@ -0,0 +1,65 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.cache.LinkCache;
+import com.task.linkconverter.config.AppConfig;
+import com.task.linkconverter.config.CacheProperties;
+import com.task.linkconverter.interfaces.LinkFilter;
+import com.task.linkconverter.interfaces.LinkStore;
+import com.task.linkconverter.interfaces.ShortLinkRepository;
+import com.task.linkconverter.metrics.LinkMetrics;
+import com.task.linkconverter.metrics.RequestLogSampler;
+import com.task.linkconverter.model.ShortLink;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * getOriginalUrl against a stubbed repository, isolating the service and cache overhead.
+ */
+@State(Scope.Benchmark)
+public class RedirectLookupBenchmark {
+    private static final String CODE = "0000a1B";
+
+    private ShortLinkService service;
+
+    @Setup
+    public void setUp() {
+        ShortLink link = new ShortLink(1L, "https://www.example.com/path", CODE, Instant.now().plus(1, ChronoUnit.DAYS));
+        ShortLinkRepository repository = (ShortLinkRepository) Proxy.newProxyInstance(
+                ShortLinkRepository.class.getClassLoader(),
+                new Class<?>[]{ShortLinkRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByShortLink" -> CODE.equals(args[0]) ? Optional.of(link) : Optional.empty();
+                    case "findAllByUrlHash" -> List.of();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "StubShortLinkRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        LinkStore linkStore = new JpaLinkStore(repository, new UrlHashBackfill(null), null);
+        service = new ShortLinkService(
+                linkStore,
+                () -> true,
+                new LinkCache(new CacheProperties(), Optional.empty(), Optional.empty()),
+                new HashShortCodeGenerator(),
+                new DirectLinkWriter(linkStore),
+                LinkFilter.none(),
+                LinkMetrics.noop(),
+                new RequestLogSampler(new AppConfig()));
+        service.getOriginalUrl(CODE);
+    }
+
+    @Benchmark
+    public String cacheHit() {
+        return service.getOriginalUrl(CODE);
+    }
+
+    @Benchmark
+    public String cacheBypass() {
+        return service.resolve(CODE, service.loadLink(CODE)).getOriginalUrl();
+    }
+}
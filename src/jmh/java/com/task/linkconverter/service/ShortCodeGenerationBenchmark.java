@@ -0,0 +1,46 @@
+package com.task.linkconverter.service;
+
+import io.seruco.encoding.base62.Base62;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+public class ShortCodeGenerationBenchmark {
+    private final HashShortCodeGenerator hashGenerator = new HashShortCodeGenerator();
+    private final AtomicLong nextBlock = new AtomicLong();
+    private final SequenceShortCodeGenerator sequenceGenerator =
+            new SequenceShortCodeGenerator(size -> nextBlock.getAndAdd(size), 1000, 7);
+
+    @Param({"https://www.example.com/campaigns/2024/spring-launch?utm_source=newsletter"})
+    public String url;
+
+    // The generator as it was before strategies were introduced: fresh digest and codec per call
+    @Benchmark
+    public String legacyHash() throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] hash = digest.digest(url.getBytes(StandardCharsets.UTF_8));
+        byte[] encoded = Base62.createInstance().encode(Arrays.copyOf(hash, 6));
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String hashGenerator() {
+        return hashGenerator.generate(url);
+    }
+
+    @Benchmark
+    public String sequenceGenerator() {
+        return sequenceGenerator.generate(url);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String sequenceGeneratorContended() {
+        return sequenceGenerator.generate(url);
+    }
+}
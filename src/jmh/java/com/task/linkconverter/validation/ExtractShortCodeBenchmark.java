@@ -0,0 +1,19 @@
+package com.task.linkconverter.validation;
+
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+public class ExtractShortCodeBenchmark {
+    @Param({"http://localhost:8080/0000a1B", "http://localhost:8080/0000a1B?utm_source=mail"})
+    public String shortUrl;
+
+    @Benchmark
+    public String uri() {
+        return UrlSyntax.lastPathSegmentOfUri(shortUrl);
+    }
+
+    @Benchmark
+    public String scan() {
+        return UrlSyntax.lastPathSegment(shortUrl);
+    }
+}
@@ -0,0 +1,406 @@
+package com.task.linkconverter.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.task.linkconverter.LinkConverterApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives a mixed shorten / redirect / retrieve workload against the application over HTTP and
+ * writes throughput and latency percentiles as JSON, so that runs of two releases can be diffed.
+ * <p>
+ * By default the application is started in this JVM against an in-memory H2 database and a
+ * {@link RespServer} in place of Redis, so a run needs no external services; pass
+ * {@code --target=http://host:port} to load an already running instance instead. Options
+ * ({@code --name=value}, defaults in brackets):
+ * <ul>
+ *     <li>{@code duration} [60s], {@code warmup} [10s]: measured time and unmeasured lead-in</li>
+ *     <li>{@code concurrency} [32]: closed-loop workers, each with one request in flight</li>
+ *     <li>{@code keys} [10000]: links created up front that the workload reads and re-shortens</li>
+ *     <li>{@code zipf} [1.0]: skew of key popularity, 0 for uniform</li>
+ *     <li>{@code mix} [create:5,shorten:10,redirect:75,retrieve:10]: relative operation weights;
+ *     create shortens a new URL, shorten an existing one</li>
+ *     <li>{@code output} [build/loadtest/report.json]</li>
+ *     <li>{@code fail-on-errors} [false]: exit with an error if any measured request failed</li>
+ * </ul>
+ * Extra {@code --app.*} or {@code --spring.*} options are passed to the embedded application.
+ */
+public class LoadTest {
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("duration", "60s");
+        DEFAULTS.put("warmup", "10s");
+        DEFAULTS.put("concurrency", "32");
+        DEFAULTS.put("keys", "10000");
+        DEFAULTS.put("zipf", "1.0");
+        DEFAULTS.put("mix", "create:5,shorten:10,redirect:75,retrieve:10");
+        DEFAULTS.put("output", "build/loadtest/report.json");
+        DEFAULTS.put("target", "");
+        DEFAULTS.put("fail-on-errors", "false");
+    }
+
+    // the host must pass the application's URL validation, see UrlSyntax
+    private static final String URL_PREFIX = "https://www.loadtest.com/";
+
+    enum Operation {
+        CREATE, SHORTEN, REDIRECT, RETRIEVE
+    }
+
+    private final Map<String, String> options;
+    private final List<String> applicationArgs;
+    private final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final HttpClient client = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final AtomicLong created = new AtomicLong();
+    private String baseUrl;
+    private String[] urls;
+    private String[] shortLinks;
+
+    LoadTest(Map<String, String> options, List<String> applicationArgs) {
+        this.options = options;
+        this.applicationArgs = applicationArgs;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>(DEFAULTS);
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            String name = arg.substring(2, separator);
+            if (DEFAULTS.containsKey(name)) {
+                options.put(name, arg.substring(separator + 1));
+            } else if (name.startsWith("app.") || name.startsWith("spring.") || name.startsWith("server.")) {
+                applicationArgs.add(arg);
+            } else {
+                throw new IllegalArgumentException("Unknown option " + name + "; known: " + DEFAULTS.keySet());
+            }
+        }
+        new LoadTest(options, applicationArgs).run();
+        // the embedded application's non-daemon threads are gone, but the HTTP client's may linger
+        System.exit(0);
+    }
+
+    void run() throws Exception {
+        String target = options.get("target");
+        if (!target.isEmpty()) {
+            baseUrl = target.replaceAll("/+$", "");
+            execute();
+            return;
+        }
+        try (RespServer redis = new RespServer();
+             ConfigurableApplicationContext application = startApplication(redis.port())) {
+            baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+            execute();
+        }
+    }
+
+    private ConfigurableApplicationContext startApplication(int redisPort) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.data.redis.port=" + redisPort,
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                "--spring.h2.console.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.springdoc=WARN",
+                "--app.request-log-sample-rate=0",
+                "--app.rate-limit.limit=2000000000",
+                "--app.rate-limit.client.enabled=false",
+                "--app.cache.index.enabled=false",
+                "--app.persistence.write-behind.directory=build/loadtest/write-behind"));
+        // later arguments win, so the caller can still override any of the above
+        args.addAll(applicationArgs);
+        return new SpringApplicationBuilder(LinkConverterApplication.class).run(args.toArray(String[]::new));
+    }
+
+    private void execute() throws Exception {
+        Duration duration = parseDuration(options.get("duration"));
+        Duration warmup = parseDuration(options.get("warmup"));
+        int concurrency = Integer.parseInt(options.get("concurrency"));
+        int keys = Integer.parseInt(options.get("keys"));
+        double zipf = Double.parseDouble(options.get("zipf"));
+        Map<Operation, Integer> mix = parseMix(options.get("mix"));
+
+        seed(keys, concurrency);
+        ZipfSampler popularity = new ZipfSampler(keys, zipf);
+        Operation[] schedule = schedule(mix);
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long measureUntil = measureFrom + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<Recorder>> results = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            results.add(workers.submit(() -> work(schedule, popularity, measureFrom, measureUntil)));
+        }
+        Recorder total = new Recorder();
+        for (Future<Recorder> result : results) {
+            total.addAll(result.get());
+        }
+        workers.shutdown();
+        double seconds = duration.toNanos() / 1e9;
+
+        Map<String, Object> report = report(total, seconds, popularity, keys);
+        String json = mapper.writeValueAsString(report);
+        System.out.println(json);
+        Path output = Path.of(options.get("output"));
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        Files.writeString(output, json + System.lineSeparator());
+        System.err.println("Report written to " + output.toAbsolutePath());
+        long errors = ((Number) ((Map<?, ?>) report.get("total")).get("errors")).longValue();
+        if (errors > 0 && Boolean.parseBoolean(options.get("fail-on-errors"))) {
+            throw new IllegalStateException(errors + " requests failed, see " + output);
+        }
+    }
+
+    private void seed(int keys, int concurrency) throws Exception {
+        urls = new String[keys];
+        shortLinks = new String[keys];
+        ExecutorService seeders = Executors.newFixedThreadPool(concurrency);
+        List<Future<?>> pending = new ArrayList<>(keys);
+        for (int i = 0; i < keys; i++) {
+            int key = i;
+            pending.add(seeders.submit(() -> {
+                urls[key] = URL_PREFIX + "key/" + key;
+                Response response = shorten(urls[key]);
+                if (response.status() != 200) {
+                    throw new IllegalStateException("Seeding " + urls[key] + " failed with " + response.status()
+                            + ": " + response.body());
+                }
+                shortLinks[key] = mapper.readTree(response.body()).get("shortLink").asText();
+                return null;
+            }));
+        }
+        for (Future<?> future : pending) {
+            future.get();
+        }
+        seeders.shutdown();
+    }
+
+    private Recorder work(Operation[] schedule, ZipfSampler popularity, long measureFrom, long measureUntil) {
+        Recorder recorder = new Recorder();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now;
+        while ((now = System.nanoTime()) < measureUntil) {
+            Operation operation = schedule[random.nextInt(schedule.length)];
+            boolean ok;
+            long began = now;
+            try {
+                ok = perform(operation, popularity.next());
+            } catch (IOException e) {
+                ok = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            long ended = System.nanoTime();
+            if (began >= measureFrom && ended <= measureUntil) {
+                recorder.record(operation, ended - began, ok);
+            }
+        }
+        return recorder;
+    }
+
+    private boolean perform(Operation operation, int key) throws IOException, InterruptedException {
+        return switch (operation) {
+            case CREATE -> {
+                String url = URL_PREFIX + "new/" + created.incrementAndGet() + "/" + System.nanoTime();
+                yield shorten(url).status() == 200;
+            }
+            case SHORTEN -> shorten(urls[key]).status() == 200;
+            case REDIRECT -> {
+                String code = shortLinks[key].substring(shortLinks[key].lastIndexOf('/') + 1);
+                int status = send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + code)).GET()).status();
+                yield status >= 300 && status < 400;
+            }
+            case RETRIEVE -> {
+                String query = URLEncoder.encode(shortLinks[key], StandardCharsets.UTF_8);
+                yield send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/retrieve?shortUrl=" + query)).GET())
+                        .status() == 200;
+            }
+        };
+    }
+
+    private Response shorten(String url) throws IOException, InterruptedException {
+        String body = mapper.writeValueAsString(Map.of("originalUrl", url, "ttl", "PT24H"));
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/shorten"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    private Response send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request.timeout(Duration.ofSeconds(30)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        return new Response(response.statusCode(), response.body());
+    }
+
+    private Map<String, Object> report(Recorder total, double seconds, ZipfSampler popularity, int keys) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("version", System.getProperty("loadtest.version", "unknown"));
+        Map<String, Object> config = new LinkedHashMap<>(options);
+        config.put("applicationArgs", applicationArgs);
+        config.put("hotKeyShare", Map.of("top1%", round(popularity.share(Math.max(1, keys / 100)))));
+        report.put("config", config);
+        Map<String, Object> environment = new LinkedHashMap<>();
+        environment.put("java", System.getProperty("java.version"));
+        environment.put("processors", Runtime.getRuntime().availableProcessors());
+        environment.put("embedded", options.get("target").isEmpty());
+        report.put("environment", environment);
+
+        Map<String, Object> operations = new LinkedHashMap<>();
+        long[] all = new long[0];
+        long errors = 0;
+        for (Operation operation : Operation.values()) {
+            long[] latencies = total.latencies(operation);
+            long failed = total.errors(operation);
+            operations.put(operation.name().toLowerCase(), summary(latencies, failed, seconds));
+            all = concat(all, latencies);
+            errors += failed;
+        }
+        report.put("total", summary(all, errors, seconds));
+        report.put("operations", operations);
+        return report;
+    }
+
+    private static Map<String, Object> summary(long[] latencies, long errors, double seconds) {
+        Arrays.sort(latencies);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", latencies.length);
+        summary.put("errors", errors);
+        summary.put("throughput", round(latencies.length / seconds));
+        Map<String, Object> millis = new LinkedHashMap<>();
+        millis.put("p50", percentile(latencies, 0.50));
+        millis.put("p99", percentile(latencies, 0.99));
+        millis.put("p999", percentile(latencies, 0.999));
+        millis.put("max", latencies.length == 0 ? 0 : round(latencies[latencies.length - 1] / 1e6));
+        summary.put("latencyMs", millis);
+        return summary;
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return round(sorted[Math.max(0, index)] / 1e6);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    private static long[] concat(long[] first, long[] second) {
+        long[] joined = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, joined, first.length, second.length);
+        return joined;
+    }
+
+    private static Operation[] schedule(Map<Operation, Integer> mix) {
+        List<Operation> schedule = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                schedule.add(operation);
+            }
+        });
+        if (schedule.isEmpty()) {
+            throw new IllegalArgumentException("mix has no operation with a positive weight");
+        }
+        return schedule.toArray(Operation[]::new);
+    }
+
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight in mix, got " + part);
+            }
+            weights.put(Operation.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+
+    static Duration parseDuration(String value) {
+        return value.startsWith("P") || value.startsWith("p")
+                ? Duration.parse(value)
+                : Duration.parse("PT" + value.toUpperCase());
+    }
+
+    private record Response(int status, String body) {
+    }
+
+    /**
+     * Per-worker latencies in nanoseconds, merged once the run is over.
+     */
+    private static final class Recorder {
+        private final Map<Operation, long[]> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+        private final Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+
+        void record(Operation operation, long nanos, boolean ok) {
+            if (!ok) {
+                errors.merge(operation, 1L, Long::sum);
+                return;
+            }
+            long[] values = latencies.computeIfAbsent(operation, o -> new long[1024]);
+            int count = counts.getOrDefault(operation, 0);
+            if (count == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+                latencies.put(operation, values);
+            }
+            values[count] = nanos;
+            counts.put(operation, count + 1);
+        }
+
+        void addAll(Recorder other) {
+            for (Operation operation : Operation.values()) {
+                long[] merged = concat(latencies(operation), other.latencies(operation));
+                latencies.put(operation, merged);
+                counts.put(operation, merged.length);
+                errors.merge(operation, other.errors(operation), Long::sum);
+            }
+        }
+
+        long[] latencies(Operation operation) {
+            long[] values = latencies.get(operation);
+            return values == null ? new long[0] : Arrays.copyOf(values, counts.get(operation));
+        }
+
+        long errors(Operation operation) {
+            return errors.getOrDefault(operation, 0L);
+        }
+    }
+}
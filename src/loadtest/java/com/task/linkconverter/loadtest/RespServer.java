@@ -0,0 +1,353 @@
+package com.task.linkconverter.loadtest;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for Redis, speaking RESP2 on a loopback port. It implements the string,
+ * counter, expiry and hash commands the application issues in its default configuration, plus
+ * the connection handshake Lettuce performs; HELLO is refused so that clients fall back to
+ * RESP2. Like Redis, commands run one at a time against a single keyspace, and expired keys are
+ * removed when they are next touched.
+ */
+public class RespServer implements Closeable {
+    private final ServerSocket serverSocket;
+    private final Map<String, Entry> keyspace = new HashMap<>();
+    private final AtomicLong commands = new AtomicLong();
+    private final List<Socket> clients = new ArrayList<>();
+
+    public RespServer() throws IOException {
+        this.serverSocket = new ServerSocket(0, 128, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::accept, "resp-server");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    public long commands() {
+        return commands.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        synchronized (clients) {
+            for (Socket client : clients) {
+                client.close();
+            }
+        }
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket client = serverSocket.accept();
+                client.setTcpNoDelay(true);
+                synchronized (clients) {
+                    clients.add(client);
+                }
+                Thread connection = new Thread(() -> serve(client), "resp-client-" + client.getPort());
+                connection.setDaemon(true);
+                connection.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket client) {
+        try (client) {
+            InputStream in = new BufferedInputStream(client.getInputStream());
+            OutputStream out = new BufferedOutputStream(client.getOutputStream());
+            while (true) {
+                List<String> command = readCommand(in);
+                commands.incrementAndGet();
+                synchronized (keyspace) {
+                    execute(command, new Reply(out));
+                }
+                // pipelined commands are answered in one write
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        } catch (EOFException e) {
+            // client went away
+        } catch (IOException e) {
+            if (!serverSocket.isClosed()) {
+                System.err.println("RESP connection failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void execute(List<String> command, Reply reply) throws IOException {
+        String name = command.get(0).toUpperCase(Locale.ROOT);
+        long now = System.currentTimeMillis();
+        switch (name) {
+            case "HELLO" -> reply.error("ERR unknown command 'HELLO'");
+            case "PING" -> reply.simple(command.size() > 1 ? command.get(1) : "PONG");
+            case "ECHO" -> reply.bulk(command.get(1));
+            case "CLIENT", "SELECT", "AUTH" -> reply.simple("OK");
+            case "INFO" -> reply.bulk("# Server\r\nredis_version:7.2.0\r\nredis_mode:standalone\r\n");
+            case "FLUSHDB", "FLUSHALL" -> {
+                keyspace.clear();
+                reply.simple("OK");
+            }
+            case "GET" -> {
+                Entry entry = live(command.get(1), now);
+                reply.bulk(entry == null ? null : entry.string());
+            }
+            case "MGET" -> {
+                reply.array(command.size() - 1);
+                for (int i = 1; i < command.size(); i++) {
+                    Entry entry = live(command.get(i), now);
+                    reply.bulk(entry == null ? null : entry.string());
+                }
+            }
+            case "SET" -> set(command, now, reply);
+            case "SETEX", "PSETEX" -> {
+                long ttl = Long.parseLong(command.get(2));
+                keyspace.put(command.get(1), new Entry(command.get(3),
+                        now + (name.equals("SETEX") ? ttl * 1000 : ttl)));
+                reply.simple("OK");
+            }
+            case "INCR", "INCRBY", "DECR", "DECRBY" -> {
+                long delta = switch (name) {
+                    case "INCR" -> 1;
+                    case "DECR" -> -1;
+                    case "INCRBY" -> Long.parseLong(command.get(2));
+                    default -> -Long.parseLong(command.get(2));
+                };
+                Entry entry = live(command.get(1), now);
+                long value = (entry == null ? 0 : Long.parseLong(entry.string())) + delta;
+                keyspace.put(command.get(1), new Entry(Long.toString(value), entry == null ? 0 : entry.expiresAt));
+                reply.integer(value);
+            }
+            case "EXPIRE", "PEXPIRE", "PEXPIREAT", "EXPIREAT" -> {
+                Entry entry = live(command.get(1), now);
+                if (entry == null) {
+                    reply.integer(0);
+                    return;
+                }
+                long value = Long.parseLong(command.get(2));
+                entry.expiresAt = switch (name) {
+                    case "EXPIRE" -> now + value * 1000;
+                    case "PEXPIRE" -> now + value;
+                    case "EXPIREAT" -> value * 1000;
+                    default -> value;
+                };
+                reply.integer(1);
+            }
+            case "TTL", "PTTL" -> {
+                Entry entry = live(command.get(1), now);
+                if (entry == null) {
+                    reply.integer(-2);
+                } else if (entry.expiresAt == 0) {
+                    reply.integer(-1);
+                } else {
+                    long millis = entry.expiresAt - now;
+                    reply.integer(name.equals("TTL") ? millis / 1000 : millis);
+                }
+            }
+            case "DEL", "UNLINK", "EXISTS" -> {
+                int count = 0;
+                for (int i = 1; i < command.size(); i++) {
+                    if (live(command.get(i), now) != null) {
+                        count++;
+                        if (!name.equals("EXISTS")) {
+                            keyspace.remove(command.get(i));
+                        }
+                    }
+                }
+                reply.integer(count);
+            }
+            case "HSET", "HMSET" -> {
+                Map<String, String> hash = hash(command.get(1), now);
+                int added = 0;
+                for (int i = 2; i + 1 < command.size(); i += 2) {
+                    if (hash.put(command.get(i), command.get(i + 1)) == null) {
+                        added++;
+                    }
+                }
+                if (name.equals("HSET")) {
+                    reply.integer(added);
+                } else {
+                    reply.simple("OK");
+                }
+            }
+            case "HGET" -> {
+                Entry entry = live(command.get(1), now);
+                reply.bulk(entry == null ? null : entry.hash().get(command.get(2)));
+            }
+            case "HGETALL" -> {
+                Entry entry = live(command.get(1), now);
+                Map<String, String> hash = entry == null ? Map.of() : entry.hash();
+                reply.array(hash.size() * 2);
+                for (Map.Entry<String, String> field : hash.entrySet()) {
+                    reply.bulk(field.getKey());
+                    reply.bulk(field.getValue());
+                }
+            }
+            case "HINCRBY" -> {
+                Map<String, String> hash = hash(command.get(1), now);
+                long value = Long.parseLong(hash.getOrDefault(command.get(2), "0")) + Long.parseLong(command.get(3));
+                hash.put(command.get(2), Long.toString(value));
+                reply.integer(value);
+            }
+            default -> reply.error("ERR unknown command '" + command.get(0) + "'");
+        }
+    }
+
+    private void set(List<String> command, long now, Reply reply) throws IOException {
+        long expiresAt = 0;
+        boolean onlyIfAbsent = false;
+        boolean onlyIfPresent = false;
+        for (int i = 3; i < command.size(); i++) {
+            switch (command.get(i).toUpperCase(Locale.ROOT)) {
+                case "EX" -> expiresAt = now + Long.parseLong(command.get(++i)) * 1000;
+                case "PX" -> expiresAt = now + Long.parseLong(command.get(++i));
+                case "NX" -> onlyIfAbsent = true;
+                case "XX" -> onlyIfPresent = true;
+                default -> {
+                    reply.error("ERR syntax error");
+                    return;
+                }
+            }
+        }
+        boolean exists = live(command.get(1), now) != null;
+        if (onlyIfAbsent && exists || onlyIfPresent && !exists) {
+            reply.bulk(null);
+            return;
+        }
+        keyspace.put(command.get(1), new Entry(command.get(2), expiresAt));
+        reply.simple("OK");
+    }
+
+    private Entry live(String key, long now) {
+        Entry entry = keyspace.get(key);
+        if (entry != null && entry.expiresAt != 0 && entry.expiresAt <= now) {
+            keyspace.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    private Map<String, String> hash(String key, long now) {
+        Entry entry = live(key, now);
+        if (entry == null) {
+            entry = new Entry(new LinkedHashMap<String, String>(), 0);
+            keyspace.put(key, entry);
+        }
+        return entry.hash();
+    }
+
+    private static List<String> readCommand(InputStream in) throws IOException {
+        int type = in.read();
+        if (type == -1) {
+            throw new EOFException();
+        }
+        if (type != '*') {
+            // inline command, as sent by redis-cli or telnet
+            String line = (char) type + readLine(in);
+            return List.of(line.trim().split("\\s+"));
+        }
+        int count = Integer.parseInt(readLine(in));
+        List<String> arguments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (in.read() != '$') {
+                throw new IOException("Expected a bulk string");
+            }
+            int length = Integer.parseInt(readLine(in));
+            byte[] bytes = in.readNBytes(length);
+            if (bytes.length < length) {
+                throw new EOFException();
+            }
+            readLine(in);
+            arguments.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return arguments;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != '\r') {
+            if (c == -1) {
+                throw new EOFException();
+            }
+            line.append((char) c);
+        }
+        in.read();
+        return line.toString();
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private long expiresAt;
+
+        private Entry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private String string() {
+            return (String) value;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map<String, String> hash() {
+            return (Map<String, String>) value;
+        }
+    }
+
+    private record Reply(OutputStream out) {
+        void simple(String value) throws IOException {
+            write("+" + value + "\r\n");
+        }
+
+        void error(String message) throws IOException {
+            write("-" + message + "\r\n");
+        }
+
+        void integer(long value) throws IOException {
+            write(":" + value + "\r\n");
+        }
+
+        void array(int size) throws IOException {
+            write("*" + size + "\r\n");
+        }
+
+        void bulk(String value) throws IOException {
+            if (value == null) {
+                write("$-1\r\n");
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            write("$" + bytes.length + "\r\n");
+            out.write(bytes);
+            write("\r\n");
+        }
+
+        private void write(String value) throws IOException {
+            out.write(value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.task.linkconverter.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Draws ranks in {@code [0, size)} where rank {@code k} is chosen with probability proportional
+ * to {@code 1 / (k + 1)^exponent}: 0 is uniform, 1 is the classic Zipf law and larger exponents
+ * concentrate traffic on fewer keys. Sampling is a binary search over the precomputed CDF.
+ */
+public class ZipfSampler {
+    private final double[] cumulative;
+
+    public ZipfSampler(int size, double exponent) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        if (exponent < 0) {
+            throw new IllegalArgumentException("exponent must not be negative");
+        }
+        cumulative = new double[size];
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= total;
+        }
+    }
+
+    public int next() {
+        double draw = ThreadLocalRandom.current().nextDouble();
+        int index = Arrays.binarySearch(cumulative, draw);
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+
+    /**
+     * Share of draws that land on the {@code top} most popular ranks.
+     */
+    public double share(int top) {
+        return top <= 0 ? 0 : cumulative[Math.min(top, cumulative.length) - 1];
+    }
+}
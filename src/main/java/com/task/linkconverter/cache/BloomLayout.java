@@ -0,0 +1,54 @@
+package com.task.linkconverter.cache;
+
+import com.task.linkconverter.service.UrlFingerprint;
+
+/**
+ * Size and bit positions of a Bloom filter holding each link twice, once by code and once by
+ * URL. Positions are derived from one 64-bit hash by double hashing, so every lookup costs a
+ * single hash computation; URL hashes are the URL fingerprint, remixed so that they do not
+ * share positions with code hashes.
+ */
+public final class BloomLayout {
+    private final long bits;
+    private final int hashes;
+
+    public BloomLayout(long expectedLinks, double falsePositiveRate) {
+        double elements = Math.max(1, expectedLinks * 2.0);
+        long optimal = (long) Math.ceil(-elements * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        // whole 64-bit words, and within the 2^32 bits a Redis string can hold
+        this.bits = Math.min((optimal + 63) / 64 * 64, 1L << 32);
+        this.hashes = Math.max(1, (int) Math.round(bits / elements * Math.log(2)));
+    }
+
+    public long bits() {
+        return bits;
+    }
+
+    public int hashes() {
+        return hashes;
+    }
+
+    public long[] codePositions(String shortCode) {
+        return positions(UrlFingerprint.of(shortCode));
+    }
+
+    public long[] urlPositions(String originalUrl) {
+        return positions(mix(UrlFingerprint.of(originalUrl) + 0x9e3779b97f4a7c15L));
+    }
+
+    private long[] positions(long hash) {
+        long h1 = (int) hash;
+        long h2 = (int) (hash >>> 32);
+        long[] positions = new long[hashes];
+        for (int i = 0; i < hashes; i++) {
+            positions[i] = Math.floorMod(h1 + i * h2, bits);
+        }
+        return positions;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,39 @@
+package com.task.linkconverter.cache;
+
+import com.task.linkconverter.model.ShortLink;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.time.Instant;
+
+@Value
+@AllArgsConstructor
+public class CachedLink {
+    private static final CachedLink MISSING = new CachedLink(null, null, null, null);
+
+    String originalUrl;
+    Instant createdAt;
+    Instant expiresAt;
+    Integer redirectStatus;
+
+    public CachedLink(String originalUrl, Instant createdAt, Instant expiresAt) {
+        this(originalUrl, createdAt, expiresAt, null);
+    }
+
+    public static CachedLink of(ShortLink shortLink) {
+        return new CachedLink(shortLink.getOriginalUrl(), shortLink.getCreatedAt(), shortLink.expiresAt(),
+                shortLink.getRedirectStatus());
+    }
+
+    public static CachedLink missing() {
+        return MISSING;
+    }
+
+    public boolean isMissing() {
+        return originalUrl == null;
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt.isBefore(now);
+    }
+}
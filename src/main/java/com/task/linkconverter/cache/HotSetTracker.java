@@ -0,0 +1,81 @@
+package com.task.linkconverter.cache;
+
+import com.task.linkconverter.config.CacheProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts redirects per short code so that the hottest codes can be snapshotted for the next
+ * start. Counts are halved on every {@link #decay()}, which ranks codes by recent rather than
+ * lifetime traffic and lets cold codes drop out. At most four times the snapshot size is
+ * tracked; while the table is full, codes not yet in it are ignored until a decay frees room.
+ */
+@Component
+public class HotSetTracker {
+    private final boolean enabled;
+    private final int maxTracked;
+    private final Map<String, AtomicLong> counts = new ConcurrentHashMap<>();
+
+    public HotSetTracker(CacheProperties properties) {
+        this.enabled = properties.getWarmup().isEnabled();
+        this.maxTracked = Math.max(properties.getWarmup().getSize(), 1) * 4;
+    }
+
+    public void record(String shortCode) {
+        if (!enabled) {
+            return;
+        }
+        AtomicLong count = counts.get(shortCode);
+        if (count == null) {
+            if (counts.size() >= maxTracked) {
+                return;
+            }
+            count = counts.computeIfAbsent(shortCode, code -> new AtomicLong());
+        }
+        count.incrementAndGet();
+    }
+
+    /**
+     * The {@code limit} most redirected codes, hottest first.
+     */
+    public List<String> top(int limit) {
+        Comparator<Map.Entry<String, Long>> byCount = Map.Entry.comparingByValue();
+        PriorityQueue<Map.Entry<String, Long>> hottest = new PriorityQueue<>(byCount);
+        counts.forEach((code, count) -> {
+            long value = count.get();
+            if (value == 0) {
+                return;
+            }
+            if (hottest.size() < limit) {
+                hottest.add(Map.entry(code, value));
+            } else if (limit > 0 && hottest.peek().getValue() < value) {
+                hottest.poll();
+                hottest.add(Map.entry(code, value));
+            }
+        });
+        List<String> codes = new ArrayList<>(hottest.size());
+        while (!hottest.isEmpty()) {
+            codes.add(hottest.poll().getKey());
+        }
+        Collections.reverse(codes);
+        return codes;
+    }
+
+    public void decay() {
+        // a click landing on an entry just removed is lost, which a ranking can afford
+        counts.values().forEach(count -> count.updateAndGet(value -> value / 2));
+        counts.values().removeIf(count -> count.get() == 0);
+    }
+
+    public int size() {
+        return counts.size();
+    }
+}
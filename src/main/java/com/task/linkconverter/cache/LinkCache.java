@@ -0,0 +1,164 @@
+package com.task.linkconverter.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.task.linkconverter.config.CacheProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache of short code resolutions. Entries expire together with
+ * the link they describe; unknown codes are remembered for {@code app.cache.negative-ttl}.
+ * When the shared tier is enabled, local misses are looked up in Redis before the loader runs.
+ * When the mapped index is enabled, it is consulted before either and records every link the
+ * cache learns about, so the working set outlives a restart. Expired index records are not
+ * served, and invalidating a code, locally or through the shared tier, also drops its record.
+ */
+@Component
+public class LinkCache {
+    private final Cache<String, CachedLink> cache;
+    private final SharedLinkCache sharedCache;
+    private final MappedLinkIndex index;
+
+    public LinkCache(CacheProperties properties,
+                     Optional<SharedLinkCache> sharedCache,
+                     Optional<MappedLinkIndex> index) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new LinkExpiry(properties.getNegativeTtl()))
+                .recordStats()
+                .build();
+        this.sharedCache = sharedCache.orElse(null);
+        this.index = index.orElse(null);
+    }
+
+    public CachedLink get(String shortCode, Function<String, CachedLink> loader) {
+        return cache.get(shortCode, code -> loadThroughIndex(code, loader));
+    }
+
+    public CachedLink getIfPresent(String shortCode) {
+        return cache.getIfPresent(shortCode);
+    }
+
+    /**
+     * Looks the code up in the mapped index and promotes a live hit into the local cache. Returns
+     * {@code null} when the index is disabled or does not hold the code, or its link has expired.
+     */
+    public CachedLink getIndexed(String shortCode) {
+        CachedLink indexed = liveIndexed(shortCode);
+        if (indexed != null) {
+            cache.put(shortCode, indexed);
+        }
+        return indexed;
+    }
+
+    public void putLocal(String shortCode, CachedLink link) {
+        cache.put(shortCode, link);
+        putIndexed(shortCode, link);
+    }
+
+    public void put(String shortCode, CachedLink link) {
+        cache.put(shortCode, link);
+        putIndexed(shortCode, link);
+        if (sharedCache != null) {
+            sharedCache.put(shortCode, link);
+            sharedCache.publishInvalidation(shortCode);
+        }
+    }
+
+    public void evict(String shortCode) {
+        cache.invalidate(shortCode);
+        removeIndexed(shortCode);
+        if (sharedCache != null) {
+            sharedCache.evict(shortCode);
+            sharedCache.publishInvalidation(shortCode);
+        }
+    }
+
+    public void invalidateLocal(String shortCode) {
+        cache.invalidate(shortCode);
+        removeIndexed(shortCode);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private void putIndexed(String shortCode, CachedLink link) {
+        if (index != null && !link.isMissing()) {
+            index.put(shortCode, link);
+        }
+    }
+
+    private void removeIndexed(String shortCode) {
+        if (index != null) {
+            index.remove(shortCode);
+        }
+    }
+
+    // an expired record may belong to a code that has since been issued again, so only the store can tell
+    private CachedLink liveIndexed(String shortCode) {
+        CachedLink indexed = index != null ? index.get(shortCode) : null;
+        return indexed != null && !indexed.isExpired(Instant.now()) ? indexed : null;
+    }
+
+    private CachedLink loadThroughIndex(String shortCode, Function<String, CachedLink> loader) {
+        CachedLink indexed = liveIndexed(shortCode);
+        if (indexed != null) {
+            return indexed;
+        }
+        CachedLink loaded = loadThroughShared(shortCode, loader);
+        putIndexed(shortCode, loaded);
+        return loaded;
+    }
+
+    private CachedLink loadThroughShared(String shortCode, Function<String, CachedLink> loader) {
+        if (sharedCache == null) {
+            return loader.apply(shortCode);
+        }
+        CachedLink shared = sharedCache.get(shortCode);
+        if (shared != null) {
+            return shared;
+        }
+        CachedLink loaded = loader.apply(shortCode);
+        sharedCache.put(shortCode, loaded);
+        return loaded;
+    }
+
+    private static final class LinkExpiry implements Expiry<String, CachedLink> {
+        private final long negativeTtlNanos;
+
+        private LinkExpiry(Duration negativeTtl) {
+            this.negativeTtlNanos = negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, CachedLink value, long currentTime) {
+            if (value.isMissing()) {
+                return negativeTtlNanos;
+            }
+            Duration remaining = Duration.between(Instant.now(), value.getExpiresAt());
+            return remaining.isNegative() ? 0 : remaining.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedLink value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedLink value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
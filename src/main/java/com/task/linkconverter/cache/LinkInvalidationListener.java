@@ -0,0 +1,28 @@
+package com.task.linkconverter.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.cache.shared", name = "enabled", havingValue = "true")
+public class LinkInvalidationListener implements MessageListener {
+    private final LinkCache linkCache;
+    private final SharedLinkCache sharedCache;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String shortCode = sharedCache.parseInvalidation(new String(message.getBody(), StandardCharsets.UTF_8));
+        if (shortCode != null) {
+            log.debug("Dropping local cache entry for {}", shortCode);
+            linkCache.invalidateLocal(shortCode);
+        }
+    }
+}
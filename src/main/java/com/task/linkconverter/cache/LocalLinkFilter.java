@@ -0,0 +1,109 @@
+package com.task.linkconverter.cache;
+
+import com.task.linkconverter.config.CacheProperties;
+import com.task.linkconverter.interfaces.LinkFilter;
+import com.task.linkconverter.model.ShortLink;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter in this node's heap, built from storage by the node itself. It only learns about
+ * links created on this node, so it is meant for single-node deployments; with several nodes,
+ * use the Redis-backed filter, or a link created elsewhere reads as unknown until the next
+ * rebuild.
+ */
+public class LocalLinkFilter implements LinkFilter {
+    private final BloomLayout layout;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile AtomicLongArray current;
+    private volatile AtomicLongArray previous;
+    private volatile boolean ready;
+
+    public LocalLinkFilter(CacheProperties.Filter properties) {
+        this.layout = new BloomLayout(properties.getExpectedLinks(), properties.getFalsePositiveRate());
+        this.current = newBits();
+        this.previous = newBits();
+    }
+
+    @Override
+    public boolean mightContainCode(String shortCode) {
+        return mightContain(layout.codePositions(shortCode));
+    }
+
+    @Override
+    public boolean mightContainUrl(String originalUrl) {
+        return mightContain(layout.urlPositions(originalUrl));
+    }
+
+    @Override
+    public void add(ShortLink link) {
+        AtomicLongArray bits = current;
+        set(bits, layout.codePositions(link.getShortLink()));
+        set(bits, layout.urlPositions(link.getOriginalUrl()));
+    }
+
+    @Override
+    public Optional<Rebuild> startRebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        AtomicLongArray next = newBits();
+        return Optional.of(new Rebuild() {
+            @Override
+            public void add(List<ShortLink> links) {
+                for (ShortLink link : links) {
+                    set(next, layout.codePositions(link.getShortLink()));
+                    set(next, layout.urlPositions(link.getOriginalUrl()));
+                }
+            }
+
+            @Override
+            public void publish() {
+                previous = current;
+                current = next;
+                ready = true;
+                rebuilding.set(false);
+            }
+
+            @Override
+            public void abort() {
+                rebuilding.set(false);
+            }
+        });
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    private boolean mightContain(long[] positions) {
+        return !ready || contains(current, positions) || contains(previous, positions);
+    }
+
+    private AtomicLongArray newBits() {
+        return new AtomicLongArray((int) (layout.bits() / 64));
+    }
+
+    private static boolean contains(AtomicLongArray bits, long[] positions) {
+        for (long position : positions) {
+            if ((bits.get((int) (position >>> 6)) & (1L << position)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void set(AtomicLongArray bits, long[] positions) {
+        for (long position : positions) {
+            long mask = 1L << position;
+            int word = (int) (position >>> 6);
+            if ((bits.get(word) & mask) == 0) {
+                bits.getAndAccumulate(word, mask, (value, bit) -> value | bit);
+            }
+        }
+    }
+}
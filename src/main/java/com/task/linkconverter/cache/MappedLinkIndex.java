@@ -0,0 +1,312 @@
+package com.task.linkconverter.cache;
+
+import com.task.linkconverter.config.CacheProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Memory-mapped short code index that survives restarts, so a fresh node resolves codes from
+ * the page cache instead of the database. The file holds a header, an open-addressing table of
+ * {@code (key, recordOffset)} slots and an append-only record area. Keys pack the base62 value
+ * of the code with its length; codes that do not fit are simply not indexed.
+ * <p>
+ * Readers are lock-free: a record is fully written before its offset is published with release
+ * semantics, and a slot's key is published only after its offset. A single writer appends under
+ * a lock. Records are never rewritten in place; a code that is created again gets a new record.
+ * A removed code keeps its slot with a zero offset, which reads as not indexed until it is put
+ * again. A file left open by a crash, with more than half its slots taken or more than three quarters
+ * of its record area used, is discarded on startup and rebuilt from the table.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.cache.index", name = "enabled", havingValue = "true")
+public class MappedLinkIndex {
+    private static final long MAGIC = 0x4C4E4B4944583031L;
+    private static final int HEADER_SIZE = 64;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int DATA_SIZE_OFFSET = 16;
+    private static final int SIZE_OFFSET = 24;
+    private static final int DATA_END_OFFSET = 32;
+    private static final int OPEN_OFFSET = 40;
+    private static final int SLOT_SIZE = 16;
+    // createdAt, expiresAt, redirect status, url length
+    private static final int RECORD_HEADER_SIZE = 20;
+    private static final int MAX_CODE_LENGTH = 10;
+    private static final VarHandle LONG =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final long dataStart;
+    private final long dataLimit;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private boolean fullLogged;
+
+    public MappedLinkIndex(CacheProperties properties) {
+        CacheProperties.Index config = properties.getIndex();
+        this.capacity = Integer.highestOneBit(Math.max(config.getCapacity(), 1024) - 1) << 1;
+        this.dataStart = HEADER_SIZE + (long) capacity * SLOT_SIZE;
+        this.dataLimit = dataStart + config.getDataSize().toBytes();
+        if (dataLimit > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Index file must be smaller than 2 GB");
+        }
+        this.file = Path.of(config.getDirectory()).resolve("links.idx");
+        try {
+            Files.createDirectories(file.getParent());
+            if (Files.exists(file) && !reusable()) {
+                log.info("Discarding short code index at {}", file);
+                Files.delete(file);
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, dataLimit);
+                buffer.order(ByteOrder.nativeOrder());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open short code index " + file, e);
+        }
+        if (buffer.getLong(MAGIC_OFFSET) != MAGIC) {
+            buffer.putLong(CAPACITY_OFFSET, capacity);
+            buffer.putLong(DATA_SIZE_OFFSET, dataLimit - dataStart);
+            buffer.putLong(SIZE_OFFSET, 0);
+            buffer.putLong(DATA_END_OFFSET, dataStart);
+            buffer.putLong(MAGIC_OFFSET, MAGIC);
+        } else {
+            log.info("Opened short code index at {} with {} codes", file, size());
+        }
+        buffer.putLong(OPEN_OFFSET, 1);
+        buffer.force();
+    }
+
+    /**
+     * Returns the indexed link for the code, or {@code null} if it is not indexed. A miss says
+     * nothing about whether the code exists.
+     */
+    public CachedLink get(String shortCode) {
+        long key = key(shortCode);
+        if (key == 0) {
+            return null;
+        }
+        long position = find(key);
+        if (position < 0 || (long) LONG.getAcquire(buffer, (int) position) != key) {
+            return null;
+        }
+        return read((long) LONG.getAcquire(buffer, (int) position + 8));
+    }
+
+    /**
+     * Indexes the link unless the same record is already present. Returns {@code false} if the
+     * code cannot be indexed or the file is full.
+     */
+    public boolean put(String shortCode, CachedLink link) {
+        long key = key(shortCode);
+        if (key == 0 || link.isMissing()) {
+            return false;
+        }
+        byte[] url = link.getOriginalUrl().getBytes(StandardCharsets.UTF_8);
+        writeLock.lock();
+        try {
+            long position = find(key);
+            if (position < 0) {
+                return full();
+            }
+            boolean present = buffer.getLong((int) position) == key;
+            if (present) {
+                long offset = buffer.getLong((int) position + 8);
+                if (offset >= dataStart && sameRecord((int) offset, link, url)) {
+                    return true;
+                }
+            } else if (size() + 1 > capacity - (capacity >> 2)) {
+                return full();
+            }
+            long offset = buffer.getLong(DATA_END_OFFSET);
+            long end = align(offset + RECORD_HEADER_SIZE + url.length);
+            if (end > dataLimit) {
+                return full();
+            }
+            write((int) offset, link, url);
+            LONG.setRelease(buffer, DATA_END_OFFSET, end);
+            LONG.setRelease(buffer, (int) position + 8, offset);
+            if (!present) {
+                LONG.setRelease(buffer, (int) position, key);
+                buffer.putLong(SIZE_OFFSET, size() + 1);
+            }
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Drops the code's record, so lookups miss until it is put again. Other nodes' copies of the
+     * file are not touched.
+     */
+    public void remove(String shortCode) {
+        long key = key(shortCode);
+        if (key == 0) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            long position = find(key);
+            if (position >= 0 && buffer.getLong((int) position) == key) {
+                LONG.setRelease(buffer, (int) position + 8, 0L);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public long size() {
+        return buffer.getLong(SIZE_OFFSET);
+    }
+
+    @PreDestroy
+    public void close() {
+        writeLock.lock();
+        try {
+            buffer.force();
+            buffer.putLong(OPEN_OFFSET, 0);
+            buffer.force();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Packs a code of up to ten base62 characters into a non-zero key: the length in the top four
+     * bits, the value below. Returns 0 for codes that cannot be packed.
+     */
+    static long key(String shortCode) {
+        int length = shortCode.length();
+        if (length == 0 || length > MAX_CODE_LENGTH) {
+            return 0;
+        }
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            int digit = digit(shortCode.charAt(i));
+            if (digit < 0) {
+                return 0;
+            }
+            value = value * 62 + digit;
+        }
+        return ((long) length << 60) | value;
+    }
+
+    private static int digit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A' + 10;
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 36;
+        }
+        return -1;
+    }
+
+    // position of the slot holding the key or of the empty slot ending its probe sequence, -1 if none
+    private long find(long key) {
+        int mask = capacity - 1;
+        int slot = (int) mix(key) & mask;
+        for (int probe = 0; probe < capacity; probe++) {
+            long position = HEADER_SIZE + (long) slot * SLOT_SIZE;
+            long current = (long) LONG.getAcquire(buffer, (int) position);
+            if (current == key || current == 0) {
+                return position;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private CachedLink read(long offset) {
+        if (offset < dataStart || offset >= (long) LONG.getAcquire(buffer, DATA_END_OFFSET)) {
+            return null;
+        }
+        int position = (int) offset;
+        Instant createdAt = Instant.ofEpochMilli(buffer.getLong(position));
+        Instant expiresAt = Instant.ofEpochMilli(buffer.getLong(position + 8));
+        short status = buffer.getShort(position + 16);
+        byte[] url = new byte[buffer.getShort(position + 18)];
+        buffer.get(position + RECORD_HEADER_SIZE, url);
+        return new CachedLink(new String(url, StandardCharsets.UTF_8), createdAt, expiresAt,
+                status == 0 ? null : (int) status);
+    }
+
+    // compared as stored, at millisecond precision
+    private boolean sameRecord(int position, CachedLink link, byte[] url) {
+        int status = link.getRedirectStatus() == null ? 0 : link.getRedirectStatus();
+        if (buffer.getLong(position) != link.getCreatedAt().toEpochMilli()
+                || buffer.getLong(position + 8) != link.getExpiresAt().toEpochMilli()
+                || buffer.getShort(position + 16) != status
+                || buffer.getShort(position + 18) != url.length) {
+            return false;
+        }
+        byte[] stored = new byte[url.length];
+        buffer.get(position + RECORD_HEADER_SIZE, stored);
+        return Arrays.equals(stored, url);
+    }
+
+    private void write(int position, CachedLink link, byte[] url) {
+        buffer.putLong(position, link.getCreatedAt().toEpochMilli());
+        buffer.putLong(position + 8, link.getExpiresAt().toEpochMilli());
+        buffer.putShort(position + 16, link.getRedirectStatus() == null ? 0 : link.getRedirectStatus().shortValue());
+        buffer.putShort(position + 18, (short) url.length);
+        buffer.put(position + RECORD_HEADER_SIZE, url);
+    }
+
+    private boolean full() {
+        if (!fullLogged) {
+            fullLogged = true;
+            log.warn("Short code index {} is full; new codes are served from the cache tiers only", file);
+        }
+        return false;
+    }
+
+    private boolean reusable() throws IOException {
+        if (Files.size(file) != dataLimit) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            header.order(ByteOrder.nativeOrder());
+            return header.getLong(MAGIC_OFFSET) == MAGIC
+                    && header.getLong(CAPACITY_OFFSET) == capacity
+                    && header.getLong(OPEN_OFFSET) == 0
+                    && header.getLong(SIZE_OFFSET) <= capacity >> 1
+                    && header.getLong(DATA_END_OFFSET) - dataStart <= (dataLimit - dataStart) * 3 / 4;
+        }
+    }
+
+    private static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return key;
+    }
+}
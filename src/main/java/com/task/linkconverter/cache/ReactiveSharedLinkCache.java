@@ -0,0 +1,45 @@
+package com.task.linkconverter.cache;
+
+import com.task.linkconverter.config.CacheProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Non-blocking view of {@link SharedLinkCache} for the reactive redirect path; same keys and encoding.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.cache.shared", name = "enabled", havingValue = "true")
+public class ReactiveSharedLinkCache {
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final CacheProperties properties;
+
+    public Mono<CachedLink> get(String shortCode) {
+        return redisTemplate.opsForValue().get(SharedLinkCache.key(properties, shortCode))
+                .mapNotNull(SharedLinkCache::decode)
+                .onErrorResume(e -> {
+                    log.debug("Shared cache read failed for {}: {}", shortCode, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    public Mono<Boolean> put(String shortCode, CachedLink link) {
+        Duration ttl = SharedLinkCache.ttl(properties, link);
+        if (ttl.isNegative() || ttl.isZero()) {
+            return Mono.just(false);
+        }
+        return redisTemplate.opsForValue()
+                .set(SharedLinkCache.key(properties, shortCode), SharedLinkCache.encode(link), ttl)
+                .onErrorResume(e -> {
+                    log.debug("Shared cache write failed for {}: {}", shortCode, e.getMessage());
+                    return Mono.just(false);
+                });
+    }
+}
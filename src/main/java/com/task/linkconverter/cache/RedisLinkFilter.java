@@ -0,0 +1,182 @@
+package com.task.linkconverter.cache;
+
+import com.task.linkconverter.config.CacheProperties;
+import com.task.linkconverter.interfaces.LinkFilter;
+import com.task.linkconverter.model.ShortLink;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.BitFieldSubCommands;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Bloom filter shared by all nodes as Redis bitmaps {@code <prefix>bits:<generation>}, with the
+ * current generation number in {@code <prefix>generation}. Each node caches the generation and
+ * re-reads it on {@link #refresh()}; a lookup reads the bits of the current and the previous
+ * generation with one BITFIELD per bitmap, in a single round trip.
+ * <p>
+ * One node at a time rebuilds, guarded by {@code <prefix>lock}, which is held for half the
+ * rebuild interval so the cluster rebuilds about once per interval. Adding a link fails when
+ * Redis cannot be written, so that no node can rule out a stored link; lookups fail open.
+ */
+@Slf4j
+public class RedisLinkFilter implements LinkFilter {
+    private static final long UNKNOWN = -1;
+    private static final BitFieldSubCommands.BitFieldType BIT = BitFieldSubCommands.BitFieldType.unsigned(1);
+
+    private final StringRedisTemplate redisTemplate;
+    private final CacheProperties.Filter properties;
+    private final BloomLayout layout;
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile long generation = UNKNOWN;
+
+    public RedisLinkFilter(StringRedisTemplate redisTemplate, CacheProperties.Filter properties) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.layout = new BloomLayout(properties.getExpectedLinks(), properties.getFalsePositiveRate());
+    }
+
+    @Override
+    public boolean mightContainCode(String shortCode) {
+        return mightContain(layout.codePositions(shortCode));
+    }
+
+    @Override
+    public boolean mightContainUrl(String originalUrl) {
+        return mightContain(layout.urlPositions(originalUrl));
+    }
+
+    @Override
+    public void add(ShortLink link) {
+        long current = generation;
+        if (current == UNKNOWN) {
+            // not refreshed yet; generation 0 is the one that exists before the first rebuild
+            current = readGeneration();
+        }
+        redisTemplate.opsForValue().bitField(bitsKey(current), setAll(link));
+    }
+
+    @Override
+    public Optional<Rebuild> startRebuild() {
+        Duration lockTtl = properties.getRebuildInterval().dividedBy(2);
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(key("lock"), nodeId, lockTtl);
+        if (!Boolean.TRUE.equals(locked)) {
+            return Optional.empty();
+        }
+        long current = readGeneration();
+        long next = current + 1;
+        String nextKey = bitsKey(next);
+        redisTemplate.delete(nextKey);
+        return Optional.of(new Rebuild() {
+            @Override
+            public void add(List<ShortLink> links) {
+                // a rebuild that outlives the lock would let another node start over the same bitmap
+                redisTemplate.expire(key("lock"), lockTtl);
+                redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    StringRedisConnection redis = (StringRedisConnection) connection;
+                    links.forEach(link -> redis.bitfield(nextKey, setAll(link)));
+                    return null;
+                });
+            }
+
+            @Override
+            public void publish() {
+                redisTemplate.opsForValue().set(key("generation"), Long.toString(next));
+                // nodes that have not refreshed yet may still read or add to the oldest bitmap
+                redisTemplate.expire(bitsKey(current - 1), properties.getRefreshInterval().multipliedBy(3));
+                generation = next;
+            }
+
+            @Override
+            public void abort() {
+                redisTemplate.delete(List.of(nextKey, key("lock")));
+            }
+        });
+    }
+
+    @Override
+    public void refresh() {
+        try {
+            String value = redisTemplate.opsForValue().get(key("generation"));
+            generation = value == null ? UNKNOWN : Long.parseLong(value);
+        } catch (DataAccessException e) {
+            log.debug("Link filter generation read failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return generation != UNKNOWN;
+    }
+
+    private long readGeneration() {
+        String value = redisTemplate.opsForValue().get(key("generation"));
+        return value == null ? 0 : Long.parseLong(value);
+    }
+
+    private boolean mightContain(long[] positions) {
+        long current = generation;
+        if (current == UNKNOWN) {
+            return true;
+        }
+        BitFieldSubCommands get = BitFieldSubCommands.create();
+        for (long position : positions) {
+            get = get.get(BIT).valueAt(position);
+        }
+        BitFieldSubCommands reads = get;
+        try {
+            List<Object> bitmaps = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                redis.bitfield(bitsKey(current), reads);
+                redis.bitfield(bitsKey(current - 1), reads);
+                return null;
+            });
+            for (Object bits : bitmaps) {
+                if (allSet(bits)) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (DataAccessException e) {
+            log.debug("Link filter read failed: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    private BitFieldSubCommands setAll(ShortLink link) {
+        BitFieldSubCommands set = BitFieldSubCommands.create();
+        for (long position : layout.codePositions(link.getShortLink())) {
+            set = set.set(BIT).valueAt(position).to(1);
+        }
+        for (long position : layout.urlPositions(link.getOriginalUrl())) {
+            set = set.set(BIT).valueAt(position).to(1);
+        }
+        return set;
+    }
+
+    private static boolean allSet(Object bits) {
+        if (!(bits instanceof List<?> values)) {
+            return false;
+        }
+        for (Object value : values) {
+            if (!(value instanceof Long bit) || bit != 1L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String bitsKey(long generation) {
+        return key("bits:" + generation);
+    }
+
+    private String key(String suffix) {
+        return properties.getKeyPrefix() + suffix;
+    }
+}
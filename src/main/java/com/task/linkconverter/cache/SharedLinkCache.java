@@ -0,0 +1,127 @@
+package com.task.linkconverter.cache;
+
+import com.task.linkconverter.config.CacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Redis tier shared by all nodes. Values are stored as
+ * {@code createdAt|expiresAt|redirectStatus|originalUrl} (epoch millis, status empty when unset)
+ * with a TTL matching the link's remaining lifetime.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.cache.shared", name = "enabled", havingValue = "true")
+public class SharedLinkCache {
+    private static final String MISSING = "-";
+    private static final char SEPARATOR = '|';
+
+    private final StringRedisTemplate redisTemplate;
+    private final CacheProperties properties;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public SharedLinkCache(StringRedisTemplate redisTemplate, CacheProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+    }
+
+    public CachedLink get(String shortCode) {
+        try {
+            return decode(redisTemplate.opsForValue().get(key(shortCode)));
+        } catch (DataAccessException e) {
+            log.debug("Shared cache read failed for {}: {}", shortCode, e.getMessage());
+            return null;
+        }
+    }
+
+    public void put(String shortCode, CachedLink link) {
+        Duration ttl = ttl(properties, link);
+        if (ttl.isNegative() || ttl.isZero()) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(key(shortCode), encode(link), ttl);
+        } catch (DataAccessException e) {
+            log.debug("Shared cache write failed for {}: {}", shortCode, e.getMessage());
+        }
+    }
+
+    public void evict(String shortCode) {
+        try {
+            redisTemplate.delete(key(shortCode));
+        } catch (DataAccessException e) {
+            log.debug("Shared cache delete failed for {}: {}", shortCode, e.getMessage());
+        }
+    }
+
+    public void publishInvalidation(String shortCode) {
+        try {
+            redisTemplate.convertAndSend(properties.getShared().getInvalidationChannel(), nodeId + SEPARATOR + shortCode);
+        } catch (DataAccessException e) {
+            log.warn("Failed to publish invalidation for {}: {}", shortCode, e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the short code carried by an invalidation message, or {@code null} when the
+     * message was published by this node.
+     */
+    public String parseInvalidation(String message) {
+        int separator = message.indexOf(SEPARATOR);
+        if (separator < 0 || separator == nodeId.length() && message.startsWith(nodeId)) {
+            return null;
+        }
+        return message.substring(separator + 1);
+    }
+
+    private String key(String shortCode) {
+        return key(properties, shortCode);
+    }
+
+    static String key(CacheProperties properties, String shortCode) {
+        return properties.getShared().getKeyPrefix() + shortCode;
+    }
+
+    static Duration ttl(CacheProperties properties, CachedLink link) {
+        return link.isMissing()
+                ? properties.getNegativeTtl()
+                : Duration.between(Instant.now(), link.getExpiresAt());
+    }
+
+    static String encode(CachedLink link) {
+        if (link.isMissing()) {
+            return MISSING;
+        }
+        return link.getCreatedAt().toEpochMilli() + "" + SEPARATOR
+                + link.getExpiresAt().toEpochMilli() + SEPARATOR
+                + (link.getRedirectStatus() == null ? "" : link.getRedirectStatus()) + SEPARATOR
+                + link.getOriginalUrl();
+    }
+
+    static CachedLink decode(String value) {
+        if (value == null) {
+            return null;
+        }
+        if (MISSING.equals(value)) {
+            return CachedLink.missing();
+        }
+        int first = value.indexOf(SEPARATOR);
+        int second = value.indexOf(SEPARATOR, first + 1);
+        int third = second < 0 ? -1 : value.indexOf(SEPARATOR, second + 1);
+        if (first < 0 || third < 0) {
+            return null;
+        }
+        return new CachedLink(
+                value.substring(third + 1),
+                Instant.ofEpochMilli(Long.parseLong(value, 0, first, 10)),
+                Instant.ofEpochMilli(Long.parseLong(value, first + 1, second, 10)),
+                third == second + 1 ? null : Integer.parseInt(value, second + 1, third, 10));
+    }
+}
@@ -0,0 +1,16 @@
+package com.task.linkconverter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "app.admin")
+public class AdminProperties {
+    private String apiKeyHeader = "X-Admin-Key";
+    // required on every /admin request; while blank, the admin endpoints refuse all requests
+    private String apiKey = "";
+}
@@ -0,0 +1,25 @@
+package com.task.linkconverter.config;
+
+import com.task.linkconverter.interfaces.ClickStatsStore;
+import com.task.linkconverter.service.JdbcClickStatsStore;
+import com.task.linkconverter.service.RedisClickStatsStore;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+public class AnalyticsConfig {
+
+    @Bean
+    public ClickStatsStore clickStatsStore(AnalyticsProperties properties,
+                                           JdbcTemplate jdbcTemplate,
+                                           PlatformTransactionManager transactionManager,
+                                           StringRedisTemplate redisTemplate) {
+        return switch (properties.getStore()) {
+            case DATABASE -> new JdbcClickStatsStore(jdbcTemplate, transactionManager);
+            case REDIS -> new RedisClickStatsStore(redisTemplate, properties);
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.task.linkconverter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "app.analytics")
+public class AnalyticsProperties {
+    private boolean enabled = true;
+    private int bufferSize = 65_536;
+    private Duration flushInterval = Duration.ofSeconds(1);
+    private Store store = Store.DATABASE;
+    private String keyPrefix = "clicks:";
+    private Duration retention = Duration.ofDays(7);
+
+    public enum Store {
+        DATABASE,
+        REDIS
+    }
+}
@@ -11,5 +11,8 @@ import org.springframework.context.annotation.Configuration;
 @ConfigurationProperties(prefix = "app")
 public class AppConfig {
     private String baseUrl;
-
-}
\ No newline at end of file
+    // lower-case the host and drop a bare trailing slash before dedup
+    private boolean normalizeUrls = false;
+    // fraction of requests whose INFO line is logged; outcomes are always counted in metrics
+    private double requestLogSampleRate = 0.01;
+}
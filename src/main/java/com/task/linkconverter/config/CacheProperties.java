@@ -0,0 +1,69 @@
+package com.task.linkconverter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+    private long maximumSize = 100_000;
+    private Duration negativeTtl = Duration.ofSeconds(30);
+    private Shared shared = new Shared();
+    private Index index = new Index();
+    private Filter filter = new Filter();
+    private Warmup warmup = new Warmup();
+
+    @Setter
+    @Getter
+    public static class Shared {
+        private boolean enabled = false;
+        // versioned with the encoding of the cached value, so nodes on different releases do not mix entries
+        private String keyPrefix = "link:v2:";
+        private String invalidationChannel = "link-invalidation";
+    }
+
+    @Setter
+    @Getter
+    public static class Index {
+        private boolean enabled = false;
+        private String directory = "data/index";
+        private int capacity = 1 << 20;
+        private DataSize dataSize = DataSize.ofMegabytes(256);
+    }
+
+    @Setter
+    @Getter
+    public static class Filter {
+        private boolean enabled = false;
+        private Store store = Store.REDIS;
+        private long expectedLinks = 1_000_000;
+        private double falsePositiveRate = 0.01;
+        private Duration rebuildInterval = Duration.ofHours(1);
+        private Duration refreshInterval = Duration.ofSeconds(10);
+        private String keyPrefix = "link-filter:";
+
+        public enum Store {
+            LOCAL,
+            REDIS
+        }
+    }
+
+    @Setter
+    @Getter
+    public static class Warmup {
+        private boolean enabled = false;
+        private String file = "data/hot-set.txt";
+        private int size = 10_000;
+        private Duration snapshotInterval = Duration.ofMinutes(1);
+        private int parallelism = 4;
+        private Duration timeout = Duration.ofSeconds(60);
+    }
+}
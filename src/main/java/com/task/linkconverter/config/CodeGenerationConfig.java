@@ -0,0 +1,51 @@
+package com.task.linkconverter.config;
+
+import com.task.linkconverter.interfaces.IdRangeAllocator;
+import com.task.linkconverter.interfaces.ShortCodeGenerator;
+import com.task.linkconverter.service.DatabaseIdRangeAllocator;
+import com.task.linkconverter.service.HashShortCodeGenerator;
+import com.task.linkconverter.service.RedisIdRangeAllocator;
+import com.task.linkconverter.service.SequenceShortCodeGenerator;
+import com.task.linkconverter.service.ShardedShortCodeGenerator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+public class CodeGenerationConfig {
+
+    @Bean
+    public ShortCodeGenerator shortCodeGenerator(CodeGenerationProperties properties,
+                                                 StorageProperties storageProperties,
+                                                 ObjectProvider<IdRangeAllocator> allocator) {
+        ShortCodeGenerator generator = switch (properties.getStrategy()) {
+            case HASH -> new HashShortCodeGenerator();
+            case SEQUENCE -> new SequenceShortCodeGenerator(
+                    allocator.getObject(), properties.getBlockSize(), properties.getMinLength());
+        };
+        // the sharded store routes on the first character of the code
+        if (storageProperties.getType() == StorageProperties.Type.SHARDED) {
+            generator = new ShardedShortCodeGenerator(generator);
+        }
+        return generator;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.codes", name = "allocator", havingValue = "database", matchIfMissing = true)
+    public IdRangeAllocator databaseIdRangeAllocator(JdbcTemplate jdbcTemplate,
+                                                     PlatformTransactionManager transactionManager,
+                                                     CodeGenerationProperties properties) {
+        return new DatabaseIdRangeAllocator(jdbcTemplate, transactionManager, properties.getSequenceName());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.codes", name = "allocator", havingValue = "redis")
+    public IdRangeAllocator redisIdRangeAllocator(StringRedisTemplate redisTemplate,
+                                                  CodeGenerationProperties properties) {
+        return new RedisIdRangeAllocator(redisTemplate, properties.getSequenceName());
+    }
+}
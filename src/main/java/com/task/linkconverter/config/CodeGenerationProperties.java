@@ -0,0 +1,28 @@
+package com.task.linkconverter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "app.codes")
+public class CodeGenerationProperties {
+    private Strategy strategy = Strategy.SEQUENCE;
+    private Allocator allocator = Allocator.DATABASE;
+    private String sequenceName = "short_link";
+    private int blockSize = 1000;
+    private int minLength = 7;
+
+    public enum Strategy {
+        HASH,
+        SEQUENCE
+    }
+
+    public enum Allocator {
+        DATABASE,
+        REDIS
+    }
+}
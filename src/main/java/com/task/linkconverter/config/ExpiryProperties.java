@@ -0,0 +1,19 @@
+package com.task.linkconverter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "app.expiry")
+public class ExpiryProperties {
+    private boolean sweepEnabled = true;
+    private Duration sweepInterval = Duration.ofMinutes(1);
+    private int batchSize = 500;
+    private int maxBatchesPerRun = 20;
+}
@@ -0,0 +1,30 @@
+package com.task.linkconverter.config;
+
+import com.task.linkconverter.cache.LocalLinkFilter;
+import com.task.linkconverter.cache.RedisLinkFilter;
+import com.task.linkconverter.interfaces.LinkFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@Configuration
+public class LinkFilterConfig {
+
+    @Bean
+    public LinkFilter linkFilter(CacheProperties properties,
+                                 StorageProperties storageProperties,
+                                 StringRedisTemplate redisTemplate) {
+        CacheProperties.Filter filter = properties.getFilter();
+        if (!filter.isEnabled()) {
+            return LinkFilter.none();
+        }
+        // the filter is rebuilt by scanning short_link tables, which the Redis store does not have
+        if (storageProperties.getType() == StorageProperties.Type.REDIS) {
+            throw new IllegalStateException("app.cache.filter.enabled=true requires app.storage.type=jpa or sharded");
+        }
+        return switch (filter.getStore()) {
+            case LOCAL -> new LocalLinkFilter(filter);
+            case REDIS -> new RedisLinkFilter(redisTemplate, filter);
+        };
+    }
+}
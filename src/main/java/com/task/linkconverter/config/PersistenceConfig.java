@@ -0,0 +1,28 @@
+package com.task.linkconverter.config;
+
+import com.task.linkconverter.interfaces.LinkStore;
+import com.task.linkconverter.interfaces.LinkWriter;
+import com.task.linkconverter.service.DirectLinkWriter;
+import com.task.linkconverter.service.WriteBehindLinkWriter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PersistenceConfig {
+
+    @Bean
+    public LinkWriter linkWriter(PersistenceProperties properties,
+                                 CodeGenerationProperties codeProperties,
+                                 LinkStore linkStore) {
+        return switch (properties.getMode()) {
+            case DIRECT -> new DirectLinkWriter(linkStore);
+            case WRITE_BEHIND -> {
+                // a hash collision with a link still in another node's log would only surface at flush time
+                if (codeProperties.getStrategy() != CodeGenerationProperties.Strategy.SEQUENCE) {
+                    throw new IllegalStateException("app.persistence.mode=write-behind requires app.codes.strategy=sequence");
+                }
+                yield new WriteBehindLinkWriter(linkStore, properties.getWriteBehind());
+            }
+        };
+    }
+}
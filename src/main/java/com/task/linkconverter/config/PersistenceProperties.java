@@ -0,0 +1,31 @@
+package com.task.linkconverter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "app.persistence")
+public class PersistenceProperties {
+    private Mode mode = Mode.DIRECT;
+    private WriteBehind writeBehind = new WriteBehind();
+
+    public enum Mode {
+        DIRECT,
+        WRITE_BEHIND
+    }
+
+    @Setter
+    @Getter
+    public static class WriteBehind {
+        private String directory = "data/write-behind";
+        private Duration flushInterval = Duration.ofMillis(200);
+        private int batchSize = 500;
+        private int maxPending = 100_000;
+    }
+}
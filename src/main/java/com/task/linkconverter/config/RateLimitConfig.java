@@ -0,0 +1,32 @@
+package com.task.linkconverter.config;
+
+import com.task.linkconverter.interfaces.RateLimiter;
+import com.task.linkconverter.metrics.TimedRateLimiter;
+import com.task.linkconverter.service.FixedWindowRateLimiter;
+import com.task.linkconverter.service.LeasedTokenBucketRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Locale;
+import java.util.concurrent.Executor;
+
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiter globalRateLimiter(RateLimitProperties properties,
+                                         RedisTemplate<String, Integer> redisTemplate,
+                                         StringRedisTemplate stringRedisTemplate,
+                                         @Qualifier("applicationTaskExecutor") Executor executor,
+                                         MeterRegistry meterRegistry) {
+        RateLimiter limiter = switch (properties.getMode()) {
+            case FIXED_WINDOW -> new FixedWindowRateLimiter(redisTemplate, properties);
+            case LEASED -> new LeasedTokenBucketRateLimiter(stringRedisTemplate, executor, properties);
+        };
+        return new TimedRateLimiter(limiter, meterRegistry, properties.getMode().name().toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,62 @@
+package com.task.linkconverter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+    private Mode mode = Mode.FIXED_WINDOW;
+    private String key = "global_rate_limit";
+    private int limit = 100;
+    private Duration window = Duration.ofMinutes(1);
+    private Leased leased = new Leased();
+    private Client client = new Client();
+
+    public enum Mode {
+        FIXED_WINDOW,
+        LEASED
+    }
+
+    @Setter
+    @Getter
+    public static class Leased {
+        // Share of the global budget a node may lease at once; bounds the global error per node
+        private double tolerance = 0.05;
+        // Whether a node grants itself one lease per window while Redis is unreachable
+        private boolean failOpen = true;
+    }
+
+    @Setter
+    @Getter
+    public static class Client {
+        private boolean enabled = true;
+        private String apiKeyHeader = "X-API-Key";
+        // keys that get their own budget; any other header value is limited by the remote address
+        private Set<String> apiKeys = new LinkedHashSet<>();
+        private long maxClients = 100_000;
+        private Map<String, Policy> policies = new LinkedHashMap<>();
+    }
+
+    @Setter
+    @Getter
+    public static class Policy {
+        private int rate;
+        private Duration period = Duration.ofSeconds(1);
+        private int burst = 1;
+        private List<String> paths = new ArrayList<>();
+        private List<String> excludePaths = new ArrayList<>();
+    }
+}
@@ -0,0 +1,15 @@
+package com.task.linkconverter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "app.redirect")
+public class RedirectProperties {
+    private String mode = "blocking";
+    private int defaultStatus = 302;
+}
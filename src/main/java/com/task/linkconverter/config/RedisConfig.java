@@ -1,9 +1,13 @@
 package com.task.linkconverter.config;
 
+import com.task.linkconverter.cache.LinkInvalidationListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericToStringSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -17,4 +21,15 @@ public class RedisConfig {
         template.setValueSerializer(new GenericToStringSerializer<>(Integer.class));
         return template;
     }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.cache.shared", name = "enabled", havingValue = "true")
+    public RedisMessageListenerContainer linkInvalidationContainer(RedisConnectionFactory factory,
+                                                                   LinkInvalidationListener listener,
+                                                                   CacheProperties properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        container.addMessageListener(listener, new ChannelTopic(properties.getShared().getInvalidationChannel()));
+        return container;
+    }
 }
@@ -0,0 +1,34 @@
+package com.task.linkconverter.config;
+
+import com.task.linkconverter.service.JdbcShardStore;
+import com.task.linkconverter.service.ReplicaSet;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.replication", name = "enabled", havingValue = "true")
+public class ReplicationConfig {
+
+    @Bean
+    public ReplicaSet replicaSet(ReplicationProperties properties) {
+        if (properties.getReplicas().isEmpty()) {
+            throw new IllegalStateException(
+                    "app.replication.enabled=true requires at least one app.replication.replicas entry");
+        }
+        List<JdbcShardStore> replicas = new ArrayList<>();
+        for (ReplicationProperties.Replica replica : properties.getReplicas()) {
+            // the schema comes from the primary through replication, so it is not created here
+            replicas.add(new JdbcShardStore(replicas.size(), DataSourceBuilder.create()
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword())
+                    .build()));
+        }
+        return new ReplicaSet(replicas);
+    }
+}
@@ -0,0 +1,31 @@
+package com.task.linkconverter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "app.replication")
+public class ReplicationProperties {
+    private boolean enabled = false;
+    private List<Replica> replicas = new ArrayList<>();
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+    // should exceed the worst replication lag the replicas are allowed to have
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+    private long maxTrackedWrites = 100_000;
+
+    @Setter
+    @Getter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
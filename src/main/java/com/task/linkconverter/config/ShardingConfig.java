@@ -0,0 +1,53 @@
+package com.task.linkconverter.config;
+
+import com.task.linkconverter.controllers.ShardsEndpoint;
+import com.task.linkconverter.service.JdbcShardStore;
+import com.task.linkconverter.service.ShardDirectory;
+import com.task.linkconverter.service.ShardRebalancer;
+import com.task.linkconverter.service.ShardedLinkStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.storage", name = "type", havingValue = "sharded")
+public class ShardingConfig {
+
+    @Bean
+    public ShardedLinkStore shardedLinkStore(ShardingProperties properties) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("app.storage.type=sharded requires at least one app.sharding.shards entry");
+        }
+        List<JdbcShardStore> shards = new ArrayList<>();
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            JdbcShardStore store = new JdbcShardStore(shards.size(), DataSourceBuilder.create()
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .build());
+            store.createSchema();
+            shards.add(store);
+        }
+        ShardDirectory directory = new ShardDirectory(shards.get(0).jdbcTemplate(), shards.size());
+        directory.initialize();
+        return new ShardedLinkStore(shards, directory, properties.getRefreshInterval());
+    }
+
+    @Bean
+    public ShardRebalancer shardRebalancer(ShardedLinkStore shardedLinkStore, ShardingProperties properties) {
+        return new ShardRebalancer(shardedLinkStore, properties);
+    }
+
+    @Bean
+    public ShardsEndpoint shardsEndpoint(ShardedLinkStore shardedLinkStore,
+                                         ShardRebalancer shardRebalancer,
+                                         @Qualifier("applicationTaskExecutor") Executor executor) {
+        return new ShardsEndpoint(shardedLinkStore.directory(), shardRebalancer, executor);
+    }
+}
@@ -0,0 +1,29 @@
+package com.task.linkconverter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardingProperties {
+    // Order matters: shards are identified by their index, and shard 0 holds the slot map
+    private List<Shard> shards = new ArrayList<>();
+    private Duration refreshInterval = Duration.ofSeconds(10);
+    private int copyBatchSize = 500;
+
+    @Setter
+    @Getter
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,48 @@
+package com.task.linkconverter.config;
+
+import com.task.linkconverter.interfaces.LinkStore;
+import com.task.linkconverter.interfaces.ShortLinkRepository;
+import com.task.linkconverter.metrics.TimedLinkStore;
+import com.task.linkconverter.service.JpaLinkStore;
+import com.task.linkconverter.service.RedisLinkStore;
+import com.task.linkconverter.service.ReplicaRoutingLinkStore;
+import com.task.linkconverter.service.ReplicaSet;
+import com.task.linkconverter.service.ShardedLinkStore;
+import com.task.linkconverter.service.UrlHashBackfill;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Locale;
+
+@Configuration
+public class StorageConfig {
+
+    @Bean
+    public LinkStore linkStore(StorageProperties properties,
+                               ShortLinkRepository repository,
+                               UrlHashBackfill urlHashBackfill,
+                               PlatformTransactionManager transactionManager,
+                               StringRedisTemplate redisTemplate,
+                               ObjectProvider<ShardedLinkStore> shardedLinkStore,
+                               ObjectProvider<ReplicaSet> replicaSet,
+                               ReplicationProperties replicationProperties,
+                               MeterRegistry meterRegistry) {
+        LinkStore store = switch (properties.getType()) {
+            case JPA -> new JpaLinkStore(repository, urlHashBackfill, transactionManager);
+            case REDIS -> new RedisLinkStore(redisTemplate, properties);
+            case SHARDED -> shardedLinkStore.getObject();
+        };
+        ReplicaSet replicas = replicaSet.getIfAvailable();
+        if (replicas != null) {
+            if (properties.getType() != StorageProperties.Type.JPA) {
+                throw new IllegalStateException("app.replication requires app.storage.type=jpa");
+            }
+            store = new ReplicaRoutingLinkStore(store, replicas, urlHashBackfill, replicationProperties);
+        }
+        return new TimedLinkStore(store, meterRegistry, properties.getType().name().toLowerCase(Locale.ROOT));
+    }
+}
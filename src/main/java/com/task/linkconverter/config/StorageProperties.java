@@ -0,0 +1,27 @@
+package com.task.linkconverter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "app.storage")
+public class StorageProperties {
+    private Type type = Type.JPA;
+    private Redis redis = new Redis();
+
+    public enum Type {
+        JPA,
+        REDIS,
+        SHARDED
+    }
+
+    @Setter
+    @Getter
+    public static class Redis {
+        private String keyPrefix = "links:";
+    }
+}
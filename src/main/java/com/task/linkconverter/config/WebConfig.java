@@ -0,0 +1,39 @@
+package com.task.linkconverter.config;
+
+import com.task.linkconverter.controllers.AdminKeyInterceptor;
+import com.task.linkconverter.controllers.ClientRateLimitInterceptor;
+import com.task.linkconverter.metrics.LinkMetrics;
+import com.task.linkconverter.service.ClientRateLimiters;
+import com.task.linkconverter.service.GcraRateLimiter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Set;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+    private final ClientRateLimiters clientRateLimiters;
+    private final RateLimitProperties rateLimitProperties;
+    private final LinkMetrics linkMetrics;
+    private final AdminProperties adminProperties;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AdminKeyInterceptor(adminProperties.getApiKeyHeader(), adminProperties.getApiKey()))
+                .addPathPatterns("/admin/**");
+        RateLimitProperties.Client client = rateLimitProperties.getClient();
+        for (GcraRateLimiter limiter : clientRateLimiters.getLimiters()) {
+            RateLimitProperties.Policy policy = client.getPolicies().get(limiter.getName());
+            if (policy.getPaths().isEmpty()) {
+                continue;
+            }
+            registry.addInterceptor(new ClientRateLimitInterceptor(
+                            limiter, client.getApiKeyHeader(), Set.copyOf(client.getApiKeys()), linkMetrics))
+                    .addPathPatterns(policy.getPaths())
+                    .excludePathPatterns(policy.getExcludePaths());
+        }
+    }
+}
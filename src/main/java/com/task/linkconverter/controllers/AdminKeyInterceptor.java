@@ -0,0 +1,30 @@
+package com.task.linkconverter.controllers;
+
+import com.task.linkconverter.exceptions.AdminAccessDeniedException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+@RequiredArgsConstructor
+public class AdminKeyInterceptor implements HandlerInterceptor {
+    private final String apiKeyHeader;
+    private final String apiKey;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (apiKey.isBlank()) {
+            throw new AdminAccessDeniedException("Admin API is disabled");
+        }
+        String presented = request.getHeader(apiKeyHeader);
+        // constant-time, so response timing does not reveal how much of the key matched
+        if (presented == null || !MessageDigest.isEqual(
+                presented.getBytes(StandardCharsets.UTF_8), apiKey.getBytes(StandardCharsets.UTF_8))) {
+            throw new AdminAccessDeniedException("Missing or invalid admin key");
+        }
+        return true;
+    }
+}
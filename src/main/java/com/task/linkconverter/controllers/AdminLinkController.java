@@ -0,0 +1,106 @@
+package com.task.linkconverter.controllers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.linkconverter.exceptions.InvalidRequestException;
+import com.task.linkconverter.model.LinkImportResult;
+import com.task.linkconverter.model.LinkRecord;
+import com.task.linkconverter.service.LinkTransferService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bulk export and import of links. Served under {@code /admin}, which requires the
+ * {@code app.admin.api-key} on every request, see {@link AdminKeyInterceptor}.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/admin/links")
+@RequiredArgsConstructor
+public class AdminLinkController {
+    private static final String GZIP_VALUE = "application/gzip";
+
+    private final LinkTransferService transferService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Streams links as gzip-compressed NDJSON, one {@link LinkRecord} per line.
+     */
+    @GetMapping("/export")
+    public void exportLinks(@RequestParam(defaultValue = "false") boolean includeExpired,
+                            HttpServletResponse response) throws IOException {
+        log.info("GET /admin/links/export");
+        transferService.checkExportSupported();
+        response.setContentType(GZIP_VALUE);
+        response.setHeader("Content-Disposition", "attachment; filename=\"links.ndjson.gz\"");
+        try (GZIPOutputStream gzip = new GZIPOutputStream(response.getOutputStream(), 64 * 1024)) {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(gzip);
+            long total = transferService.export(includeExpired, records -> writeRecords(generator, records));
+            generator.close();
+            log.info("Exported {} links", total);
+        }
+    }
+
+    /**
+     * Reads NDJSON {@link LinkRecord} lines, gzip-compressed or not. {@code onConflict=skip} keeps
+     * live links whose code is already taken, {@code upsert} replaces them.
+     */
+    @PostMapping(
+            value = "/import",
+            consumes = {GZIP_VALUE, MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE}
+    )
+    public ResponseEntity<LinkImportResult> importLinks(@RequestParam(defaultValue = "skip") String onConflict,
+                                                        HttpServletRequest request) throws IOException {
+        log.info("POST /admin/links/import");
+        LinkTransferService.ConflictMode mode = conflictMode(onConflict);
+        try (MappingIterator<LinkRecord> records =
+                     objectMapper.readerFor(LinkRecord.class).readValues(decompressed(request.getInputStream()))) {
+            LinkImportResult result = transferService.importLinks(records, mode);
+            log.info("Imported links: {}", result);
+            return ResponseEntity.ok(result);
+        }
+    }
+
+    private static LinkTransferService.ConflictMode conflictMode(String onConflict) {
+        try {
+            return LinkTransferService.ConflictMode.valueOf(onConflict.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("onConflict must be skip or upsert, got: " + onConflict);
+        }
+    }
+
+    private static InputStream decompressed(InputStream body) throws IOException {
+        PushbackInputStream in = new PushbackInputStream(body, 2);
+        byte[] magic = in.readNBytes(2);
+        in.unread(magic);
+        boolean gzip = magic.length == 2 && (magic[0] & 0xff) == 0x1f && (magic[1] & 0xff) == 0x8b;
+        return gzip ? new GZIPInputStream(in, 64 * 1024) : in;
+    }
+
+    private static void writeRecords(JsonGenerator generator, List<LinkRecord> records) {
+        try {
+            for (LinkRecord record : records) {
+                generator.writeObject(record);
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.task.linkconverter.controllers;
+
+import com.task.linkconverter.exceptions.RateLimitExceededException;
+import com.task.linkconverter.metrics.LinkMetrics;
+import com.task.linkconverter.service.GcraRateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@RequiredArgsConstructor
+public class ClientRateLimitInterceptor implements HandlerInterceptor {
+    private final GcraRateLimiter limiter;
+    private final String apiKeyHeader;
+    private final Set<String> apiKeys;
+    private final LinkMetrics metrics;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long waitNanos = limiter.tryAcquire(clientKey(request));
+        if (waitNanos > 0) {
+            metrics.clientRateLimited(limiter.getName());
+            response.setHeader(HttpHeaders.RETRY_AFTER,
+                    String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999))));
+            throw new RateLimitExceededException("Rate limit exceeded for " + limiter.getName());
+        }
+        return true;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(apiKeyHeader);
+        // an unknown key would give every request a fresh budget and crowd real clients out of the limiter
+        if (apiKey != null && apiKeys.contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
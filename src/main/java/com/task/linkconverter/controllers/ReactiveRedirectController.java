@@ -0,0 +1,42 @@
+package com.task.linkconverter.controllers;
+
+import com.task.linkconverter.cache.HotSetTracker;
+import com.task.linkconverter.metrics.RequestLogSampler;
+import com.task.linkconverter.service.ClickRecorder;
+import com.task.linkconverter.service.ReactiveShortLinkService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.redirect", name = "mode", havingValue = "reactive")
+public class ReactiveRedirectController {
+    private final ReactiveShortLinkService service;
+    private final RedirectResponses redirectResponses;
+    private final ClickRecorder clickRecorder;
+    private final RequestLogSampler logSampler;
+    private final HotSetTracker hotSet;
+
+    @GetMapping("/{shortLink}")
+    public Mono<ResponseEntity<Void>> redirect(@PathVariable String shortLink,
+                                               @RequestHeader(value = HttpHeaders.REFERER, required = false) String referer) {
+        if (logSampler.sample()) {
+            log.info("Redirect attempt for: {}", shortLink);
+        }
+        return service.getLink(shortLink)
+                .doOnNext(link -> {
+                    clickRecorder.record(shortLink, referer);
+                    hotSet.record(shortLink);
+                })
+                .map(redirectResponses::redirect);
+    }
+}
@@ -1,25 +1,41 @@
 package com.task.linkconverter.controllers;
 
-import com.task.linkconverter.config.AppConfig;
+import com.task.linkconverter.cache.CachedLink;
+import com.task.linkconverter.cache.HotSetTracker;
+import com.task.linkconverter.metrics.RequestLogSampler;
+import com.task.linkconverter.service.ClickRecorder;
 import com.task.linkconverter.service.ShortLinkService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
 @Slf4j
 @RestController
 @RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.redirect", name = "mode", havingValue = "blocking", matchIfMissing = true)
 public class RedirectController {
     private final ShortLinkService service;
-    private final AppConfig appConfig;
+    private final RedirectResponses redirectResponses;
+    private final ClickRecorder clickRecorder;
+    private final RequestLogSampler logSampler;
+    private final HotSetTracker hotSet;
 
     @GetMapping("/{shortLink}")
-    public String redirect(@PathVariable String shortLink) {
-        log.info("Redirect attempt for: {}", shortLink);
-        String originalUrl = service.getOriginalUrl(shortLink);
-        log.debug("Redirecting {} -> {}", shortLink, originalUrl);
-        return "redirect:" + originalUrl;
+    public ResponseEntity<Void> redirect(@PathVariable String shortLink,
+                                         @RequestHeader(value = HttpHeaders.REFERER, required = false) String referer) {
+        if (logSampler.sample()) {
+            log.info("Redirect attempt for: {}", shortLink);
+        }
+        CachedLink link = service.getLink(shortLink);
+        log.debug("Redirecting {} -> {}", shortLink, link.getOriginalUrl());
+        clickRecorder.record(shortLink, referer);
+        hotSet.record(shortLink);
+        return redirectResponses.redirect(link);
     }
 }
@@ -0,0 +1,37 @@
+package com.task.linkconverter.controllers;
+
+import com.task.linkconverter.cache.CachedLink;
+import com.task.linkconverter.config.RedirectProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Builds the 3xx response for a resolved link. Responses may be cached by browsers and
+ * shared caches until the link expires, and no longer.
+ */
+@Component
+@RequiredArgsConstructor
+public class RedirectResponses {
+    private final RedirectProperties properties;
+
+    public ResponseEntity<Void> redirect(CachedLink link) {
+        int status = link.getRedirectStatus() != null ? link.getRedirectStatus() : properties.getDefaultStatus();
+        long maxAge = Duration.between(Instant.now(), link.getExpiresAt()).getSeconds();
+        CacheControl cacheControl = maxAge > 0
+                ? CacheControl.maxAge(Duration.ofSeconds(maxAge)).cachePublic()
+                : CacheControl.noStore();
+        return ResponseEntity.status(HttpStatus.valueOf(status))
+                // as stored: URI.create rejects URLs that pass validation, such as a bare '%'
+                .header(HttpHeaders.LOCATION, link.getOriginalUrl())
+                .cacheControl(cacheControl)
+                .headers(headers -> headers.setExpires(link.getExpiresAt().toEpochMilli()))
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.task.linkconverter.controllers;
+
+import com.task.linkconverter.service.ShardDirectory;
+import com.task.linkconverter.service.ShardRebalancer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@code /actuator/shards}: GET shows which slots each shard owns and which are migrating,
+ * POST starts a rebalance in the background. Only one rebalance runs at a time.
+ */
+@Slf4j
+@Endpoint(id = "shards")
+public class ShardsEndpoint {
+    private static final String RUNNING = "running";
+
+    private final ShardDirectory directory;
+    private final ShardRebalancer rebalancer;
+    private final Executor executor;
+    private final AtomicReference<String> status = new AtomicReference<>("idle");
+
+    public ShardsEndpoint(ShardDirectory directory, ShardRebalancer rebalancer, Executor executor) {
+        this.directory = directory;
+        this.rebalancer = rebalancer;
+        this.executor = executor;
+    }
+
+    @ReadOperation
+    public Map<String, Object> shards() {
+        Map<Integer, List<Integer>> owned = new TreeMap<>();
+        Map<Integer, String> migrating = new TreeMap<>();
+        for (int shard = 0; shard < directory.shardCount(); shard++) {
+            owned.put(shard, new ArrayList<>());
+        }
+        for (int slot = 0; slot < ShardDirectory.SLOTS; slot++) {
+            owned.get(directory.owner(slot)).add(slot);
+            if (directory.previous(slot) != ShardDirectory.NONE) {
+                migrating.put(slot, directory.previous(slot) + "->" + directory.owner(slot));
+            }
+        }
+        Map<String, Object> shards = new LinkedHashMap<>();
+        shards.put("slots", owned);
+        shards.put("migrating", migrating);
+        shards.put("rebalance", status.get());
+        return shards;
+    }
+
+    @WriteOperation
+    public String rebalance() {
+        String previous = status.get();
+        if (previous.equals(RUNNING) || !status.compareAndSet(previous, RUNNING)) {
+            return "already running";
+        }
+        executor.execute(() -> {
+            try {
+                List<String> moves = rebalancer.rebalance();
+                status.set("done: " + (moves.isEmpty() ? "already balanced" : String.join(", ", moves)));
+            } catch (RuntimeException e) {
+                log.error("Shard rebalance failed", e);
+                status.set("failed: " + e.getMessage());
+            }
+        });
+        return "started";
+    }
+}
@@ -1,18 +1,32 @@
 package com.task.linkconverter.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.task.linkconverter.config.AppConfig;
+import com.task.linkconverter.exceptions.RateLimitExceededException;
+import com.task.linkconverter.metrics.RequestLogSampler;
+import com.task.linkconverter.model.BatchShortenResult;
+import com.task.linkconverter.model.LinkStatsResponse;
 import com.task.linkconverter.model.RetrieveResponse;
 import com.task.linkconverter.model.ShortenRequest;
 import com.task.linkconverter.model.ShortenResponse;
+import com.task.linkconverter.service.BatchShortenService;
+import com.task.linkconverter.service.ClickRecorder;
 import com.task.linkconverter.service.ShortLinkService;
+import com.task.linkconverter.validation.UrlSyntax;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.net.URI;
-import java.net.URISyntaxException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
 
 @Slf4j
 @RestController
@@ -20,7 +34,11 @@ import java.net.URISyntaxException;
 @RequiredArgsConstructor
 public class ShortLinkController {
     private final ShortLinkService service;
+    private final BatchShortenService batchService;
+    private final ClickRecorder clickRecorder;
+    private final ObjectMapper objectMapper;
     private final AppConfig appConfig;
+    private final RequestLogSampler logSampler;
 
     @PostMapping("/shorten")
     public ResponseEntity<ShortenResponse> shortenUrl(
@@ -28,31 +46,78 @@ public class ShortLinkController {
             @RequestBody
             ShortenRequest request
     ) {
-        log.info("POST /shorten for URL: {}", request.getOriginalUrl());
-        String shortCode = service.shortenUrl(request.getOriginalUrl());
+        if (logSampler.sample()) {
+            log.info("POST /shorten for URL: {}", request.getOriginalUrl());
+        }
+        String originalUrl = appConfig.isNormalizeUrls()
+                ? UrlSyntax.normalize(request.getOriginalUrl())
+                : request.getOriginalUrl();
+        String shortCode = service.shortenUrl(originalUrl, request.getRedirectType(), request.getTtl());
         String fullUrl = constructFullUrl(shortCode);
         return ResponseEntity.ok(new ShortenResponse(fullUrl));
     }
 
+    @PostMapping(
+            value = "/shorten/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE}
+    )
+    public void shortenBatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (logSampler.sample()) {
+            log.info("POST /shorten/batch");
+        }
+        try (MappingIterator<ShortenRequest> requests =
+                     objectMapper.readerFor(ShortenRequest.class).readValues(request.getInputStream())) {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+            try {
+                batchService.shorten(requests, results -> writeResults(generator, results));
+            } catch (RateLimitExceededException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                log.warn("Batch shorten aborted: {}", e.getMessage());
+                writeResults(generator, List.of(new BatchShortenResult(
+                        -1, null, null, BatchShortenResult.Status.ERROR, "Batch aborted: " + e.getMessage())));
+            }
+            generator.close();
+        }
+    }
+
     @GetMapping("/retrieve")
     public ResponseEntity<RetrieveResponse> retrieveUrl(@RequestParam String shortUrl) {
-        log.info("GET /retrieve/{}", shortUrl);
-        String shortCode = extractShortCode(shortUrl);
+        if (logSampler.sample()) {
+            log.info("GET /retrieve/{}", shortUrl);
+        }
+        String shortCode = UrlSyntax.lastPathSegment(shortUrl);
         String originalUrl = service.getOriginalUrl(shortCode);
         return ResponseEntity.ok(new RetrieveResponse(originalUrl));
     }
 
-    private String constructFullUrl(String shortCode) {
-        return appConfig.getBaseUrl() + "/" + shortCode;
+    @GetMapping("/links/{shortCode}/stats")
+    public ResponseEntity<LinkStatsResponse> linkStats(@PathVariable String shortCode) {
+        if (logSampler.sample()) {
+            log.info("GET /links/{}/stats", shortCode);
+        }
+        LinkStatsResponse stats = clickRecorder.stats(shortCode);
+        if (stats.getTotalClicks() == 0) {
+            // no clicks recorded: distinguish an unused link from an unknown or expired one
+            service.getLink(shortCode);
+        }
+        return ResponseEntity.ok(stats);
     }
 
-    private String extractShortCode(String shortUrl) {
+    private void writeResults(JsonGenerator generator, List<?> results) {
         try {
-            URI uri = new URI(shortUrl);
-            String path = uri.getPath();
-            return path.substring(path.lastIndexOf('/') + 1);
-        } catch (URISyntaxException e) {
-            throw new IllegalArgumentException("Invalid short URL format");
+            for (Object result : results) {
+                generator.writeObject(result);
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
+
+    private String constructFullUrl(String shortCode) {
+        return appConfig.getBaseUrl() + "/" + shortCode;
+    }
 }
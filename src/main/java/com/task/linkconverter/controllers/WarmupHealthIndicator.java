@@ -0,0 +1,38 @@
+package com.task.linkconverter.controllers;
+
+import com.task.linkconverter.service.CacheWarmer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code warmup} health contributor, part of the readiness group: out of service while the
+ * cache is being warmed from the hot-set snapshot, with the progress so far, and up once warm-up
+ * has finished, timed out or is disabled.
+ */
+@Component
+public class WarmupHealthIndicator implements HealthIndicator {
+    private final ObjectProvider<CacheWarmer> cacheWarmer;
+
+    public WarmupHealthIndicator(ObjectProvider<CacheWarmer> cacheWarmer) {
+        this.cacheWarmer = cacheWarmer;
+    }
+
+    @Override
+    public Health health() {
+        CacheWarmer warmer = cacheWarmer.getIfAvailable();
+        if (warmer == null) {
+            return Health.up().withDetail("enabled", false).build();
+        }
+        CacheWarmer.State state = warmer.state();
+        Health.Builder health = state == CacheWarmer.State.PENDING || state == CacheWarmer.State.WARMING
+                ? Health.outOfService()
+                : Health.up();
+        return health.withDetail("state", state)
+                .withDetail("processed", warmer.processed())
+                .withDetail("total", warmer.total())
+                .withDetail("cached", warmer.cached())
+                .build();
+    }
+}
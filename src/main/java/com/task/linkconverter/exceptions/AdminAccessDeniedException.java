@@ -0,0 +1,7 @@
+package com.task.linkconverter.exceptions;
+
+public class AdminAccessDeniedException extends RuntimeException {
+    public AdminAccessDeniedException(String message) {
+        super(message);
+    }
+}
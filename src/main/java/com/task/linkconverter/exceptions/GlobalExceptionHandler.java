@@ -24,6 +24,34 @@ public class GlobalExceptionHandler {
                 .body(new ErrorResponse(ex.getMessage(), "EXPIRED"));
     }
 
+    @ExceptionHandler({ShortLinkCollisionException.class})
+    public ResponseEntity<ErrorResponse> handleCollision(RuntimeException ex) {
+        log.warn("Short code collision: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse(ex.getMessage(), "COLLISION"));
+    }
+
+    @ExceptionHandler({UnsupportedOperationException.class})
+    public ResponseEntity<ErrorResponse> handleUnsupported(RuntimeException ex) {
+        log.warn("Unsupported operation: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED)
+                .body(new ErrorResponse(ex.getMessage(), "NOT_IMPLEMENTED"));
+    }
+
+    @ExceptionHandler({InvalidRequestException.class})
+    public ResponseEntity<ErrorResponse> handleInvalidRequest(RuntimeException ex) {
+        log.warn("Invalid request: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(ex.getMessage(), "BAD_REQUEST"));
+    }
+
+    @ExceptionHandler({AdminAccessDeniedException.class})
+    public ResponseEntity<ErrorResponse> handleAdminAccessDenied(RuntimeException ex) {
+        log.warn("Admin access denied: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(new ErrorResponse(ex.getMessage(), "FORBIDDEN"));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGeneralException(Exception ex) {
         log.error("Unexpected error occurred", ex);
@@ -0,0 +1,15 @@
+package com.task.linkconverter.interfaces;
+
+import com.task.linkconverter.model.ClickCount;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ClickStatsStore {
+    /**
+     * Adds the counts to the stored aggregates; called from a single flushing thread.
+     */
+    void add(Collection<ClickCount> counts);
+
+    List<ClickCount> find(String shortLink);
+}
@@ -0,0 +1,23 @@
+package com.task.linkconverter.interfaces;
+
+public interface IdRangeAllocator {
+    /**
+     * Reserves {@code size} consecutive ids and returns the first one.
+     */
+    long allocate(int size);
+
+    /**
+     * Makes sure {@code id} and every id below it are never allocated, and returns the first id
+     * that had not been allocated before this call.
+     */
+    default long reserveThrough(long id) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " cannot reserve ids");
+    }
+
+    /**
+     * Returns the first id that has not been allocated, without allocating anything.
+     */
+    default long next() {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " cannot report its position");
+    }
+}
@@ -0,0 +1,82 @@
+package com.task.linkconverter.interfaces;
+
+import com.task.linkconverter.model.ShortLink;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Approximate set of the short codes and URLs in storage, consulted before storage is queried.
+ * {@code false} is definite; {@code true} means storage has to be asked. A filter answers
+ * {@code true} until it has been built.
+ * <p>
+ * Links cannot be removed from a filter. Instead it is rebuilt from storage periodically, and
+ * expired links drop out of the new generation. Lookups consult the current and the previous
+ * generation, so a link added while a rebuild is running stays visible through the next one.
+ */
+public interface LinkFilter {
+    boolean mightContainCode(String shortCode);
+
+    boolean mightContainUrl(String originalUrl);
+
+    /**
+     * Adds the link's code and URL; callers add a link before storing it.
+     */
+    void add(ShortLink link);
+
+    /**
+     * Starts building the next generation, or returns empty if a rebuild is already running,
+     * here or, for a shared filter, on another node.
+     */
+    Optional<Rebuild> startRebuild();
+
+    /**
+     * Picks up generations published by other nodes; a no-op for node-local filters.
+     */
+    default void refresh() {
+    }
+
+    boolean isReady();
+
+    /**
+     * A filter that never rules anything out, for when filtering is disabled.
+     */
+    static LinkFilter none() {
+        return new LinkFilter() {
+            @Override
+            public boolean mightContainCode(String shortCode) {
+                return true;
+            }
+
+            @Override
+            public boolean mightContainUrl(String originalUrl) {
+                return true;
+            }
+
+            @Override
+            public void add(ShortLink link) {
+            }
+
+            @Override
+            public Optional<Rebuild> startRebuild() {
+                return Optional.empty();
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+        };
+    }
+
+    interface Rebuild {
+        void add(List<ShortLink> links);
+
+        /**
+         * Makes the new generation current; the current one becomes the previous one.
+         */
+        void publish();
+
+        void abort();
+    }
+}
@@ -0,0 +1,55 @@
+package com.task.linkconverter.interfaces;
+
+import com.task.linkconverter.model.ShortLink;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Storage backend for short links. Lookups by code may return expired links, which callers
+ * check themselves; lookups by URL return only live links, with an exact URL match.
+ */
+public interface LinkStore {
+    Optional<ShortLink> findByCode(String shortCode);
+
+    List<ShortLink> findAllByCode(Collection<String> shortCodes);
+
+    Optional<ShortLink> findByUrl(String originalUrl);
+
+    /**
+     * Returns the live links for the given URLs, keyed by URL; URLs without one are absent.
+     */
+    Map<String, ShortLink> findAllByUrl(Collection<String> originalUrls);
+
+    void save(ShortLink link);
+
+    /**
+     * Saves all links or none of them.
+     *
+     * @throws org.springframework.dao.DataIntegrityViolationException if a code is already taken
+     *         and the backend enforces uniqueness
+     */
+    void saveAll(Collection<ShortLink> links);
+
+    /**
+     * Saves the link under its code only, as another name for a URL that already has a live
+     * link: it resolves by code, but lookups by URL keep returning the URL's own link and the
+     * URL's uniqueness does not apply to it.
+     *
+     * @throws org.springframework.dao.DataIntegrityViolationException if the code is already taken
+     */
+    void saveAlias(ShortLink link);
+
+    void delete(ShortLink link);
+
+    void deleteAll(Collection<ShortLink> links);
+
+    /**
+     * Deletes the expired links stored under the URL's fingerprint and returns how many were
+     * deleted. Backends that keep one row per fingerprint need this before the URL, or another
+     * URL with the same fingerprint, can be shortened again.
+     */
+    int deleteExpiredByUrl(String originalUrl);
+}
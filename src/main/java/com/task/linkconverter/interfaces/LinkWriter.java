@@ -0,0 +1,25 @@
+package com.task.linkconverter.interfaces;
+
+import com.task.linkconverter.model.ShortLink;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Persists newly created links. Once {@link #write} returns, the link must survive a restart;
+ * until it is visible through the repository, it is available from the {@code pending} lookups.
+ * A write fails with a {@link org.springframework.dao.DataIntegrityViolationException} if the
+ * code is taken or the URL already has a live link, whether stored or still pending.
+ */
+public interface LinkWriter {
+    void write(ShortLink link);
+
+    /**
+     * Writes all links or none of them.
+     */
+    void writeAll(Collection<ShortLink> links);
+
+    Optional<ShortLink> pendingByCode(String shortCode);
+
+    Optional<ShortLink> pendingByUrl(String originalUrl);
+}
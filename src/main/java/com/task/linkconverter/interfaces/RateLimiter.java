@@ -0,0 +1,5 @@
+package com.task.linkconverter.interfaces;
+
+public interface RateLimiter {
+    boolean tryAcquire();
+}
@@ -0,0 +1,21 @@
+package com.task.linkconverter.interfaces;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface ShortCodeGenerator {
+    String generate(String originalUrl);
+
+    /**
+     * Whether generated codes are guaranteed unique, so callers can skip the collision check.
+     */
+    boolean isCollisionFree();
+
+    /**
+     * Makes sure the generator will not produce the given codes, typically imported ones, and
+     * returns those it may already have handed out or cannot reserve, which must not be stored.
+     */
+    default Set<String> reserve(Collection<String> codes) {
+        return Set.of();
+    }
+}
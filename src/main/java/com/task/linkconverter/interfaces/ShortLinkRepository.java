@@ -2,10 +2,26 @@ package com.task.linkconverter.interfaces;
 
 import com.task.linkconverter.model.ShortLink;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ShortLinkRepository extends JpaRepository<ShortLink, Long> {
-    Optional<ShortLink> findByOriginalUrl(String originalUrl);
     Optional<ShortLink> findByShortLink(String shortLink);
+    List<ShortLink> findAllByShortLinkIn(Collection<String> shortLinks);
+    List<ShortLink> findAllByUrlHash(Long urlHash);
+    List<ShortLink> findAllByUrlHashIn(Collection<Long> urlHashes);
+    Optional<ShortLink> findFirstByOriginalUrlAndUrlHashIsNull(String originalUrl);
+    List<ShortLink> findAllByOriginalUrlInAndUrlHashIsNull(Collection<String> originalUrls);
+
+    // by code, so links read from a replica without the primary's id are deleted too
+    @Modifying
+    @Transactional
+    @Query("delete from ShortLink s where s.shortLink in :shortLinks")
+    int deleteByShortLinkIn(@Param("shortLinks") Collection<String> shortLinks);
 }
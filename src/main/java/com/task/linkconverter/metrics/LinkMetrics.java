@@ -0,0 +1,114 @@
+package com.task.linkconverter.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for the shorten and lookup paths. Every meter is registered up front, so recording is
+ * a field access and an add rather than a registry lookup. Timers publish percentile histograms
+ * for Prometheus; callers pass the {@link System#nanoTime()} taken when the operation started.
+ */
+@Component
+public class LinkMetrics {
+    private final MeterRegistry registry;
+    private final Timer shorten;
+    private final Timer lookup;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final Counter notFound;
+    private final Counter filtered;
+    private final Counter expired;
+    private final Counter collisions;
+    private final Counter globalRateLimited;
+
+    public LinkMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.shorten = timer(registry, "links.shorten", "Time to return a short code for a URL");
+        this.lookup = timer(registry, "links.lookup", "Time to resolve a short code");
+        this.cacheHits = outcome(registry, "cache_hit");
+        this.cacheMisses = outcome(registry, "cache_miss");
+        this.notFound = outcome(registry, "not_found");
+        this.filtered = outcome(registry, "filtered");
+        this.expired = outcome(registry, "expired");
+        this.collisions = outcome(registry, "collision");
+        this.globalRateLimited = rateLimitedCounter(registry, "global");
+    }
+
+    /**
+     * Metrics that are recorded but never exported, for code constructed outside the context.
+     */
+    public static LinkMetrics noop() {
+        return new LinkMetrics(new SimpleMeterRegistry());
+    }
+
+    public void recordShorten(long startNanos) {
+        shorten.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLookup(long startNanos) {
+        lookup.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void cacheHit() {
+        cacheHits.increment();
+    }
+
+    public void cacheMiss() {
+        cacheMisses.increment();
+    }
+
+    public void notFound() {
+        notFound.increment();
+    }
+
+    /**
+     * A lookup the existence filter answered without querying storage.
+     */
+    public void filtered() {
+        filtered.increment();
+    }
+
+    public void expired() {
+        expired.increment();
+    }
+
+    public void collision() {
+        collisions.increment();
+    }
+
+    public void globalRateLimited() {
+        globalRateLimited.increment();
+    }
+
+    public void clientRateLimited(String policy) {
+        // rejections are the slow path, so the registry lookup is acceptable here
+        rateLimitedCounter(registry, policy).increment();
+    }
+
+    static Timer timer(MeterRegistry registry, String name, String description, String... tags) {
+        return Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static Counter outcome(MeterRegistry registry, String outcome) {
+        return Counter.builder("links.outcomes")
+                .description("Lookup and shorten outcomes")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static Counter rateLimitedCounter(MeterRegistry registry, String limiter) {
+        return Counter.builder("links.rate_limited")
+                .description("Requests rejected by a rate limiter")
+                .tag("limiter", limiter)
+                .register(registry);
+    }
+}
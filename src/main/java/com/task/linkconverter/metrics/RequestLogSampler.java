@@ -0,0 +1,23 @@
+package com.task.linkconverter.metrics;
+
+import com.task.linkconverter.config.AppConfig;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether a per-request INFO line is written, so that request logging costs a random
+ * draw instead of a formatted, appended line on every call.
+ */
+@Component
+public class RequestLogSampler {
+    private final double rate;
+
+    public RequestLogSampler(AppConfig appConfig) {
+        this.rate = appConfig.getRequestLogSampleRate();
+    }
+
+    public boolean sample() {
+        return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
@@ -0,0 +1,153 @@
+package com.task.linkconverter.metrics;
+
+import com.task.linkconverter.interfaces.LinkStore;
+import com.task.linkconverter.model.ShortLink;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every call into the wrapped store as {@code links.store}, tagged with the backend and
+ * the operation.
+ */
+public class TimedLinkStore implements LinkStore {
+    private final LinkStore delegate;
+    private final Timer findByCode;
+    private final Timer findAllByCode;
+    private final Timer findByUrl;
+    private final Timer findAllByUrl;
+    private final Timer save;
+    private final Timer saveAll;
+    private final Timer saveAlias;
+    private final Timer delete;
+    private final Timer deleteAll;
+    private final Timer deleteExpiredByUrl;
+
+    public TimedLinkStore(LinkStore delegate, MeterRegistry registry, String backend) {
+        this.delegate = delegate;
+        this.findByCode = timer(registry, backend, "find_by_code");
+        this.findAllByCode = timer(registry, backend, "find_all_by_code");
+        this.findByUrl = timer(registry, backend, "find_by_url");
+        this.findAllByUrl = timer(registry, backend, "find_all_by_url");
+        this.save = timer(registry, backend, "save");
+        this.saveAll = timer(registry, backend, "save_all");
+        this.saveAlias = timer(registry, backend, "save_alias");
+        this.delete = timer(registry, backend, "delete");
+        this.deleteAll = timer(registry, backend, "delete_all");
+        this.deleteExpiredByUrl = timer(registry, backend, "delete_expired_by_url");
+    }
+
+    @Override
+    public Optional<ShortLink> findByCode(String shortCode) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findByCode(shortCode);
+        } finally {
+            record(findByCode, start);
+        }
+    }
+
+    @Override
+    public List<ShortLink> findAllByCode(Collection<String> shortCodes) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findAllByCode(shortCodes);
+        } finally {
+            record(findAllByCode, start);
+        }
+    }
+
+    @Override
+    public Optional<ShortLink> findByUrl(String originalUrl) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findByUrl(originalUrl);
+        } finally {
+            record(findByUrl, start);
+        }
+    }
+
+    @Override
+    public Map<String, ShortLink> findAllByUrl(Collection<String> originalUrls) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findAllByUrl(originalUrls);
+        } finally {
+            record(findAllByUrl, start);
+        }
+    }
+
+    @Override
+    public void save(ShortLink link) {
+        long start = System.nanoTime();
+        try {
+            delegate.save(link);
+        } finally {
+            record(save, start);
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<ShortLink> links) {
+        long start = System.nanoTime();
+        try {
+            delegate.saveAll(links);
+        } finally {
+            record(saveAll, start);
+        }
+    }
+
+    @Override
+    public void saveAlias(ShortLink link) {
+        long start = System.nanoTime();
+        try {
+            delegate.saveAlias(link);
+        } finally {
+            record(saveAlias, start);
+        }
+    }
+
+    @Override
+    public void delete(ShortLink link) {
+        long start = System.nanoTime();
+        try {
+            delegate.delete(link);
+        } finally {
+            record(delete, start);
+        }
+    }
+
+    @Override
+    public void deleteAll(Collection<ShortLink> links) {
+        long start = System.nanoTime();
+        try {
+            delegate.deleteAll(links);
+        } finally {
+            record(deleteAll, start);
+        }
+    }
+
+    @Override
+    public int deleteExpiredByUrl(String originalUrl) {
+        long start = System.nanoTime();
+        try {
+            return delegate.deleteExpiredByUrl(originalUrl);
+        } finally {
+            record(deleteExpiredByUrl, start);
+        }
+    }
+
+    private static void record(Timer timer, long startNanos) {
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer timer(MeterRegistry registry, String backend, String operation) {
+        return LinkMetrics.timer(registry, "links.store", "Time spent in the link store",
+                "backend", backend, "operation", operation);
+    }
+}
@@ -0,0 +1,33 @@
+package com.task.linkconverter.metrics;
+
+import com.task.linkconverter.interfaces.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times {@link RateLimiter#tryAcquire()} on the global limiter as {@code ratelimit.acquire},
+ * tagged with the limiter mode and whether the permit was granted.
+ */
+public class TimedRateLimiter implements RateLimiter {
+    private final RateLimiter delegate;
+    private final Timer allowed;
+    private final Timer rejected;
+
+    public TimedRateLimiter(RateLimiter delegate, MeterRegistry registry, String mode) {
+        this.delegate = delegate;
+        this.allowed = LinkMetrics.timer(registry, "ratelimit.acquire", "Time to acquire a global rate limit permit",
+                "mode", mode, "result", "allowed");
+        this.rejected = LinkMetrics.timer(registry, "ratelimit.acquire", "Time to acquire a global rate limit permit",
+                "mode", mode, "result", "rejected");
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        long start = System.nanoTime();
+        boolean acquired = delegate.tryAcquire();
+        (acquired ? allowed : rejected).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return acquired;
+    }
+}
@@ -0,0 +1,21 @@
+package com.task.linkconverter.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Value;
+
+@Value
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchShortenResult {
+    int index;
+    String originalUrl;
+    String shortLink;
+    Status status;
+    String error;
+
+    public enum Status {
+        CREATED,
+        EXISTING,
+        INVALID,
+        ERROR
+    }
+}
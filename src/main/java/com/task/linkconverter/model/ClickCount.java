@@ -0,0 +1,16 @@
+package com.task.linkconverter.model;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Clicks on one short code within one minute, from one referrer host ({@code ""} for none).
+ */
+@Value
+public class ClickCount {
+    String shortLink;
+    Instant minute;
+    String referrer;
+    long clicks;
+}
@@ -0,0 +1,20 @@
+package com.task.linkconverter.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CodeSequence {
+    @Id
+    private String sequenceName;
+
+    @Column(nullable = false)
+    private Long nextValue;
+}
@@ -0,0 +1,18 @@
+package com.task.linkconverter.model;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class LinkImportResult {
+    long read;
+    long created;
+    long updated;
+    // codes that already had a live link and were left alone
+    long skipped;
+    long expired;
+    long invalid;
+    // the first few invalid or failed lines, as "line N: reason"
+    List<String> errors;
+}
@@ -0,0 +1,34 @@
+package com.task.linkconverter.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * One line of a link export or import.
+ */
+@Value
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LinkRecord {
+    String code;
+    String url;
+    Instant createdAt;
+    Instant expiresAt;
+    Integer redirectStatus;
+
+    @JsonCreator
+    public LinkRecord(@JsonProperty("code") String code,
+                      @JsonProperty("url") String url,
+                      @JsonProperty("createdAt") Instant createdAt,
+                      @JsonProperty("expiresAt") Instant expiresAt,
+                      @JsonProperty("redirectStatus") Integer redirectStatus) {
+        this.code = code;
+        this.url = url;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+        this.redirectStatus = redirectStatus;
+    }
+}
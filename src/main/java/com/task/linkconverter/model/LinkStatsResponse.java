@@ -0,0 +1,21 @@
+package com.task.linkconverter.model;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Value
+public class LinkStatsResponse {
+    String shortLink;
+    long totalClicks;
+    Map<String, Long> referrers;
+    List<Bucket> timeline;
+
+    @Value
+    public static class Bucket {
+        Instant minute;
+        long clicks;
+    }
+}
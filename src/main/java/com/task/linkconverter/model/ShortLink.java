@@ -1,22 +1,36 @@
 package com.task.linkconverter.model;
 
+import com.task.linkconverter.service.UrlFingerprint;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Duration;
 import java.time.Instant;
 
 @Entity
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+// One row per fingerprint, so nodes racing to shorten the same URL cannot both insert; the
+// fingerprint is unique rather than the URL itself, which is too long for an index key
+@Table(uniqueConstraints = {
+        @UniqueConstraint(name = "uk_short_link_url_hash", columnNames = "url_hash")
+}, indexes = {
+        @Index(name = "idx_short_link_expires_at", columnList = "expires_at")
+})
 public class ShortLink {
+    // Lifetime of links created without a TTL, and of rows written before expires_at existed
+    public static final Duration TTL = Duration.ofMinutes(10);
+    public static final Duration MAX_TTL = Duration.ofDays(365);
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "short_link_seq")
+    @SequenceGenerator(name = "short_link_seq", sequenceName = "short_link_seq", allocationSize = 50)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false, length = 2048)
     private String originalUrl;
 
     @Column(nullable = false, unique = true)
@@ -24,4 +38,27 @@ public class ShortLink {
 
     @Column(nullable = false)
     private Instant createdAt;
+
+    // Nullable until UrlHashBackfill has processed rows created before the column existed
+    @Column(name = "url_hash")
+    private Long urlHash;
+
+    // 301, 302, 307 or 308; null falls back to app.redirect.default-status
+    private Integer redirectStatus;
+
+    // Null for rows written before the column existed; those expire TTL after createdAt
+    @Column(name = "expires_at")
+    private Instant expiresAt;
+
+    public ShortLink(Long id, String originalUrl, String shortLink, Instant createdAt) {
+        this(id, originalUrl, shortLink, createdAt, UrlFingerprint.of(originalUrl), null, createdAt.plus(TTL));
+    }
+
+    public Instant expiresAt() {
+        return expiresAt != null ? expiresAt : createdAt.plus(TTL);
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt().isBefore(now);
+    }
 }
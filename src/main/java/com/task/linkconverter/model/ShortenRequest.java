@@ -1,22 +1,53 @@
 package com.task.linkconverter.model;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.task.linkconverter.validation.ValidUrl;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
 import lombok.Value;
 
+import java.time.Duration;
+import java.util.Set;
+
 @Value
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ShortenRequest {
+    private static final Set<Integer> REDIRECT_TYPES = Set.of(301, 302, 307, 308);
+
     @NotBlank(message = "URL cannot be empty")
-    @Pattern(
-            regexp = "^https://www\\.[a-zA-Z0-9-]+\\.[a-zA-Z]{2,5}(?:/[a-zA-Z0-9-._~!$&'()*+,;=:@/?%]*)?$",
-            message = "URL must be in format: https://www.[domain].[2-5 letter TLD]/[optional path]"
-    )
+    @ValidUrl
     String originalUrl;
 
+    Integer redirectType;
+
+    // ISO-8601 duration or seconds; null uses the default link lifetime
+    Duration ttl;
+
+    public ShortenRequest(String originalUrl) {
+        this(originalUrl, null, null);
+    }
+
     @JsonCreator
-    public ShortenRequest(@JsonProperty("originalUrl") String originalUrl) {
+    public ShortenRequest(@JsonProperty("originalUrl") String originalUrl,
+                          @JsonProperty("redirectType") Integer redirectType,
+                          @JsonProperty("ttl") Duration ttl) {
         this.originalUrl = originalUrl;
+        this.redirectType = redirectType;
+        this.ttl = ttl;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Redirect type must be one of 301, 302, 307, 308")
+    public boolean isRedirectTypeSupported() {
+        return redirectType == null || REDIRECT_TYPES.contains(redirectType);
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "TTL must be positive and at most 365 days")
+    public boolean isTtlSupported() {
+        return ttl == null || (ttl.isPositive() && ttl.compareTo(ShortLink.MAX_TTL) <= 0);
     }
-}
\ No newline at end of file
+}
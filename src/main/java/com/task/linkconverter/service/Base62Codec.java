@@ -0,0 +1,72 @@
+package com.task.linkconverter.service;
+
+import java.nio.charset.StandardCharsets;
+
+public final class Base62Codec {
+    private static final byte[] ALPHABET =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".getBytes(StandardCharsets.US_ASCII);
+    private static final int MAX_LENGTH = 11;
+    private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[MAX_LENGTH]);
+
+    private Base62Codec() {
+    }
+
+    public static String encode(long value, int minLength) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Cannot encode negative value: " + value);
+        }
+        byte[] buffer = BUFFER.get();
+        int position = MAX_LENGTH;
+        do {
+            buffer[--position] = ALPHABET[(int) (value % 62)];
+            value /= 62;
+        } while (value > 0);
+        int start = MAX_LENGTH - Math.min(Math.max(minLength, MAX_LENGTH - position), MAX_LENGTH);
+        while (position > start) {
+            buffer[--position] = ALPHABET[0];
+        }
+        return new String(buffer, position, MAX_LENGTH - position, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Value of a base62 string, or -1 if it contains another character or does not fit a long.
+     */
+    public static long decode(String code) {
+        if (code.isEmpty()) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = 0; i < code.length(); i++) {
+            int digit = digit(code.charAt(i));
+            if (digit < 0) {
+                return -1;
+            }
+            try {
+                value = Math.addExact(Math.multiplyExact(value, 62), digit);
+            } catch (ArithmeticException e) {
+                return -1;
+            }
+        }
+        return value;
+    }
+
+    public static char symbol(int digit) {
+        return (char) ALPHABET[digit];
+    }
+
+    /**
+     * Value of a single base62 character, or -1 if it is not one.
+     */
+    public static int digit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A' + 10;
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 36;
+        }
+        return -1;
+    }
+}
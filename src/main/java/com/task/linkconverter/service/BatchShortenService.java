@@ -0,0 +1,252 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.cache.CachedLink;
+import com.task.linkconverter.cache.LinkCache;
+import com.task.linkconverter.config.AppConfig;
+import com.task.linkconverter.config.BatchProperties;
+import com.task.linkconverter.exceptions.RateLimitExceededException;
+import com.task.linkconverter.interfaces.LinkFilter;
+import com.task.linkconverter.interfaces.LinkStore;
+import com.task.linkconverter.interfaces.LinkWriter;
+import com.task.linkconverter.interfaces.ShortCodeGenerator;
+import com.task.linkconverter.model.BatchShortenResult;
+import com.task.linkconverter.model.BatchShortenResult.Status;
+import com.task.linkconverter.model.ShortLink;
+import com.task.linkconverter.model.ShortenRequest;
+import com.task.linkconverter.validation.UrlSyntax;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Shortens a stream of URLs chunk by chunk: each chunk costs one global rate-limit permit, one
+ * batched lookup of existing URLs and one batched write through the {@link LinkWriter}, and its
+ * results are handed to the sink before the next chunk is read. Links still pending in the
+ * writer count as existing; a write that conflicts with a link created meanwhile, by a single
+ * shorten or another node, falls back to {@link ShortLinkService#findOrCreate} per URL.
+ */
+@Slf4j
+@Service
+public class BatchShortenService {
+    private static final String RATE_LIMITED = "Global rate limit exceeded";
+
+    private final ShortLinkService shortLinkService;
+    private final LinkStore linkStore;
+    private final LinkWriter linkWriter;
+    private final ShortCodeGenerator codeGenerator;
+    private final LinkFilter linkFilter;
+    private final LinkCache linkCache;
+    private final Validator validator;
+    private final AppConfig appConfig;
+    private final BatchProperties properties;
+
+    public BatchShortenService(ShortLinkService shortLinkService,
+                               LinkStore linkStore,
+                               LinkWriter linkWriter,
+                               ShortCodeGenerator codeGenerator,
+                               LinkFilter linkFilter,
+                               LinkCache linkCache,
+                               Validator validator,
+                               AppConfig appConfig,
+                               BatchProperties properties) {
+        this.shortLinkService = shortLinkService;
+        this.linkStore = linkStore;
+        this.linkWriter = linkWriter;
+        this.codeGenerator = codeGenerator;
+        this.linkFilter = linkFilter;
+        this.linkCache = linkCache;
+        this.validator = validator;
+        this.appConfig = appConfig;
+        this.properties = properties;
+    }
+
+    public void shorten(Iterator<ShortenRequest> requests, Consumer<List<BatchShortenResult>> sink) {
+        List<ShortenRequest> chunk = new ArrayList<>(properties.getChunkSize());
+        int offset = 0;
+        String stopReason = null;
+        while (requests.hasNext()) {
+            if (offset + chunk.size() >= properties.getMaxItems()) {
+                stopReason = "Batch exceeds " + properties.getMaxItems() + " items";
+                break;
+            }
+            chunk.add(requests.next());
+            if (chunk.size() == properties.getChunkSize()) {
+                if (!acquirePermit(offset)) {
+                    stopReason = RATE_LIMITED;
+                    break;
+                }
+                sink.accept(processChunk(chunk, offset));
+                offset += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty() && !RATE_LIMITED.equals(stopReason)) {
+            if (acquirePermit(offset)) {
+                sink.accept(processChunk(chunk, offset));
+                offset += chunk.size();
+            } else {
+                stopReason = RATE_LIMITED;
+            }
+        }
+        if (stopReason != null) {
+            sink.accept(List.of(new BatchShortenResult(offset, null, null, Status.ERROR, stopReason)));
+        }
+    }
+
+    /**
+     * Charges one global permit per chunk. A refused first chunk fails the whole batch with a
+     * 429; once results have been streamed, a refusal ends the batch with an error result instead.
+     */
+    private boolean acquirePermit(int offset) {
+        try {
+            shortLinkService.checkGlobalRateLimit();
+            return true;
+        } catch (RateLimitExceededException e) {
+            if (offset == 0) {
+                throw e;
+            }
+            return false;
+        }
+    }
+
+    private List<BatchShortenResult> processChunk(List<ShortenRequest> chunk, int offset) {
+        BatchShortenResult[] results = new BatchShortenResult[chunk.size()];
+        Map<String, List<Integer>> positions = new LinkedHashMap<>();
+        Map<String, ShortenRequest> firstRequests = new HashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            ShortenRequest request = chunk.get(i);
+            Set<ConstraintViolation<ShortenRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                results[i] = new BatchShortenResult(offset + i, request.getOriginalUrl(), null, Status.INVALID,
+                        violations.iterator().next().getMessage());
+                continue;
+            }
+            if (appConfig.isNormalizeUrls()) {
+                String normalized = UrlSyntax.normalize(request.getOriginalUrl());
+                if (!normalized.equals(request.getOriginalUrl())) {
+                    request = new ShortenRequest(normalized, request.getRedirectType(), request.getTtl());
+                }
+            }
+            positions.computeIfAbsent(request.getOriginalUrl(), url -> new ArrayList<>()).add(i);
+            firstRequests.putIfAbsent(request.getOriginalUrl(), request);
+        }
+
+        Map<String, String> existing = findExisting(positions.keySet());
+
+        Map<String, String> created = new HashMap<>();
+        Map<String, String> failed = new HashMap<>();
+        List<ShortLink> toCreate = newLinks(firstRequests, existing, failed);
+        toCreate.forEach(linkFilter::add);
+        try {
+            linkWriter.writeAll(toCreate);
+            for (ShortLink link : toCreate) {
+                created.put(link.getOriginalUrl(), link.getShortLink());
+                linkCache.put(link.getShortLink(), CachedLink.of(link));
+            }
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Batched write of {} links conflicted, falling back to single writes", toCreate.size());
+            for (ShortLink link : toCreate) {
+                resolveSingly(firstRequests.get(link.getOriginalUrl()), existing, failed);
+            }
+        }
+
+        for (Map.Entry<String, List<Integer>> entry : positions.entrySet()) {
+            String url = entry.getKey();
+            for (int i : entry.getValue()) {
+                results[i] = result(offset + i, url, existing, created, failed);
+            }
+        }
+        return List.of(results);
+    }
+
+    private Map<String, String> findExisting(Set<String> urls) {
+        Map<String, String> existing = new HashMap<>();
+        Instant now = Instant.now();
+        for (String url : urls) {
+            linkWriter.pendingByUrl(url)
+                    .filter(pending -> !pending.isExpired(now))
+                    .ifPresent(pending -> existing.put(url, pending.getShortLink()));
+        }
+        List<String> candidates = urls.stream()
+                .filter(url -> !existing.containsKey(url) && linkFilter.mightContainUrl(url))
+                .toList();
+        if (!candidates.isEmpty()) {
+            linkStore.findAllByUrl(candidates).forEach((url, link) -> existing.put(url, link.getShortLink()));
+        }
+        return existing;
+    }
+
+    private List<ShortLink> newLinks(Map<String, ShortenRequest> requests,
+                                     Map<String, String> existing, Map<String, String> failed) {
+        Map<String, ShortLink> byCode = new LinkedHashMap<>();
+        Instant now = Instant.now();
+        for (ShortenRequest request : requests.values()) {
+            String url = request.getOriginalUrl();
+            if (existing.containsKey(url)) {
+                continue;
+            }
+            String shortCode = codeGenerator.generate(url);
+            if (byCode.containsKey(shortCode)) {
+                failed.put(url, "Short code collision detected");
+                continue;
+            }
+            Duration ttl = request.getTtl() != null ? request.getTtl() : ShortLink.TTL;
+            byCode.put(shortCode, new ShortLink(null, url, shortCode, now, UrlFingerprint.of(url),
+                    request.getRedirectType(), now.plus(ttl)));
+        }
+        List<String> candidates = codeGenerator.isCollisionFree() ? List.of()
+                : byCode.keySet().stream().filter(linkFilter::mightContainCode).toList();
+        if (!candidates.isEmpty()) {
+            List<ShortLink> expired = new ArrayList<>();
+            for (ShortLink taken : linkStore.findAllByCode(candidates)) {
+                if (taken.isExpired(now)) {
+                    expired.add(taken);
+                } else {
+                    failed.put(byCode.remove(taken.getShortLink()).getOriginalUrl(), "Short code collision detected");
+                }
+            }
+            // codes of expired links are free again
+            if (!expired.isEmpty()) {
+                linkStore.deleteAll(expired);
+            }
+        }
+        return new ArrayList<>(byCode.values());
+    }
+
+    private void resolveSingly(ShortenRequest request, Map<String, String> existing, Map<String, String> failed) {
+        String url = request.getOriginalUrl();
+        try {
+            existing.put(url, shortLinkService.findOrCreate(url, request.getRedirectType(), request.getTtl()));
+        } catch (RuntimeException e) {
+            failed.put(url, e.getMessage());
+        }
+    }
+
+    private BatchShortenResult result(int index, String url, Map<String, String> existing,
+                                      Map<String, String> created, Map<String, String> failed) {
+        if (created.containsKey(url)) {
+            return new BatchShortenResult(index, url, fullUrl(created.get(url)), Status.CREATED, null);
+        }
+        if (existing.containsKey(url)) {
+            return new BatchShortenResult(index, url, fullUrl(existing.get(url)), Status.EXISTING, null);
+        }
+        return new BatchShortenResult(index, url, null, Status.ERROR, failed.getOrDefault(url, "Not processed"));
+    }
+
+    private String fullUrl(String shortCode) {
+        return appConfig.getBaseUrl() + "/" + shortCode;
+    }
+}
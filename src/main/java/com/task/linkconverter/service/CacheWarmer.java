@@ -0,0 +1,209 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.cache.CachedLink;
+import com.task.linkconverter.cache.HotSetTracker;
+import com.task.linkconverter.cache.LinkCache;
+import com.task.linkconverter.config.CacheProperties;
+import com.task.linkconverter.interfaces.LinkStore;
+import com.task.linkconverter.model.ShortLink;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the hottest short codes in a local file and loads them into the local cache on the
+ * next start. The snapshot is rewritten every {@code snapshot-interval} and on shutdown, hottest
+ * first; codes from the previous snapshot fill whatever room recent traffic leaves, so a quiet
+ * period after a restart does not throw the hot set away.
+ * <p>
+ * Warm-up runs as an {@link ApplicationRunner}, so Spring Boot reports the instance ready only
+ * once it is done or {@code timeout} has passed. Chunks of codes are looked up in parallel,
+ * each with one batched store lookup.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.cache.warmup", name = "enabled", havingValue = "true")
+public class CacheWarmer implements ApplicationRunner {
+    private static final int CHUNK_SIZE = 500;
+
+    private final HotSetTracker tracker;
+    private final LinkStore linkStore;
+    private final LinkCache linkCache;
+    private final CacheProperties.Warmup properties;
+    private final AtomicInteger processed = new AtomicInteger();
+    private final AtomicInteger cached = new AtomicInteger();
+    private volatile int total;
+    private volatile State state = State.PENDING;
+    // the codes warmed from the last snapshot, or last written to it
+    private volatile List<String> previous = List.of();
+
+    public enum State {
+        PENDING,
+        WARMING,
+        WARM,
+        TIMED_OUT,
+        FAILED
+    }
+
+    public CacheWarmer(HotSetTracker tracker, LinkStore linkStore, LinkCache linkCache, CacheProperties properties) {
+        this.tracker = tracker;
+        this.linkStore = linkStore;
+        this.linkCache = linkCache;
+        this.properties = properties.getWarmup();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+    }
+
+    public void warmUp() {
+        Path file = Path.of(properties.getFile());
+        if (!Files.exists(file)) {
+            log.info("No hot-set snapshot at {}, starting with a cold cache", file);
+            state = State.WARM;
+            return;
+        }
+        List<String> codes;
+        try {
+            codes = Files.readAllLines(file, StandardCharsets.UTF_8).stream()
+                    .map(String::trim)
+                    .filter(code -> !code.isEmpty())
+                    .distinct()
+                    .limit(properties.getSize())
+                    .toList();
+        } catch (IOException e) {
+            log.warn("Could not read hot-set snapshot {}, starting with a cold cache: {}", file, e.getMessage());
+            state = State.FAILED;
+            return;
+        }
+        total = codes.size();
+        state = State.WARMING;
+        long start = System.nanoTime();
+        Set<String> warmed = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(properties.getParallelism(), 1), runnable -> {
+            Thread thread = new Thread(runnable, "cache-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<?>> chunks = new ArrayList<>();
+        for (int from = 0; from < codes.size(); from += CHUNK_SIZE) {
+            List<String> chunk = codes.subList(from, Math.min(from + CHUNK_SIZE, codes.size()));
+            chunks.add(pool.submit(() -> load(chunk, warmed)));
+        }
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                pool.shutdownNow();
+                state = State.TIMED_OUT;
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+            state = State.TIMED_OUT;
+        }
+        long failed = chunks.stream().filter(chunk -> chunk.isDone() && !chunk.isCancelled() && failed(chunk)).count();
+        previous = codes.stream().filter(warmed::contains).toList();
+        if (state == State.WARMING) {
+            state = State.WARM;
+        }
+        log.info("Cache warm-up {}: {} of {} snapshot codes cached in {} ms, {} chunks failed",
+                state == State.WARM ? "done" : "timed out", cached.get(), total,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), failed);
+    }
+
+    @Scheduled(fixedDelayString = "#{@cacheProperties.warmup.snapshotInterval.toMillis()}",
+            initialDelayString = "#{@cacheProperties.warmup.snapshotInterval.toMillis()}")
+    public void snapshot() {
+        writeSnapshot();
+        tracker.decay();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writeSnapshot();
+    }
+
+    public State state() {
+        return state;
+    }
+
+    public int processed() {
+        return processed.get();
+    }
+
+    public int cached() {
+        return cached.get();
+    }
+
+    public int total() {
+        return total;
+    }
+
+    synchronized void writeSnapshot() {
+        Set<String> codes = new LinkedHashSet<>(tracker.top(properties.getSize()));
+        for (String code : previous) {
+            if (codes.size() >= properties.getSize()) {
+                break;
+            }
+            codes.add(code);
+        }
+        if (codes.isEmpty()) {
+            return;
+        }
+        Path file = Path.of(properties.getFile());
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            Files.write(temporary, codes, StandardCharsets.UTF_8);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            previous = List.copyOf(codes);
+        } catch (IOException e) {
+            log.warn("Could not write hot-set snapshot {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void load(List<String> codes, Set<String> warmed) {
+        Instant now = Instant.now();
+        for (ShortLink link : linkStore.findAllByCode(codes)) {
+            if (!link.isExpired(now)) {
+                linkCache.putLocal(link.getShortLink(), CachedLink.of(link));
+                warmed.add(link.getShortLink());
+                cached.incrementAndGet();
+            }
+        }
+        processed.addAndGet(codes.size());
+    }
+
+    private static boolean failed(Future<?> chunk) {
+        try {
+            chunk.get();
+            return false;
+        } catch (Exception e) {
+            log.debug("Cache warm-up chunk failed: {}", e.getMessage());
+            return true;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.config.AnalyticsProperties;
+import com.task.linkconverter.interfaces.ClickStatsStore;
+import com.task.linkconverter.model.ClickCount;
+import com.task.linkconverter.model.LinkStatsResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Collects redirect clicks off the request path. Request threads claim a slot in a bounded
+ * multi-producer ring with a CAS and never block: when the ring is full the click is dropped
+ * and counted. A scheduled flush drains the ring, aggregates clicks per code, minute and
+ * referrer host, and writes the aggregates to the {@link ClickStatsStore} in one batch.
+ * Aggregates that fail to write are kept for the next flush, up to the ring size.
+ */
+@Slf4j
+@Service
+public class ClickRecorder {
+    private final ClickStatsStore store;
+    private final AnalyticsProperties properties;
+    private final Clock clock;
+    private final AtomicReferenceArray<ClickEvent> slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    // advanced only by the flushing thread
+    private volatile long tail;
+    private final LongAdder dropped = new LongAdder();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private Map<BucketKey, Long> pending = new HashMap<>();
+    private long droppedReported;
+
+    @Autowired
+    public ClickRecorder(ClickStatsStore store, AnalyticsProperties properties) {
+        this(store, properties, Clock.systemUTC());
+    }
+
+    public ClickRecorder(ClickStatsStore store, AnalyticsProperties properties, Clock clock) {
+        this.store = store;
+        this.properties = properties;
+        this.clock = clock;
+        int capacity = Integer.highestOneBit(Math.max(properties.getBufferSize(), 2) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Queues a click; returns {@code false} if analytics is disabled or the click was dropped.
+     */
+    public boolean record(String shortCode, String referer) {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+        long minute = clock.millis() / 60_000;
+        long claimed;
+        do {
+            claimed = head.get();
+            if (claimed - tail > mask) {
+                dropped.increment();
+                return false;
+            }
+        } while (!head.compareAndSet(claimed, claimed + 1));
+        slots.setRelease((int) claimed & mask, new ClickEvent(shortCode, minute, referer));
+        return true;
+    }
+
+    public long droppedClicks() {
+        return dropped.sum();
+    }
+
+    @Scheduled(fixedDelayString = "#{@analyticsProperties.flushInterval.toMillis()}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            drain();
+            if (!pending.isEmpty()) {
+                write();
+            }
+            long droppedTotal = dropped.sum();
+            if (droppedTotal > droppedReported) {
+                log.warn("Click buffer full, dropped {} clicks since last flush", droppedTotal - droppedReported);
+                droppedReported = droppedTotal;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+
+    public LinkStatsResponse stats(String shortCode) {
+        long total = 0;
+        Map<String, Long> referrers = new HashMap<>();
+        Map<Instant, Long> timeline = new TreeMap<>();
+        for (ClickCount count : store.find(shortCode)) {
+            total += count.getClicks();
+            if (!count.getReferrer().isEmpty()) {
+                referrers.merge(count.getReferrer(), count.getClicks(), Long::sum);
+            }
+            timeline.merge(count.getMinute(), count.getClicks(), Long::sum);
+        }
+        Map<String, Long> topReferrers = new LinkedHashMap<>();
+        referrers.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(entry -> topReferrers.put(entry.getKey(), entry.getValue()));
+        List<LinkStatsResponse.Bucket> buckets = new ArrayList<>(timeline.size());
+        timeline.forEach((minute, clicks) -> buckets.add(new LinkStatsResponse.Bucket(minute, clicks)));
+        return new LinkStatsResponse(shortCode, total, topReferrers, buckets);
+    }
+
+    private void drain() {
+        long position = tail;
+        for (int i = 0; i <= mask; i++) {
+            int index = (int) position & mask;
+            ClickEvent event = slots.getAcquire(index);
+            if (event == null) {
+                break;
+            }
+            slots.set(index, null);
+            tail = ++position;
+            BucketKey key = new BucketKey(event.getShortCode(), event.getMinute(), referrerHost(event.getReferer()));
+            if (pending.size() <= mask || pending.containsKey(key)) {
+                pending.merge(key, 1L, Long::sum);
+            } else {
+                dropped.increment();
+            }
+        }
+    }
+
+    private void write() {
+        List<ClickCount> counts = new ArrayList<>(pending.size());
+        pending.forEach((key, clicks) -> counts.add(new ClickCount(
+                key.getShortCode(), Instant.ofEpochSecond(key.getMinute() * 60), key.getReferrer(), clicks)));
+        try {
+            store.add(counts);
+            pending = new HashMap<>();
+        } catch (RuntimeException e) {
+            log.warn("Failed to write {} click aggregates, retrying on next flush: {}", counts.size(), e.getMessage());
+        }
+    }
+
+    static String referrerHost(String referer) {
+        if (referer == null || referer.isEmpty()) {
+            return "";
+        }
+        try {
+            String host = URI.create(referer).getHost();
+            return host == null ? "" : host.toLowerCase(Locale.ROOT);
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    @Value
+    private static class ClickEvent {
+        String shortCode;
+        long minute;
+        String referer;
+    }
+
+    @Value
+    private static class BucketKey {
+        String shortCode;
+        long minute;
+        String referrer;
+    }
+}
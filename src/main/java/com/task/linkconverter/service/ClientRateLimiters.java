@@ -0,0 +1,71 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.config.RateLimitProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One {@link GcraRateLimiter} per configured policy. Policies are checked when the application
+ * starts, and each limiter's counts are exported as {@code links.client_rate_limit} by policy
+ * and outcome.
+ */
+@Component
+public class ClientRateLimiters {
+    private static final String PREFIX = "app.rate-limit.client.policies.";
+
+    private final List<GcraRateLimiter> limiters = new ArrayList<>();
+
+    public ClientRateLimiters(RateLimitProperties properties, MeterRegistry registry) {
+        RateLimitProperties.Client client = properties.getClient();
+        if (!client.isEnabled()) {
+            return;
+        }
+        for (Map.Entry<String, RateLimitProperties.Policy> entry : client.getPolicies().entrySet()) {
+            RateLimitProperties.Policy policy = entry.getValue();
+            validate(entry.getKey(), policy);
+            GcraRateLimiter limiter = new GcraRateLimiter(entry.getKey(), policy.getRate(), policy.getPeriod(),
+                    policy.getBurst(), client.getMaxClients());
+            register(registry, limiter);
+            limiters.add(limiter);
+        }
+    }
+
+    public List<GcraRateLimiter> getLimiters() {
+        return limiters;
+    }
+
+    private static void validate(String name, RateLimitProperties.Policy policy) {
+        if (policy.getRate() <= 0) {
+            throw new IllegalStateException(PREFIX + name + ".rate must be positive, got " + policy.getRate());
+        }
+        if (policy.getBurst() < 1) {
+            throw new IllegalStateException(PREFIX + name + ".burst must be at least 1, got " + policy.getBurst());
+        }
+        if (policy.getPeriod() == null || policy.getPeriod().toNanos() < policy.getRate()) {
+            // shorter than one nanosecond per request would truncate the emission interval to 0
+            throw new IllegalStateException(PREFIX + name + ".period must be positive and at least "
+                    + policy.getRate() + "ns, got " + policy.getPeriod());
+        }
+    }
+
+    private static void register(MeterRegistry registry, GcraRateLimiter limiter) {
+        FunctionCounter.builder("links.client_rate_limit", limiter, GcraRateLimiter::allowedCount)
+                .description("Requests checked by a per-client rate limit policy")
+                .tags("policy", limiter.getName(), "outcome", "allowed")
+                .register(registry);
+        FunctionCounter.builder("links.client_rate_limit", limiter, GcraRateLimiter::rejectedCount)
+                .description("Requests checked by a per-client rate limit policy")
+                .tags("policy", limiter.getName(), "outcome", "rejected")
+                .register(registry);
+        Gauge.builder("links.client_rate_limit.tracked_keys", limiter, GcraRateLimiter::trackedKeys)
+                .description("Clients a per-client rate limit policy is tracking")
+                .tag("policy", limiter.getName())
+                .register(registry);
+    }
+}
@@ -0,0 +1,99 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.interfaces.IdRangeAllocator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Leases id blocks from the {@code code_sequence} table. The row update takes a row lock, so
+ * concurrent nodes serialize on it only once per block.
+ */
+@Slf4j
+public class DatabaseIdRangeAllocator implements IdRangeAllocator {
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String sequenceName;
+
+    public DatabaseIdRangeAllocator(JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    String sequenceName) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.sequenceName = sequenceName;
+    }
+
+    @Override
+    public long allocate(int size) {
+        while (true) {
+            try {
+                Long start = transactionTemplate.execute(status -> reserve(size));
+                if (start != null) {
+                    return start;
+                }
+            } catch (DuplicateKeyException e) {
+                log.debug("Sequence {} initialized concurrently, retrying", sequenceName);
+            }
+        }
+    }
+
+    @Override
+    public long reserveThrough(long id) {
+        while (true) {
+            try {
+                Long next = transactionTemplate.execute(status -> advance(id + 1));
+                if (next != null) {
+                    return next;
+                }
+            } catch (DuplicateKeyException e) {
+                log.debug("Sequence {} initialized concurrently, retrying", sequenceName);
+            }
+        }
+    }
+
+    @Override
+    public long next() {
+        List<Long> next = jdbcTemplate.queryForList(
+                "SELECT next_value FROM code_sequence WHERE sequence_name = ?", Long.class, sequenceName);
+        return next.isEmpty() ? 0 : next.get(0);
+    }
+
+    private long advance(long target) {
+        List<Long> current = jdbcTemplate.queryForList(
+                "SELECT next_value FROM code_sequence WHERE sequence_name = ? FOR UPDATE",
+                Long.class, sequenceName);
+        if (current.isEmpty()) {
+            jdbcTemplate.update(
+                    "INSERT INTO code_sequence (sequence_name, next_value) VALUES (?, ?)",
+                    sequenceName, target);
+            return 0;
+        }
+        long next = current.get(0);
+        if (next < target) {
+            jdbcTemplate.update("UPDATE code_sequence SET next_value = ? WHERE sequence_name = ?", target, sequenceName);
+        }
+        return next;
+    }
+
+    private long reserve(int size) {
+        int updated = jdbcTemplate.update(
+                "UPDATE code_sequence SET next_value = next_value + ? WHERE sequence_name = ?",
+                size, sequenceName);
+        if (updated == 0) {
+            jdbcTemplate.update(
+                    "INSERT INTO code_sequence (sequence_name, next_value) VALUES (?, ?)",
+                    sequenceName, (long) size);
+            return 0;
+        }
+        Long next = jdbcTemplate.queryForObject(
+                "SELECT next_value FROM code_sequence WHERE sequence_name = ?",
+                Long.class, sequenceName);
+        return next - size;
+    }
+}
@@ -0,0 +1,34 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.interfaces.LinkStore;
+import com.task.linkconverter.interfaces.LinkWriter;
+import com.task.linkconverter.model.ShortLink;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class DirectLinkWriter implements LinkWriter {
+    private final LinkStore linkStore;
+
+    @Override
+    public void write(ShortLink link) {
+        linkStore.save(link);
+    }
+
+    @Override
+    public void writeAll(Collection<ShortLink> links) {
+        linkStore.saveAll(links);
+    }
+
+    @Override
+    public Optional<ShortLink> pendingByCode(String shortCode) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<ShortLink> pendingByUrl(String originalUrl) {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,73 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.config.ExpiryProperties;
+import com.task.linkconverter.model.ShortLink;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deletes expired links in small batches: each batch selects up to {@code batch-size} ids
+ * through the {@code expires_at} index and deletes them by primary key, so every statement
+ * touches a bounded number of rows and holds its locks only briefly. A run stops after
+ * {@code max-batches-per-run}; the remainder is picked up by the next run. Rows written before
+ * {@code expires_at} existed are swept by their creation time. With sharded storage, every
+ * shard is swept the same way after the primary database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExpiredLinkSweeper {
+    private final JdbcTemplate jdbcTemplate;
+    private final ExpiryProperties properties;
+    private final ObjectProvider<ShardedLinkStore> shardedLinkStore;
+
+    @Scheduled(fixedDelayString = "#{@expiryProperties.sweepInterval.toMillis()}")
+    public void sweep() {
+        if (!properties.isSweepEnabled()) {
+            return;
+        }
+        List<JdbcTemplate> databases = new ArrayList<>();
+        databases.add(jdbcTemplate);
+        ShardedLinkStore sharded = shardedLinkStore.getIfAvailable();
+        if (sharded != null) {
+            sharded.shards().forEach(shard -> databases.add(shard.jdbcTemplate()));
+        }
+        Instant now = Instant.now();
+        int deleted = 0;
+        for (JdbcTemplate database : databases) {
+            deleted += sweep(database, "SELECT id FROM short_link WHERE expires_at < ? ORDER BY expires_at LIMIT ?",
+                    Timestamp.from(now), properties.getMaxBatchesPerRun());
+            deleted += sweep(database, "SELECT id FROM short_link WHERE expires_at IS NULL AND created_at < ? LIMIT ?",
+                    Timestamp.from(now.minus(ShortLink.TTL)), properties.getMaxBatchesPerRun());
+        }
+        if (deleted > 0) {
+            log.info("Swept {} expired links", deleted);
+        }
+    }
+
+    private int sweep(JdbcTemplate database, String selectExpired, Timestamp cutoff, int maxBatches) {
+        int deleted = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<Object[]> ids = database.query(selectExpired,
+                    (rs, rowNum) -> new Object[]{rs.getLong(1)}, cutoff, properties.getBatchSize());
+            if (ids.isEmpty()) {
+                break;
+            }
+            database.batchUpdate("DELETE FROM short_link WHERE id = ?", ids);
+            deleted += ids.size();
+            if (ids.size() < properties.getBatchSize()) {
+                break;
+            }
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,29 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.config.RateLimitProperties;
+import com.task.linkconverter.interfaces.RateLimiter;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+public class FixedWindowRateLimiter implements RateLimiter {
+    private final RedisTemplate<String, Integer> redisTemplate;
+    private final RateLimitProperties properties;
+
+    public FixedWindowRateLimiter(RedisTemplate<String, Integer> redisTemplate, RateLimitProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        String key = properties.getKey();
+        Long currentCount = redisTemplate.opsForValue().increment(key, 1);
+
+        if (currentCount != null && currentCount == 1) {
+            redisTemplate.expire(key, properties.getWindow().toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        return currentCount == null || currentCount <= properties.getLimit();
+    }
+}
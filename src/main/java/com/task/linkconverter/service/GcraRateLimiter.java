@@ -0,0 +1,77 @@
+package com.task.linkconverter.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Generic cell rate algorithm keyed by client. Each key only stores its theoretical arrival
+ * time; keys idle for longer than the burst tolerance are indistinguishable from new ones and
+ * are evicted, and the total number of tracked keys is capped.
+ */
+public class GcraRateLimiter {
+    private final String name;
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+    private final Ticker ticker;
+    private final Cache<String, AtomicLong> arrivals;
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public GcraRateLimiter(String name, int rate, Duration period, int burst, long maxKeys) {
+        this(name, rate, period, burst, maxKeys, Ticker.systemTicker());
+    }
+
+    public GcraRateLimiter(String name, int rate, Duration period, int burst, long maxKeys, Ticker ticker) {
+        this.name = name;
+        this.emissionIntervalNanos = period.toNanos() / rate;
+        this.toleranceNanos = emissionIntervalNanos * (Math.max(burst, 1) - 1);
+        this.ticker = ticker;
+        this.arrivals = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(toleranceNanos + emissionIntervalNanos))
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Returns 0 when the request is allowed, otherwise the nanoseconds until it would be.
+     */
+    public long tryAcquire(String key) {
+        AtomicLong arrival = arrivals.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        long now = ticker.read();
+        while (true) {
+            long stored = arrival.get();
+            long tat = stored == Long.MIN_VALUE ? now : Math.max(stored, now);
+            long allowAt = tat - toleranceNanos;
+            if (now < allowAt) {
+                rejected.increment();
+                return allowAt - now;
+            }
+            if (arrival.compareAndSet(stored, tat + emissionIntervalNanos)) {
+                allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long allowedCount() {
+        return allowed.sum();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public long trackedKeys() {
+        return arrivals.estimatedSize();
+    }
+}
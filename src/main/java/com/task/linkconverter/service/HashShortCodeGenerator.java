@@ -0,0 +1,32 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.interfaces.ShortCodeGenerator;
+import io.seruco.encoding.base62.Base62;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+public class HashShortCodeGenerator implements ShortCodeGenerator {
+    private static final Base62 BASE62 = Base62.createInstance();
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Error generating short code", e);
+        }
+    });
+
+    @Override
+    public String generate(String originalUrl) {
+        byte[] hash = DIGEST.get().digest(originalUrl.getBytes(StandardCharsets.UTF_8));
+        byte[] encoded = BASE62.encode(Arrays.copyOf(hash, 6));
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean isCollisionFree() {
+        return false;
+    }
+}
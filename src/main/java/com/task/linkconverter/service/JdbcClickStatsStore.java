@@ -0,0 +1,96 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.interfaces.ClickStatsStore;
+import com.task.linkconverter.model.ClickCount;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps aggregates in {@code click_stat}: one batched UPDATE adds to existing buckets, and one
+ * batched INSERT creates the rest, both in one transaction. If another node created one of those
+ * buckets first, the whole write is rolled back and retried, so no count is ever applied twice.
+ */
+@Slf4j
+public class JdbcClickStatsStore implements ClickStatsStore {
+    private static final String UPDATE =
+            "UPDATE click_stat SET clicks = clicks + ? WHERE short_link = ? AND bucket_start = ? AND referrer = ?";
+    private static final String INSERT =
+            "INSERT INTO click_stat (short_link, bucket_start, referrer, clicks) VALUES (?, ?, ?, ?)";
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public JdbcClickStatsStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void add(Collection<ClickCount> counts) {
+        if (counts.isEmpty()) {
+            return;
+        }
+        List<ClickCount> batch = new ArrayList<>(counts);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(batch));
+                return;
+            } catch (DuplicateKeyException e) {
+                // the buckets that conflicted exist now and are updated on the next attempt
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Click buckets created concurrently, retrying the write");
+            }
+        }
+    }
+
+    @Override
+    public List<ClickCount> find(String shortLink) {
+        return jdbcTemplate.query(
+                "SELECT bucket_start, referrer, clicks FROM click_stat WHERE short_link = ? ORDER BY bucket_start",
+                (rs, rowNum) -> new ClickCount(shortLink, rs.getTimestamp(1).toInstant(), rs.getString(2),
+                        rs.getLong(3)),
+                shortLink);
+    }
+
+    // returns the counts whose bucket does not exist yet
+    private List<ClickCount> update(List<ClickCount> counts) {
+        int[][] updated = jdbcTemplate.batchUpdate(UPDATE, counts, counts.size(), (ps, count) -> {
+            ps.setLong(1, count.getClicks());
+            ps.setString(2, count.getShortLink());
+            ps.setTimestamp(3, Timestamp.from(count.getMinute()));
+            ps.setString(4, count.getReferrer());
+        });
+        List<ClickCount> missing = new ArrayList<>();
+        int[] rows = updated.length == 0 ? new int[0] : updated[0];
+        for (int i = 0; i < counts.size(); i++) {
+            if (i < rows.length && rows[i] == 0) {
+                missing.add(counts.get(i));
+            }
+        }
+        return missing;
+    }
+
+    private void write(List<ClickCount> counts) {
+        List<ClickCount> missing = update(counts);
+        if (missing.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, missing, missing.size(), (ps, count) -> {
+            ps.setString(1, count.getShortLink());
+            ps.setTimestamp(2, Timestamp.from(count.getMinute()));
+            ps.setString(3, count.getReferrer());
+            ps.setLong(4, count.getClicks());
+        });
+    }
+}
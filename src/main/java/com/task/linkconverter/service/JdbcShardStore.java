@@ -0,0 +1,226 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.interfaces.LinkStore;
+import com.task.linkconverter.model.ShortLink;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * One shard of a {@link ShardedLinkStore}: a {@code short_link} table in its own database,
+ * reached through plain JDBC. The table is created on first use with the same columns and
+ * indexes as the entity, except that ids come from an identity column, so a shard must not
+ * share a database with the JPA-managed table. A URL fingerprint has at most one row; an
+ * {@link #saveAlias alias} is stored without one. Each row also stores its code's
+ * {@link ShardDirectory#slotOf slot}, so moving a slot does not depend on how the database
+ * collates codes.
+ */
+public class JdbcShardStore implements LinkStore {
+    private static final String COLUMNS = "short_link, original_url, created_at, url_hash, redirect_status, expires_at";
+    private static final String INSERT = "INSERT INTO short_link (" + COLUMNS + ", slot) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] TYPES = {
+            Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP, Types.BIGINT, Types.INTEGER, Types.TIMESTAMP, Types.INTEGER};
+    private static final int IN_LIST_SIZE = 500;
+
+    private final int index;
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public JdbcShardStore(int index, DataSource dataSource) {
+        this.index = index;
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    public void createSchema() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS short_link ("
+                + "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "short_link VARCHAR(255) NOT NULL UNIQUE, "
+                + "original_url VARCHAR(2048) NOT NULL, "
+                + "created_at TIMESTAMP NOT NULL, "
+                + "url_hash BIGINT, "
+                + "redirect_status INTEGER, "
+                + "expires_at TIMESTAMP, "
+                + "slot INTEGER)");
+        // shards created before the slot column existed
+        jdbcTemplate.execute("ALTER TABLE short_link ADD COLUMN IF NOT EXISTS slot INTEGER");
+        jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS uk_short_link_url_hash ON short_link (url_hash)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_short_link_expires_at ON short_link (expires_at)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_short_link_slot ON short_link (slot, short_link)");
+        List<Object[]> rows;
+        do {
+            rows = jdbcTemplate.query("SELECT id, short_link FROM short_link WHERE slot IS NULL LIMIT ?",
+                    (rs, rowNum) -> new Object[]{ShardDirectory.slotOf(rs.getString(2)), rs.getLong(1)}, IN_LIST_SIZE);
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate("UPDATE short_link SET slot = ? WHERE id = ?", rows);
+            }
+        } while (!rows.isEmpty());
+    }
+
+    public int index() {
+        return index;
+    }
+
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    public JdbcTemplate jdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    @Override
+    public Optional<ShortLink> findByCode(String shortCode) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM short_link WHERE short_link = ?",
+                JdbcShardStore::mapRow, shortCode).stream().findFirst();
+    }
+
+    @Override
+    public List<ShortLink> findAllByCode(Collection<String> shortCodes) {
+        return queryIn("short_link", new ArrayList<>(new HashSet<>(shortCodes)));
+    }
+
+    @Override
+    public Optional<ShortLink> findByUrl(String originalUrl) {
+        Instant now = Instant.now();
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM short_link WHERE url_hash = ?",
+                        JdbcShardStore::mapRow, UrlFingerprint.of(originalUrl)).stream()
+                .filter(link -> link.getOriginalUrl().equals(originalUrl) && !link.isExpired(now))
+                .findFirst();
+    }
+
+    @Override
+    public Map<String, ShortLink> findAllByUrl(Collection<String> originalUrls) {
+        Map<String, ShortLink> live = new HashMap<>();
+        Set<String> urls = new HashSet<>(originalUrls);
+        if (urls.isEmpty()) {
+            return live;
+        }
+        Set<Long> urlHashes = new HashSet<>();
+        urls.forEach(url -> urlHashes.add(UrlFingerprint.of(url)));
+        Instant now = Instant.now();
+        for (ShortLink link : queryIn("url_hash", new ArrayList<>(urlHashes))) {
+            if (urls.contains(link.getOriginalUrl()) && !link.isExpired(now)) {
+                live.putIfAbsent(link.getOriginalUrl(), link);
+            }
+        }
+        return live;
+    }
+
+    @Override
+    public void save(ShortLink link) {
+        jdbcTemplate.update(INSERT, parameters(link));
+    }
+
+    @Override
+    public void saveAll(Collection<ShortLink> links) {
+        if (links.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = links.stream().map(JdbcShardStore::parameters).toList();
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT, rows, TYPES));
+    }
+
+    @Override
+    public void saveAlias(ShortLink link) {
+        Object[] row = parameters(link);
+        row[3] = null;
+        jdbcTemplate.update(INSERT, row, TYPES);
+    }
+
+    @Override
+    public void delete(ShortLink link) {
+        jdbcTemplate.update("DELETE FROM short_link WHERE short_link = ?", link.getShortLink());
+    }
+
+    @Override
+    public void deleteAll(Collection<ShortLink> links) {
+        jdbcTemplate.batchUpdate("DELETE FROM short_link WHERE short_link = ?",
+                links.stream().map(link -> new Object[]{link.getShortLink()}).toList());
+    }
+
+    @Override
+    public int deleteExpiredByUrl(String originalUrl) {
+        return jdbcTemplate.update("DELETE FROM short_link WHERE url_hash = ? AND expires_at < ?",
+                UrlFingerprint.of(originalUrl), Timestamp.from(Instant.now()));
+    }
+
+    /**
+     * Returns up to {@code limit} links in the slot, ordered by code and starting after
+     * {@code afterCode}, for keyset-paged copies between shards.
+     */
+    public List<ShortLink> findBySlot(int slot, String afterCode, int limit) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM short_link "
+                        + "WHERE slot = ? AND short_link > ? ORDER BY short_link LIMIT ?",
+                JdbcShardStore::mapRow, slot, afterCode, limit);
+    }
+
+    /**
+     * Inserts the links whose code is not on this shard yet, in one transaction, and returns
+     * how many were inserted.
+     */
+    public int saveMissing(List<ShortLink> links) {
+        Set<String> present = new HashSet<>();
+        findAllByCode(links.stream().map(ShortLink::getShortLink).toList())
+                .forEach(link -> present.add(link.getShortLink()));
+        List<ShortLink> missing = links.stream().filter(link -> !present.contains(link.getShortLink())).toList();
+        saveAll(missing);
+        return missing.size();
+    }
+
+    private <T> List<ShortLink> queryIn(String column, List<T> values) {
+        if (values.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<ShortLink> links = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += IN_LIST_SIZE) {
+            List<T> chunk = values.subList(from, Math.min(from + IN_LIST_SIZE, values.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            links.addAll(jdbcTemplate.query("SELECT " + COLUMNS + " FROM short_link WHERE " + column
+                    + " IN (" + placeholders + ")", JdbcShardStore::mapRow, chunk.toArray()));
+        }
+        return links;
+    }
+
+    private static Object[] parameters(ShortLink link) {
+        return new Object[]{
+                link.getShortLink(),
+                link.getOriginalUrl(),
+                Timestamp.from(link.getCreatedAt()),
+                // null only for an alias, which keeps it null when its slot is copied
+                link.getUrlHash(),
+                link.getRedirectStatus(),
+                Timestamp.from(link.expiresAt()),
+                ShardDirectory.slotOf(link.getShortLink())
+        };
+    }
+
+    private static ShortLink mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp expiresAt = rs.getTimestamp("expires_at");
+        long urlHash = rs.getLong("url_hash");
+        Long fingerprint = rs.wasNull() ? null : urlHash;
+        int status = rs.getInt("redirect_status");
+        Integer redirectStatus = rs.wasNull() ? null : status;
+        return new ShortLink(null, rs.getString("original_url"), rs.getString("short_link"),
+                rs.getTimestamp("created_at").toInstant(), fingerprint, redirectStatus,
+                expiresAt == null ? null : expiresAt.toInstant());
+    }
+}
@@ -0,0 +1,128 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.interfaces.LinkStore;
+import com.task.linkconverter.interfaces.ShortLinkRepository;
+import com.task.linkconverter.model.ShortLink;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Relational storage through {@link ShortLinkRepository}. URL lookups go through the
+ * {@code url_hash} fingerprint index, and also consult legacy rows without a fingerprint until
+ * the {@link UrlHashBackfill} has completed. Fingerprints are unique across rows, see
+ * {@link ShortLink}.
+ */
+public class JpaLinkStore implements LinkStore {
+    private final ShortLinkRepository repository;
+    private final UrlHashBackfill urlHashBackfill;
+    private final TransactionTemplate transactionTemplate;
+
+    public JpaLinkStore(ShortLinkRepository repository,
+                        UrlHashBackfill urlHashBackfill,
+                        PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.urlHashBackfill = urlHashBackfill;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public Optional<ShortLink> findByCode(String shortCode) {
+        return repository.findByShortLink(shortCode);
+    }
+
+    @Override
+    public List<ShortLink> findAllByCode(Collection<String> shortCodes) {
+        return repository.findAllByShortLinkIn(shortCodes);
+    }
+
+    @Override
+    public Optional<ShortLink> findByUrl(String originalUrl) {
+        Instant now = Instant.now();
+        for (ShortLink candidate : repository.findAllByUrlHash(UrlFingerprint.of(originalUrl))) {
+            if (candidate.getOriginalUrl().equals(originalUrl) && !candidate.isExpired(now)) {
+                return Optional.of(candidate);
+            }
+        }
+        if (urlHashBackfill.isComplete()) {
+            return Optional.empty();
+        }
+        return repository.findFirstByOriginalUrlAndUrlHashIsNull(originalUrl)
+                .filter(legacy -> !legacy.isExpired(now));
+    }
+
+    @Override
+    public Map<String, ShortLink> findAllByUrl(Collection<String> originalUrls) {
+        Map<String, ShortLink> live = new HashMap<>();
+        if (originalUrls.isEmpty()) {
+            return live;
+        }
+        Set<String> urls = new HashSet<>(originalUrls);
+        Set<Long> urlHashes = new HashSet<>();
+        urls.forEach(url -> urlHashes.add(UrlFingerprint.of(url)));
+        Instant now = Instant.now();
+        for (ShortLink link : repository.findAllByUrlHashIn(urlHashes)) {
+            if (urls.contains(link.getOriginalUrl()) && !link.isExpired(now)) {
+                live.putIfAbsent(link.getOriginalUrl(), link);
+            }
+        }
+        if (!urlHashBackfill.isComplete()) {
+            for (ShortLink link : repository.findAllByOriginalUrlInAndUrlHashIsNull(urls)) {
+                if (!link.isExpired(now)) {
+                    live.putIfAbsent(link.getOriginalUrl(), link);
+                }
+            }
+        }
+        return live;
+    }
+
+    @Override
+    public void save(ShortLink link) {
+        // flushed, so a taken code fails here even inside a surrounding transaction
+        repository.saveAndFlush(link);
+    }
+
+    @Override
+    public void saveAll(Collection<ShortLink> links) {
+        transactionTemplate.executeWithoutResult(status -> repository.saveAll(links));
+    }
+
+    @Override
+        // no fingerprint, like a legacy row the backfill leaves alone while the URL is held
+        // without a fingerprint, like a legacy row; the backfill leaves it alone while the URL is held
+        repository.saveAndFlush(new ShortLink(link.getId(), link.getOriginalUrl(), link.getShortLink(),
+                link.getCreatedAt(), null, link.getRedirectStatus(), link.getExpiresAt()));
+    }
+
+    @Override
+    public void delete(ShortLink link) {
+        repository.deleteByShortLinkIn(List.of(link.getShortLink()));
+    }
+
+    @Override
+    public void deleteAll(Collection<ShortLink> links) {
+        if (!links.isEmpty()) {
+            repository.deleteByShortLinkIn(links.stream().map(ShortLink::getShortLink).toList());
+        }
+    }
+
+    @Override
+    public int deleteExpiredByUrl(String originalUrl) {
+        Instant now = Instant.now();
+        List<ShortLink> expired = repository.findAllByUrlHash(UrlFingerprint.of(originalUrl)).stream()
+                .filter(link -> link.isExpired(now))
+                .toList();
+        if (!expired.isEmpty()) {
+            deleteAll(expired);
+        }
+        return expired.size();
+    }
+}
@@ -0,0 +1,147 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.config.RateLimitProperties;
+import com.task.linkconverter.interfaces.RateLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serves permits from a node-local bucket and refills it by leasing blocks of the global
+ * budget from Redis. Windows are aligned on wall-clock time, so every node leases from the
+ * same per-window key; tokens left over at the end of a window are discarded. When Redis is
+ * unreachable and {@code fail-open} is set, a node grants itself at most one lease per window,
+ * so an outage cannot lift the limit, and rejects until the next window once that is spent.
+ */
+@Slf4j
+public class LeasedTokenBucketRateLimiter implements RateLimiter {
+    private static final RedisScript<Long> LEASE_SCRIPT = new DefaultRedisScript<>("""
+            local used = tonumber(redis.call('GET', KEYS[1]) or '0')
+            local granted = math.min(tonumber(ARGV[2]), tonumber(ARGV[1]) - used)
+            if granted <= 0 then
+                return 0
+            end
+            redis.call('INCRBY', KEYS[1], granted)
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            return granted
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Executor executor;
+    private final String keyPrefix;
+    private final int limit;
+    private final long windowMillis;
+    private final int leaseSize;
+    private final boolean failOpen;
+
+    private final AtomicLong tokens = new AtomicLong();
+    private final AtomicBoolean prefetching = new AtomicBoolean();
+    private final AtomicLong selfGrantedWindow = new AtomicLong(-1);
+    private final ReentrantLock leaseLock = new ReentrantLock();
+    private volatile long window = -1;
+    private volatile long exhaustedWindow = -1;
+
+    public LeasedTokenBucketRateLimiter(StringRedisTemplate redisTemplate,
+                                        Executor executor,
+                                        RateLimitProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.executor = executor;
+        this.keyPrefix = properties.getKey() + ":";
+        this.limit = properties.getLimit();
+        this.windowMillis = properties.getWindow().toMillis();
+        this.leaseSize = Math.max(1, (int) Math.ceil(limit * properties.getLeased().getTolerance()));
+        this.failOpen = properties.getLeased().isFailOpen();
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        long current = System.currentTimeMillis() / windowMillis;
+        if (current != window) {
+            startWindow(current);
+        }
+        while (true) {
+            long available = tokens.get();
+            if (available <= 0) {
+                return exhaustedWindow != current && acquireLeased(current);
+            }
+            if (tokens.compareAndSet(available, available - 1)) {
+                if (available - 1 <= leaseSize / 4) {
+                    prefetch(current);
+                }
+                return true;
+            }
+        }
+    }
+
+    private synchronized void startWindow(long current) {
+        if (current > window) {
+            tokens.set(0);
+            window = current;
+        }
+    }
+
+    private boolean acquireLeased(long current) {
+        leaseLock.lock();
+        try {
+            if (tokens.get() <= 0) {
+                long granted = lease(current);
+                if (granted <= 0) {
+                    exhaustedWindow = current;
+                    return false;
+                }
+                tokens.addAndGet(granted);
+            }
+        } finally {
+            leaseLock.unlock();
+        }
+        long available;
+        while ((available = tokens.get()) > 0) {
+            if (tokens.compareAndSet(available, available - 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void prefetch(long current) {
+        if (!prefetching.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                long granted = lease(current);
+                if (granted > 0 && window == current) {
+                    tokens.addAndGet(granted);
+                }
+            } finally {
+                prefetching.set(false);
+            }
+        });
+    }
+
+    private long lease(long current) {
+        try {
+            Long granted = redisTemplate.execute(LEASE_SCRIPT, List.of(keyPrefix + current),
+                    String.valueOf(limit), String.valueOf(leaseSize), String.valueOf(windowMillis * 2));
+            return granted == null ? 0 : granted;
+        } catch (DataAccessException e) {
+            boolean grant = failOpen && grantSelf(current);
+            log.warn("Rate limit lease failed, {}: {}", grant ? "granting local lease" : "rejecting", e.getMessage());
+            return grant ? leaseSize : 0;
+        }
+    }
+
+    // true for the first caller in the window only
+    private boolean grantSelf(long current) {
+        long granted = selfGrantedWindow.get();
+        return granted < current && selfGrantedWindow.compareAndSet(granted, current);
+    }
+}
@@ -0,0 +1,305 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.model.ShortLink;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Durable log of created links, split into numbered segments. Appends are group-committed:
+ * a single writer thread takes every record queued since its last write, writes them to the
+ * active segment and forces the file once, then completes all of their futures.
+ * <p>
+ * Each record is one line, {@code crc \t code \t createdAt \t expiresAt \t status \t url},
+ * with the CRC32 of everything after the first tab; a torn last line fails the check and is
+ * skipped on recovery. Segments are deleted by the owner once their links are in the database.
+ * Links the database refuses are moved to {@code dead-letter.log}, in the same format, which
+ * recovery never reads.
+ */
+@Slf4j
+public class LinkAppendLog implements Closeable {
+    private static final String PREFIX = "links-";
+    private static final String SUFFIX = ".log";
+    private static final String DEAD_LETTER = "dead-letter.log";
+    private static final int MAX_GROUP = 1024;
+
+    private final Path directory;
+    private final BlockingQueue<Append> queue = new LinkedBlockingQueue<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private FileChannel active;
+    private long activeSegment;
+    private Thread writer;
+    private volatile boolean closed;
+
+    public LinkAppendLog(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Reads the links of all existing segments, then opens a new active segment and starts
+     * accepting appends. The recovered segments stay on disk until {@link #deleteBefore}.
+     */
+    public List<ShortLink> recover() {
+        List<ShortLink> links = new ArrayList<>();
+        try {
+            Files.createDirectories(directory);
+            List<Long> segments = segments();
+            for (long segment : segments) {
+                readSegment(segment, links);
+            }
+            activeSegment = segments.isEmpty() ? 1 : segments.get(segments.size() - 1) + 1;
+            active = open(activeSegment);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot recover link log in " + directory, e);
+        }
+        writer = new Thread(this::writeLoop, "link-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        return links;
+    }
+
+    /**
+     * Queues the link; the returned future completes once its record is on disk.
+     */
+    public CompletableFuture<Void> append(ShortLink link) {
+        Append append = new Append(encode(link));
+        if (closed) {
+            append.future.completeExceptionally(new IllegalStateException("Link log is closed"));
+        } else {
+            queue.add(append);
+        }
+        return append.future;
+    }
+
+    /**
+     * Starts a new active segment and returns its number; every record appended before the
+     * call is in a lower-numbered segment.
+     */
+    public long rotate() {
+        lock.lock();
+        try {
+            active.force(false);
+            active.close();
+            active = open(++activeSegment);
+            return activeSegment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot rotate link log in " + directory, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long activeSegment() {
+        lock.lock();
+        try {
+            return activeSegment;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void deleteBefore(long segment) {
+        try {
+            for (long existing : segments()) {
+                if (existing < segment) {
+                    Files.deleteIfExists(path(existing));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to delete committed link log segments: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Appends the link to the dead-letter file and forces it to disk before returning.
+     */
+    public void deadLetter(ShortLink link) {
+        try (FileChannel channel = FileChannel.open(directory.resolve(DEAD_LETTER), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(encode(link));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot dead-letter link " + link.getShortLink(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (writer != null) {
+            writer.interrupt();
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        lock.lock();
+        try {
+            if (active != null) {
+                active.force(false);
+                active.close();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to close link log: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writeLoop() {
+        List<Append> group = new ArrayList<>(MAX_GROUP);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Append first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+            } catch (InterruptedException e) {
+                if (queue.isEmpty()) {
+                    break;
+                }
+                continue;
+            }
+            queue.drainTo(group, MAX_GROUP - 1);
+            IOException failure = write(group);
+            for (Append append : group) {
+                if (failure == null) {
+                    append.future.complete(null);
+                } else {
+                    append.future.completeExceptionally(failure);
+                }
+            }
+            group.clear();
+        }
+        Append rejected;
+        while ((rejected = queue.poll()) != null) {
+            rejected.future.completeExceptionally(new IllegalStateException("Link log is closed"));
+        }
+    }
+
+    private IOException write(List<Append> group) {
+        int size = 0;
+        for (Append append : group) {
+            size += append.record.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (Append append : group) {
+            buffer.put(append.record);
+        }
+        buffer.flip();
+        lock.lock();
+        try {
+            while (buffer.hasRemaining()) {
+                active.write(buffer);
+            }
+            active.force(false);
+            return null;
+        } catch (IOException e) {
+            log.error("Failed to append {} links to the log", group.size(), e);
+            return e;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void readSegment(long segment, List<ShortLink> links) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path(segment), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                ShortLink link = decode(line);
+                if (link == null) {
+                    log.warn("Skipping corrupt record in link log segment {}", segment);
+                    continue;
+                }
+                links.add(link);
+            }
+        }
+    }
+
+    static byte[] encode(ShortLink link) {
+        String body = link.getShortLink() + '\t'
+                + link.getCreatedAt().toEpochMilli() + '\t'
+                + link.expiresAt().toEpochMilli() + '\t'
+                + (link.getRedirectStatus() == null ? "" : link.getRedirectStatus()) + '\t'
+                + link.getOriginalUrl();
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return (Long.toHexString(crc(bytes)) + '\t' + body + '\n').getBytes(StandardCharsets.UTF_8);
+    }
+
+    static ShortLink decode(String line) {
+        String[] fields = line.split("\t", 6);
+        if (fields.length != 6) {
+            return null;
+        }
+        try {
+            String body = line.substring(fields[0].length() + 1);
+            if (Long.parseLong(fields[0], 16) != crc(body.getBytes(StandardCharsets.UTF_8))) {
+                return null;
+            }
+            String url = fields[5];
+            return new ShortLink(null, url, fields[1], Instant.ofEpochMilli(Long.parseLong(fields[2])),
+                    UrlFingerprint.of(url), fields[4].isEmpty() ? null : Integer.valueOf(fields[4]),
+                    Instant.ofEpochMilli(Long.parseLong(fields[3])));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static long crc(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return crc.getValue();
+    }
+
+    private List<Long> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name, PREFIX.length(), name.length() - SUFFIX.length(), 10))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private FileChannel open(long segment) throws IOException {
+        return FileChannel.open(path(segment), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    private Path path(long segment) {
+        return directory.resolve(PREFIX + String.format("%012d", segment) + SUFFIX);
+    }
+
+    private static final class Append {
+        private final byte[] record;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private Append(byte[] record) {
+            this.record = record;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.interfaces.LinkFilter;
+import com.task.linkconverter.model.ShortLink;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the {@link LinkFilter} from the live rows of every {@code short_link} table after
+ * startup, unless another node has already published a shared filter, and rebuilds it every
+ * {@code rebuild-interval} so that expired links drop out. Rows are read in id order and in
+ * small batches, like the index loader does.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.cache.filter", name = "enabled", havingValue = "true")
+public class LinkFilterLoader {
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LinkFilter linkFilter;
+    private final ObjectProvider<ShardedLinkStore> shardedLinkStore;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        linkFilter.refresh();
+        if (!linkFilter.isReady()) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "#{@cacheProperties.filter.refreshInterval.toMillis()}")
+    public void refresh() {
+        linkFilter.refresh();
+    }
+
+    @Scheduled(fixedDelayString = "#{@cacheProperties.filter.rebuildInterval.toMillis()}",
+            initialDelayString = "#{@cacheProperties.filter.rebuildInterval.toMillis()}")
+    public void rebuild() {
+        LinkFilter.Rebuild rebuild = linkFilter.startRebuild().orElse(null);
+        if (rebuild == null) {
+            return;
+        }
+        try {
+            long total = 0;
+            for (JdbcTemplate database : databases()) {
+                total += load(database, rebuild);
+            }
+            rebuild.publish();
+            log.info("Link filter rebuilt with {} live links", total);
+        } catch (RuntimeException e) {
+            rebuild.abort();
+            log.warn("Link filter rebuild failed, keeping the current one: {}", e.getMessage());
+        }
+    }
+
+    private long load(JdbcTemplate database, LinkFilter.Rebuild rebuild) {
+        Instant now = Instant.now();
+        Timestamp liveSince = Timestamp.from(now.minus(ShortLink.TTL));
+        long lastId = 0;
+        long total = 0;
+        while (true) {
+            List<ShortLink> links = database.query(
+                    "SELECT id, original_url, short_link, created_at FROM short_link "
+                            + "WHERE id > ? AND (expires_at > ? OR (expires_at IS NULL AND created_at > ?)) "
+                            + "ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> new ShortLink(rs.getLong(1), rs.getString(2), rs.getString(3),
+                            rs.getTimestamp(4).toInstant()),
+                    lastId, Timestamp.from(now), liveSince, BATCH_SIZE);
+            rebuild.add(links);
+            total += links.size();
+            if (links.size() < BATCH_SIZE) {
+                return total;
+            }
+            lastId = links.get(links.size() - 1).getId();
+        }
+    }
+
+    private List<JdbcTemplate> databases() {
+        List<JdbcTemplate> databases = new ArrayList<>();
+        databases.add(jdbcTemplate);
+        ShardedLinkStore sharded = shardedLinkStore.getIfAvailable();
+        if (sharded != null) {
+            sharded.shards().forEach(shard -> databases.add(shard.jdbcTemplate()));
+        }
+        return databases;
+    }
+}
@@ -0,0 +1,61 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.cache.CachedLink;
+import com.task.linkconverter.cache.MappedLinkIndex;
+import com.task.linkconverter.model.ShortLink;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Brings the mapped index up to date with the table after startup. Only links that can still
+ * be live are read, in id order and in small batches; codes already indexed with the same
+ * record are skipped, so a restart with a reused index file costs one pass over recent rows.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.cache.index", name = "enabled", havingValue = "true")
+public class LinkIndexLoader {
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MappedLinkIndex index;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void run() {
+        Instant now = Instant.now();
+        Timestamp liveSince = Timestamp.from(now.minus(ShortLink.TTL));
+        long lastId = 0;
+        long total = 0;
+        while (true) {
+            List<ShortLink> links = jdbcTemplate.query(
+                    "SELECT id, original_url, short_link, created_at, redirect_status, expires_at FROM short_link "
+                            + "WHERE id > ? AND (expires_at > ? OR (expires_at IS NULL AND created_at > ?)) "
+                            + "ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> new ShortLink(rs.getLong(1), rs.getString(2), rs.getString(3),
+                            rs.getTimestamp(4).toInstant(), null, rs.getObject(5, Integer.class),
+                            rs.getTimestamp(6) == null ? null : rs.getTimestamp(6).toInstant()),
+                    lastId, Timestamp.from(now), liveSince, BATCH_SIZE);
+            for (ShortLink link : links) {
+                index.put(link.getShortLink(), CachedLink.of(link));
+            }
+            total += links.size();
+            if (links.size() < BATCH_SIZE) {
+                break;
+            }
+            lastId = links.get(links.size() - 1).getId();
+        }
+        log.info("Short code index synced with {} live links, {} codes indexed", total, index.size());
+    }
+}
@@ -0,0 +1,315 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.cache.CachedLink;
+import com.task.linkconverter.cache.LinkCache;
+import com.task.linkconverter.config.BatchProperties;
+import com.task.linkconverter.config.StorageProperties;
+import com.task.linkconverter.exceptions.RateLimitExceededException;
+import com.task.linkconverter.interfaces.LinkFilter;
+import com.task.linkconverter.interfaces.LinkStore;
+import com.task.linkconverter.interfaces.ShortCodeGenerator;
+import com.task.linkconverter.model.LinkImportResult;
+import com.task.linkconverter.model.LinkRecord;
+import com.task.linkconverter.model.ShortLink;
+import com.task.linkconverter.validation.UrlSyntax;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Moves links in and out in bulk. Export pages through every {@code short_link} table by id
+ * with plain JDBC, so only one page of rows is held at a time and nothing enters a persistence
+ * context. Import goes through the {@link LinkStore} one chunk at a time, with one batched
+ * lookup of the chunk's codes and one batched insert, so it works with every storage type.
+ */
+@Slf4j
+@Service
+public class LinkTransferService {
+    private static final Set<Integer> REDIRECT_TYPES = Set.of(301, 302, 307, 308);
+    private static final int MAX_ERRORS = 20;
+    private static final int MAX_CODE_LENGTH = 255;
+
+    private final ShortLinkService shortLinkService;
+    private final ShortCodeGenerator codeGenerator;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<ShardedLinkStore> shardedLinkStore;
+    private final LinkStore linkStore;
+    private final LinkFilter linkFilter;
+    private final LinkCache linkCache;
+    private final StorageProperties storageProperties;
+    private final BatchProperties properties;
+
+    public LinkTransferService(ShortLinkService shortLinkService,
+                               ShortCodeGenerator codeGenerator,
+                               JdbcTemplate jdbcTemplate,
+                               ObjectProvider<ShardedLinkStore> shardedLinkStore,
+                               LinkStore linkStore,
+                               LinkFilter linkFilter,
+                               LinkCache linkCache,
+                               StorageProperties storageProperties,
+                               BatchProperties properties) {
+        this.shortLinkService = shortLinkService;
+        this.codeGenerator = codeGenerator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardedLinkStore = shardedLinkStore;
+        this.linkStore = linkStore;
+        this.linkFilter = linkFilter;
+        this.linkCache = linkCache;
+        this.storageProperties = storageProperties;
+        this.properties = properties;
+    }
+
+    /**
+     * What to do with an imported code that already has a live link.
+     */
+    public enum ConflictMode {
+        SKIP,
+        UPSERT
+    }
+
+    /**
+     * Hands the links to the sink page by page and returns how many were exported. Expired
+     * links are left out unless asked for.
+     */
+    public long export(boolean includeExpired, Consumer<List<LinkRecord>> sink) {
+        checkExportSupported();
+        long total = 0;
+        for (JdbcTemplate database : databases()) {
+            total += export(database, includeExpired, sink);
+        }
+        return total;
+    }
+
+    public void checkExportSupported() {
+        if (storageProperties.getType() == StorageProperties.Type.REDIS) {
+            throw new UnsupportedOperationException("Export reads the short_link tables, which Redis storage does not use");
+        }
+    }
+
+    private long export(JdbcTemplate database, boolean includeExpired, Consumer<List<LinkRecord>> sink) {
+        Instant now = Instant.now();
+        String live = includeExpired ? "" : "AND (expires_at > ? OR (expires_at IS NULL AND created_at > ?)) ";
+        String sql = "SELECT id, short_link, original_url, created_at, expires_at, redirect_status FROM short_link "
+                + "WHERE id > ? " + live + "ORDER BY id LIMIT ?";
+        int pageSize = properties.getChunkSize();
+        long lastId = 0;
+        long total = 0;
+        while (true) {
+            long[] pageLastId = {lastId};
+            List<LinkRecord> page = new ArrayList<>(pageSize);
+            Object[] args = includeExpired
+                    ? new Object[]{lastId, pageSize}
+                    : new Object[]{lastId, Timestamp.from(now), Timestamp.from(now.minus(ShortLink.TTL)), pageSize};
+            database.query(sql, rs -> {
+                pageLastId[0] = rs.getLong(1);
+                Instant createdAt = rs.getTimestamp(4).toInstant();
+                Timestamp expiresAt = rs.getTimestamp(5);
+                int redirectStatus = rs.getInt(6);
+                page.add(new LinkRecord(rs.getString(2), rs.getString(3), createdAt,
+                        expiresAt != null ? expiresAt.toInstant() : createdAt.plus(ShortLink.TTL),
+                        rs.wasNull() ? null : redirectStatus));
+            }, args);
+            if (!page.isEmpty()) {
+                sink.accept(page);
+                total += page.size();
+            }
+            if (page.size() < pageSize) {
+                return total;
+            }
+            lastId = pageLastId[0];
+        }
+    }
+
+    /**
+     * Imports the records chunk by chunk. Records without a valid base62 code or URL, and links
+     * that have already expired, are counted and skipped; a code whose stored link has expired
+     * is free and gets the imported link. New codes are reserved with the code generator, and
+     * those it may already have handed out are rejected. Each chunk is charged to the global
+     * rate limit; when it runs out after the first chunk, the import stops and reports the line
+     * to resume from. Re-running an import is safe.
+     */
+    public LinkImportResult importLinks(Iterator<LinkRecord> records, ConflictMode mode) {
+        Progress progress = new Progress();
+        Map<String, ShortLink> chunk = new LinkedHashMap<>();
+        Map<String, Long> lines = new HashMap<>();
+        long chunkStart = 1;
+        while (records.hasNext()) {
+            long line = ++progress.read;
+            ShortLink link = toLink(records.next(), line, progress);
+            if (link != null) {
+                // a later line for the same code wins, as it would across chunks
+                chunk.remove(link.getShortLink());
+                chunk.put(link.getShortLink(), link);
+                lines.put(link.getShortLink(), line);
+            }
+            if (chunk.size() == properties.getChunkSize()) {
+                if (!acquirePermit(chunkStart, progress)) {
+                    return progress.result();
+                }
+                importChunk(chunk, lines, mode, progress);
+                chunk.clear();
+                lines.clear();
+                chunkStart = line + 1;
+            }
+        }
+        if (!chunk.isEmpty() && acquirePermit(chunkStart, progress)) {
+            importChunk(chunk, lines, mode, progress);
+        }
+        return progress.result();
+    }
+
+    private boolean acquirePermit(long chunkStart, Progress progress) {
+        try {
+            shortLinkService.checkGlobalRateLimit();
+            return true;
+        } catch (RateLimitExceededException e) {
+            if (chunkStart == 1) {
+                throw e;
+            }
+            progress.errors.add("line " + chunkStart + ": " + e.getMessage() + "; import stopped, resume from this line");
+            return false;
+        }
+    }
+
+    private ShortLink toLink(LinkRecord record, long line, Progress progress) {
+        String code = record.getCode();
+        String url = record.getUrl();
+        if (!isValidCode(code)) {
+            progress.invalid(line, "missing or malformed code");
+            return null;
+        }
+        if (url == null || url.length() > 2048 || !UrlSyntax.isValid(url)) {
+            progress.invalid(line, "invalid URL for " + code);
+            return null;
+        }
+        if (record.getRedirectStatus() != null && !REDIRECT_TYPES.contains(record.getRedirectStatus())) {
+            progress.invalid(line, "unsupported redirect status for " + code);
+            return null;
+        }
+        Instant now = Instant.now();
+        Instant createdAt = record.getCreatedAt() != null ? record.getCreatedAt() : now;
+        Instant expiresAt = record.getExpiresAt() != null ? record.getExpiresAt() : createdAt.plus(ShortLink.TTL);
+        if (!expiresAt.isAfter(now)) {
+            progress.expired++;
+            return null;
+        }
+        return new ShortLink(null, url, code, createdAt, UrlFingerprint.of(url), record.getRedirectStatus(), expiresAt);
+    }
+
+    // the alphabet the redirect path accepts, within the short_link column
+    private static boolean isValidCode(String code) {
+        if (code == null || code.isEmpty() || code.length() > MAX_CODE_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < code.length(); i++) {
+            if (Base62Codec.digit(code.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void importChunk(Map<String, ShortLink> chunk, Map<String, Long> lines, ConflictMode mode,
+                             Progress progress) {
+        Instant now = Instant.now();
+        List<String> candidates = chunk.keySet().stream().filter(linkFilter::mightContainCode).toList();
+        List<ShortLink> existing = candidates.isEmpty() ? List.of() : linkStore.findAllByCode(candidates);
+        List<ShortLink> replaced = new ArrayList<>();
+        Set<String> replacedCodes = new HashSet<>();
+        for (ShortLink stored : existing) {
+            if (mode == ConflictMode.SKIP && !stored.isExpired(now)) {
+                chunk.remove(stored.getShortLink());
+                progress.skipped++;
+            } else {
+                replaced.add(stored);
+                replacedCodes.add(stored.getShortLink());
+            }
+        }
+        // new codes must not be generated again later
+        List<String> added = chunk.keySet().stream().filter(code -> !replacedCodes.contains(code)).toList();
+        for (String code : codeGenerator.reserve(added)) {
+            chunk.remove(code);
+            progress.invalid(lines.get(code), "code " + code + " is in or too far past the range the code generator has handed out");
+        }
+        // an interrupted upsert leaves these codes empty until the import is run again
+        if (!replaced.isEmpty()) {
+            linkStore.deleteAll(replaced);
+        }
+        List<ShortLink> links = new ArrayList<>(chunk.values());
+        links.forEach(linkFilter::add);
+        try {
+            linkStore.saveAll(links);
+            countSaved(links, replacedCodes, progress);
+        } catch (DataIntegrityViolationException e) {
+            // another writer took some of these codes or URLs after the lookup
+            log.warn("Batched import of {} links conflicted, falling back to single inserts", links.size());
+            for (ShortLink link : links) {
+                try {
+                    linkStore.save(link);
+                    countSaved(List.of(link), replacedCodes, progress);
+                } catch (DataIntegrityViolationException conflict) {
+                    progress.skipped++;
+                }
+            }
+        }
+    }
+
+    private void countSaved(List<ShortLink> links, Set<String> replacedCodes, Progress progress) {
+        for (ShortLink link : links) {
+            if (replacedCodes.contains(link.getShortLink())) {
+                // other nodes may hold the old target in their caches
+                linkCache.put(link.getShortLink(), CachedLink.of(link));
+                progress.updated++;
+            } else {
+                // drops a cached "not found" on this node; other nodes' expire after negative-ttl
+                linkCache.invalidateLocal(link.getShortLink());
+                progress.created++;
+            }
+        }
+    }
+
+    private List<JdbcTemplate> databases() {
+        List<JdbcTemplate> databases = new ArrayList<>();
+        databases.add(jdbcTemplate);
+        ShardedLinkStore sharded = shardedLinkStore.getIfAvailable();
+        if (sharded != null) {
+            sharded.shards().forEach(shard -> databases.add(shard.jdbcTemplate()));
+        }
+        return databases;
+    }
+
+    private static final class Progress {
+        private final List<String> errors = new ArrayList<>();
+        private long read;
+        private long created;
+        private long updated;
+        private long skipped;
+        private long expired;
+        private long invalid;
+
+        private LinkImportResult result() {
+            return new LinkImportResult(read, created, updated, skipped, expired, invalid, errors);
+        }
+
+        private void invalid(long line, String reason) {
+            invalid++;
+            if (errors.size() < MAX_ERRORS) {
+                errors.add("line " + line + ": " + reason);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.cache.CachedLink;
+import com.task.linkconverter.cache.LinkCache;
+import com.task.linkconverter.cache.ReactiveSharedLinkCache;
+import com.task.linkconverter.metrics.LinkMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Resolves short codes without holding a request thread: local cache hits complete inline,
+ * the shared tier is read through the reactive Redis client, and only a full miss is
+ * offloaded to the bounded-elastic scheduler for the blocking repository lookup.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.redirect", name = "mode", havingValue = "reactive")
+public class ReactiveShortLinkService {
+    private final ShortLinkService shortLinkService;
+    private final LinkCache linkCache;
+    private final LinkMetrics metrics;
+    private final ReactiveSharedLinkCache sharedCache;
+    private final Scheduler storeScheduler = Schedulers.boundedElastic();
+
+    public ReactiveShortLinkService(ShortLinkService shortLinkService,
+                                    LinkCache linkCache,
+                                    LinkMetrics metrics,
+                                    Optional<ReactiveSharedLinkCache> sharedCache) {
+        this.shortLinkService = shortLinkService;
+        this.linkCache = linkCache;
+        this.metrics = metrics;
+        this.sharedCache = sharedCache.orElse(null);
+    }
+
+    public Mono<String> getOriginalUrl(String shortCode) {
+        return getLink(shortCode).map(CachedLink::getOriginalUrl);
+    }
+
+    public Mono<CachedLink> getLink(String shortCode) {
+        CachedLink local = linkCache.getIfPresent(shortCode);
+        if (local != null) {
+            metrics.cacheHit();
+        } else {
+            local = linkCache.getIndexed(shortCode);
+        }
+        Mono<CachedLink> link = local != null ? Mono.just(local) : load(shortCode);
+        return link.flatMap(resolved -> {
+            Mono<CachedLink> live = Mono.fromCallable(() -> shortLinkService.resolve(shortCode, resolved));
+            // expired links are evicted from the shared tier, which blocks
+            return resolved.isMissing() || !resolved.isExpired(Instant.now())
+                    ? live
+                    : live.subscribeOn(storeScheduler);
+        });
+    }
+
+    private Mono<CachedLink> load(String shortCode) {
+        Mono<CachedLink> fromStore = Mono.fromCallable(() -> shortLinkService.loadLink(shortCode))
+                .subscribeOn(storeScheduler);
+        if (sharedCache == null) {
+            return fromStore.doOnNext(link -> linkCache.putLocal(shortCode, link));
+        }
+        return sharedCache.get(shortCode)
+                .switchIfEmpty(fromStore.flatMap(link -> sharedCache.put(shortCode, link).thenReturn(link)))
+                .doOnNext(link -> linkCache.putLocal(shortCode, link));
+    }
+}
@@ -0,0 +1,83 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.config.AnalyticsProperties;
+import com.task.linkconverter.interfaces.ClickStatsStore;
+import com.task.linkconverter.model.ClickCount;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps aggregates in one hash per short code, with fields {@code <epochMinute>|<referrer>}.
+ * A batch is applied by one script, so it is counted entirely or not at all and a retried
+ * flush cannot count part of it twice. Each touched hash has its TTL pushed out to the retention.
+ */
+public class RedisClickStatsStore implements ClickStatsStore {
+    private static final char SEPARATOR = '|';
+    // KEYS: the touched hashes; ARGV: the retention in seconds, then the 1-based key index,
+    // field and increment of each count
+    private static final RedisScript<Long> ADD_SCRIPT = new DefaultRedisScript<>("""
+            for i = 2, #ARGV, 3 do
+                redis.call('HINCRBY', KEYS[tonumber(ARGV[i])], ARGV[i + 1], ARGV[i + 2])
+            end
+            for i = 1, #KEYS do
+                redis.call('EXPIRE', KEYS[i], ARGV[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final AnalyticsProperties properties;
+
+    public RedisClickStatsStore(StringRedisTemplate redisTemplate, AnalyticsProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+    }
+
+    @Override
+    public void add(Collection<ClickCount> counts) {
+        if (counts.isEmpty()) {
+            return;
+        }
+        Map<String, Integer> keys = new LinkedHashMap<>();
+        List<String> args = new ArrayList<>(1 + counts.size() * 3);
+        args.add(Long.toString(properties.getRetention().toSeconds()));
+        for (ClickCount count : counts) {
+            int index = keys.computeIfAbsent(key(count.getShortLink()), key -> keys.size() + 1);
+            args.add(Integer.toString(index));
+            args.add(field(count));
+            args.add(Long.toString(count.getClicks()));
+        }
+        redisTemplate.execute(ADD_SCRIPT, new ArrayList<>(keys.keySet()), args.toArray());
+    }
+
+    @Override
+    public List<ClickCount> find(String shortLink) {
+        Map<Object, Object> fields = redisTemplate.opsForHash().entries(key(shortLink));
+        List<ClickCount> counts = new ArrayList<>(fields.size());
+        for (Map.Entry<Object, Object> entry : fields.entrySet()) {
+            String field = (String) entry.getKey();
+            int separator = field.indexOf(SEPARATOR);
+            counts.add(new ClickCount(shortLink,
+                    Instant.ofEpochSecond(Long.parseLong(field, 0, separator, 10) * 60),
+                    field.substring(separator + 1),
+                    Long.parseLong((String) entry.getValue())));
+        }
+        return counts;
+    }
+
+    private String key(String shortLink) {
+        return properties.getKeyPrefix() + shortLink;
+    }
+
+    private static String field(ClickCount count) {
+        return count.getMinute().getEpochSecond() / 60 + "" + SEPARATOR + count.getReferrer();
+    }
+}
@@ -0,0 +1,51 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.interfaces.IdRangeAllocator;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+public class RedisIdRangeAllocator implements IdRangeAllocator {
+    // KEYS: the counter; ARGV: the value to raise it to. Returns the counter before the call.
+    private static final RedisScript<Long> ADVANCE_SCRIPT = new DefaultRedisScript<>("""
+            local next = tonumber(redis.call('GET', KEYS[1]) or '0')
+            if next < tonumber(ARGV[1]) then
+                redis.call('SET', KEYS[1], ARGV[1])
+            end
+            return next
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String key;
+
+    public RedisIdRangeAllocator(StringRedisTemplate redisTemplate, String sequenceName) {
+        this.redisTemplate = redisTemplate;
+        this.key = "code_sequence:" + sequenceName;
+    }
+
+    @Override
+    public long allocate(int size) {
+        Long end = redisTemplate.opsForValue().increment(key, size);
+        if (end == null) {
+            throw new IllegalStateException("Unable to lease id block from Redis");
+        }
+        return end - size;
+    }
+
+    @Override
+    public long reserveThrough(long id) {
+        Long next = redisTemplate.execute(ADVANCE_SCRIPT, List.of(key), Long.toString(id + 1));
+        if (next == null) {
+            throw new IllegalStateException("Unable to reserve ids in Redis");
+        }
+        return next;
+    }
+
+    @Override
+    public long next() {
+        String next = redisTemplate.opsForValue().get(key);
+        return next == null ? 0 : Long.parseLong(next);
+    }
+}
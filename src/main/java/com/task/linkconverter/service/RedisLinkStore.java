@@ -0,0 +1,233 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.config.StorageProperties;
+import com.task.linkconverter.interfaces.LinkStore;
+import com.task.linkconverter.model.ShortLink;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Keeps each link in a hash {@code <prefix>code:<code>} with fields {@code url}, {@code created},
+ * {@code expires} and {@code status}, and maps {@code <prefix>url:<fingerprint>} to the code for
+ * URL lookups. Both keys expire with the link through PEXPIREAT, so no sweeper is needed and an
+ * expired code reads as unknown. A batch is written by one script that stores nothing if any of
+ * its codes, or any of its URLs, is still live, and the conflict is reported as a
+ * {@link DataIntegrityViolationException}, as a unique key would be in SQL.
+ * <p>
+ * Two URLs with the same fingerprint share the URL key; the later one wins and the earlier one
+ * is simply not deduplicated any more. Lookups always compare the full URL. An alias has only
+ * its code hash.
+ */
+public class RedisLinkStore implements LinkStore {
+    private static final String URL = "url";
+    private static final String CREATED = "created";
+    private static final String EXPIRES = "expires";
+    private static final String STATUS = "status";
+    // KEYS: code key and URL key per link; ARGV: url, created, expires, status and code per link,
+    // then the code key prefix. Returns the 1-based position of the first link whose code is taken,
+    // its negation if its URL already has a live code, or 0 once all are stored.
+    private static final RedisScript<Long> SAVE_SCRIPT = new DefaultRedisScript<>("""
+            local prefix = ARGV[#ARGV]
+            for i = 1, #KEYS, 2 do
+                if redis.call('EXISTS', KEYS[i]) == 1 then
+                    return (i + 1) / 2
+                end
+                local held = redis.call('GET', KEYS[i + 1])
+                if held and redis.call('HGET', prefix .. held, 'url') == ARGV[(i - 1) / 2 * 5 + 1] then
+                    return -(i + 1) / 2
+                end
+            end
+            for i = 1, #KEYS, 2 do
+                local a = (i - 1) / 2 * 5
+                redis.call('HSET', KEYS[i], 'url', ARGV[a + 1], 'created', ARGV[a + 2], 'expires', ARGV[a + 3])
+                if ARGV[a + 4] ~= '' then
+                    redis.call('HSET', KEYS[i], 'status', ARGV[a + 4])
+                end
+                redis.call('PEXPIREAT', KEYS[i], ARGV[a + 3])
+                redis.call('SET', KEYS[i + 1], ARGV[a + 5])
+                redis.call('PEXPIREAT', KEYS[i + 1], ARGV[a + 3])
+            end
+            return 0
+            """, Long.class);
+    // KEYS: code key; ARGV: url, created, expires and status. Stores the hash without touching the
+    // URL key, returning 1 if the code is taken and 0 once stored.
+    private static final RedisScript<Long> ALIAS_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return 1
+            end
+            redis.call('HSET', KEYS[1], 'url', ARGV[1], 'created', ARGV[2], 'expires', ARGV[3])
+            if ARGV[4] ~= '' then
+                redis.call('HSET', KEYS[1], 'status', ARGV[4])
+            end
+            redis.call('PEXPIREAT', KEYS[1], ARGV[3])
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+
+    public RedisLinkStore(StringRedisTemplate redisTemplate, StorageProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = properties.getRedis().getKeyPrefix();
+    }
+
+    @Override
+    public Optional<ShortLink> findByCode(String shortCode) {
+        return Optional.ofNullable(decode(shortCode, redisTemplate.<String, String>opsForHash().entries(codeKey(shortCode))));
+    }
+
+    @Override
+    public List<ShortLink> findAllByCode(Collection<String> shortCodes) {
+        List<String> codes = new ArrayList<>(shortCodes);
+        List<Object> hashes = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            codes.forEach(code -> redis.hGetAll(codeKey(code)));
+            return null;
+        });
+        List<ShortLink> links = new ArrayList<>(codes.size());
+        for (int i = 0; i < codes.size(); i++) {
+            @SuppressWarnings("unchecked")
+            ShortLink link = decode(codes.get(i), (Map<String, String>) hashes.get(i));
+            if (link != null) {
+                links.add(link);
+            }
+        }
+        return links;
+    }
+
+    @Override
+    public Optional<ShortLink> findByUrl(String originalUrl) {
+        String code = redisTemplate.opsForValue().get(urlKey(originalUrl));
+        if (code == null) {
+            return Optional.empty();
+        }
+        Instant now = Instant.now();
+        return findByCode(code).filter(link -> link.getOriginalUrl().equals(originalUrl) && !link.isExpired(now));
+    }
+
+    @Override
+    public Map<String, ShortLink> findAllByUrl(Collection<String> originalUrls) {
+        Map<String, ShortLink> live = new HashMap<>();
+        Set<String> urls = new HashSet<>(originalUrls);
+        if (urls.isEmpty()) {
+            return live;
+        }
+        List<String> codes = new ArrayList<>(urls.size());
+        for (String code : redisTemplate.opsForValue().multiGet(urls.stream().map(this::urlKey).toList())) {
+            if (code != null) {
+                codes.add(code);
+            }
+        }
+        if (codes.isEmpty()) {
+            return live;
+        }
+        Instant now = Instant.now();
+        for (ShortLink link : findAllByCode(codes)) {
+            if (urls.contains(link.getOriginalUrl()) && !link.isExpired(now)) {
+                live.putIfAbsent(link.getOriginalUrl(), link);
+            }
+        }
+        return live;
+    }
+
+    @Override
+    public void save(ShortLink link) {
+        saveAll(List.of(link));
+    }
+
+    @Override
+    public void saveAll(Collection<ShortLink> links) {
+        long now = System.currentTimeMillis();
+        List<ShortLink> live = links.stream().filter(link -> link.expiresAt().toEpochMilli() > now).toList();
+        if (live.isEmpty()) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(live.size() * 2);
+        List<String> args = new ArrayList<>(live.size() * 5);
+        for (ShortLink link : live) {
+            keys.add(codeKey(link.getShortLink()));
+            keys.add(urlKey(link.getOriginalUrl()));
+            args.add(link.getOriginalUrl());
+            args.add(Long.toString(link.getCreatedAt().toEpochMilli()));
+            args.add(Long.toString(link.expiresAt().toEpochMilli()));
+            args.add(link.getRedirectStatus() == null ? "" : link.getRedirectStatus().toString());
+            args.add(link.getShortLink());
+        }
+        args.add(codeKey(""));
+        Long taken = redisTemplate.execute(SAVE_SCRIPT, keys, args.toArray());
+        if (taken != null && taken > 0) {
+            throw new DataIntegrityViolationException(
+                    "Short code " + live.get(taken.intValue() - 1).getShortLink() + " is already taken");
+        }
+        if (taken != null && taken < 0) {
+            throw new DataIntegrityViolationException(
+                    "URL " + live.get(-taken.intValue() - 1).getOriginalUrl() + " already has a live short code");
+        }
+    }
+
+    @Override
+    public void saveAlias(ShortLink link) {
+        if (link.expiresAt().toEpochMilli() <= System.currentTimeMillis()) {
+            return;
+        }
+        Long taken = redisTemplate.execute(ALIAS_SCRIPT, List.of(codeKey(link.getShortLink())),
+                link.getOriginalUrl(),
+                Long.toString(link.getCreatedAt().toEpochMilli()),
+                Long.toString(link.expiresAt().toEpochMilli()),
+                link.getRedirectStatus() == null ? "" : link.getRedirectStatus().toString());
+        if (taken != null && taken > 0) {
+            throw new DataIntegrityViolationException("Short code " + link.getShortLink() + " is already taken");
+        }
+    }
+
+    @Override
+    public void delete(ShortLink link) {
+        redisTemplate.delete(codeKey(link.getShortLink()));
+    }
+
+    @Override
+    public void deleteAll(Collection<ShortLink> links) {
+        redisTemplate.delete(links.stream().map(link -> codeKey(link.getShortLink())).toList());
+    }
+
+    @Override
+    public int deleteExpiredByUrl(String originalUrl) {
+        // both keys expire with the link
+        return 0;
+    }
+
+    private String codeKey(String shortCode) {
+        return keyPrefix + "code:" + shortCode;
+    }
+
+    private String urlKey(String originalUrl) {
+        return keyPrefix + "url:" + Long.toHexString(UrlFingerprint.of(originalUrl));
+    }
+
+    private static ShortLink decode(String shortCode, Map<String, String> fields) {
+        if (fields == null || !fields.containsKey(URL)) {
+            return null;
+        }
+        String url = fields.get(URL);
+        String status = fields.get(STATUS);
+        return new ShortLink(null, url, shortCode,
+                Instant.ofEpochMilli(Long.parseLong(fields.get(CREATED))),
+                UrlFingerprint.of(url),
+                status == null ? null : Integer.valueOf(status),
+                Instant.ofEpochMilli(Long.parseLong(fields.get(EXPIRES))));
+    }
+}
@@ -0,0 +1,150 @@
+package com.task.linkconverter.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.task.linkconverter.config.ReplicationProperties;
+import com.task.linkconverter.interfaces.LinkStore;
+import com.task.linkconverter.model.ShortLink;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Sends lookups to the {@link ReplicaSet} and writes to the primary store. Codes and URLs
+ * written through this node are remembered for {@code read-your-writes-window}, and lookups
+ * that touch one of them go to the primary, so a node always sees the links it has just
+ * created or deleted even while the replicas lag behind. A code a replica does not know is
+ * looked up again on the primary, so a link another node has just created is not reported,
+ * and cached, as unknown; URL lookups see other nodes' writes once replicated. Replicas find
+ * URLs by fingerprint only, so URL lookups stay on the primary until the
+ * {@link UrlHashBackfill} has completed.
+ */
+public class ReplicaRoutingLinkStore implements LinkStore {
+    private final LinkStore primary;
+    private final ReplicaSet replicas;
+    private final UrlHashBackfill urlHashBackfill;
+    private final Cache<String, Boolean> recentWrites;
+
+    public ReplicaRoutingLinkStore(LinkStore primary,
+                                   ReplicaSet replicas,
+                                   UrlHashBackfill urlHashBackfill,
+                                   ReplicationProperties properties) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.urlHashBackfill = urlHashBackfill;
+        this.recentWrites = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getReadYourWritesWindow())
+                .maximumSize(properties.getMaxTrackedWrites())
+                .build();
+    }
+
+    @Override
+    public Optional<ShortLink> findByCode(String shortCode) {
+        if (isRecent(codeKey(shortCode))) {
+            return primary.findByCode(shortCode);
+        }
+        return replicas.read(replica -> replica.findByCode(shortCode), () -> primary.findByCode(shortCode))
+                .or(() -> primary.findByCode(shortCode));
+    }
+
+    @Override
+    public List<ShortLink> findAllByCode(Collection<String> shortCodes) {
+        if (shortCodes.stream().anyMatch(code -> isRecent(codeKey(code)))) {
+            return primary.findAllByCode(shortCodes);
+        }
+        List<ShortLink> found = new ArrayList<>(
+                replicas.read(replica -> replica.findAllByCode(shortCodes), () -> primary.findAllByCode(shortCodes)));
+        Set<String> known = new HashSet<>();
+        found.forEach(link -> known.add(link.getShortLink()));
+        List<String> missing = shortCodes.stream().filter(code -> !known.contains(code)).distinct().toList();
+        if (!missing.isEmpty()) {
+            found.addAll(primary.findAllByCode(missing));
+        }
+        return found;
+    }
+
+    @Override
+    public Optional<ShortLink> findByUrl(String originalUrl) {
+        if (!urlHashBackfill.isComplete() || isRecent(urlKey(originalUrl))) {
+            return primary.findByUrl(originalUrl);
+        }
+        return replicas.read(replica -> replica.findByUrl(originalUrl), () -> primary.findByUrl(originalUrl));
+    }
+
+    @Override
+    public Map<String, ShortLink> findAllByUrl(Collection<String> originalUrls) {
+        if (!urlHashBackfill.isComplete() || originalUrls.stream().anyMatch(url -> isRecent(urlKey(url)))) {
+            return primary.findAllByUrl(originalUrls);
+        }
+        return replicas.read(replica -> replica.findAllByUrl(originalUrls), () -> primary.findAllByUrl(originalUrls));
+    }
+
+    @Override
+    public void save(ShortLink link) {
+        try {
+            primary.save(link);
+        } finally {
+            // also after a conflict, so the caller's re-read finds the winning row
+            remember(link);
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<ShortLink> links) {
+        try {
+            primary.saveAll(links);
+        } finally {
+            links.forEach(this::remember);
+        }
+    }
+
+    @Override
+    public void saveAlias(ShortLink link) {
+        try {
+            primary.saveAlias(link);
+        } finally {
+            remember(link);
+        }
+    }
+
+    @Override
+    public void delete(ShortLink link) {
+        primary.delete(link);
+        remember(link);
+    }
+
+    @Override
+    public void deleteAll(Collection<ShortLink> links) {
+        primary.deleteAll(links);
+        links.forEach(this::remember);
+    }
+
+    @Override
+    public int deleteExpiredByUrl(String originalUrl) {
+        int deleted = primary.deleteExpiredByUrl(originalUrl);
+        recentWrites.put(urlKey(originalUrl), Boolean.TRUE);
+        return deleted;
+    }
+
+    private void remember(ShortLink link) {
+        recentWrites.put(codeKey(link.getShortLink()), Boolean.TRUE);
+        recentWrites.put(urlKey(link.getOriginalUrl()), Boolean.TRUE);
+    }
+
+    private boolean isRecent(String key) {
+        return recentWrites.getIfPresent(key) != null;
+    }
+
+    private static String codeKey(String shortCode) {
+        return "c:" + shortCode;
+    }
+
+    private static String urlKey(String originalUrl) {
+        return "u:" + originalUrl;
+    }
+}
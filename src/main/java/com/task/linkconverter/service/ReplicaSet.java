@@ -0,0 +1,95 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.interfaces.LinkStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read replicas of the primary {@code short_link} table, read through plain JDBC with the same
+ * column mapping as a shard; nothing is ever written to them. Reads go round-robin over the
+ * healthy replicas. A replica that fails a read is taken out of rotation and the read moves on
+ * to the next one, then to the primary; a periodic health check brings it back once it
+ * answers again.
+ */
+@Slf4j
+public class ReplicaSet {
+    private final List<JdbcShardStore> replicas;
+    // 1 while in rotation
+    private final AtomicIntegerArray healthy;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaSet(List<JdbcShardStore> replicas) {
+        this.replicas = List.copyOf(replicas);
+        this.healthy = new AtomicIntegerArray(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            healthy.set(i, 1);
+        }
+    }
+
+    public <T> T read(Function<LinkStore, T> query, Supplier<T> primary) {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int attempt = 0; attempt < size; attempt++) {
+            int index = (start + attempt) % size;
+            if (healthy.get(index) == 0) {
+                continue;
+            }
+            try {
+                return query.apply(replicas.get(index));
+            } catch (DataAccessException e) {
+                if (healthy.compareAndSet(index, 1, 0)) {
+                    log.warn("Replica {} failed a read and is out of rotation: {}", index, e.getMessage());
+                }
+            }
+        }
+        return primary.get();
+    }
+
+    @Scheduled(fixedDelayString = "#{@replicationProperties.healthCheckInterval.toMillis()}")
+    public void checkHealth() {
+        for (int index = 0; index < replicas.size(); index++) {
+            boolean up;
+            try {
+                // also fails while the replica has not received the table yet
+                replicas.get(index).jdbcTemplate()
+                        .queryForObject("SELECT COUNT(*) FROM short_link WHERE id < 0", Integer.class);
+                up = true;
+            } catch (DataAccessException e) {
+                up = false;
+            }
+            int previous = healthy.getAndSet(index, up ? 1 : 0);
+            if (up && previous == 0) {
+                log.info("Replica {} is healthy again and back in rotation", index);
+            } else if (!up && previous == 1) {
+                log.warn("Replica {} failed its health check and is out of rotation", index);
+            }
+        }
+    }
+
+    public boolean isHealthy(int index) {
+        return healthy.get(index) == 1;
+    }
+
+    public int size() {
+        return replicas.size();
+    }
+
+    public void close() {
+        for (JdbcShardStore replica : replicas) {
+            if (replica.dataSource() instanceof AutoCloseable pool) {
+                try {
+                    pool.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close the pool of replica {}: {}", replica.index(), e.getMessage());
+                }
+            }
+        }
+    }
+}
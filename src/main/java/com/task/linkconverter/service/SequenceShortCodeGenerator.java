@@ -0,0 +1,111 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.interfaces.IdRangeAllocator;
+import com.task.linkconverter.interfaces.ShortCodeGenerator;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out ids from blocks leased through an {@link IdRangeAllocator} and encodes them as
+ * fixed-width base62. Codes are unique across nodes as long as they share the allocator.
+ */
+@Slf4j
+public class SequenceShortCodeGenerator implements ShortCodeGenerator {
+    // how far past the sequence an imported code may move it
+    static final long MAX_RESERVE_AHEAD = 100_000_000L;
+
+    private final IdRangeAllocator allocator;
+    private final int blockSize;
+    private final int minLength;
+    // Not synchronized: leasing does I/O and must not pin a virtual thread's carrier
+    private final ReentrantLock leaseLock = new ReentrantLock();
+    private volatile Block block = new Block(0, 0);
+
+    public SequenceShortCodeGenerator(IdRangeAllocator allocator, int blockSize, int minLength) {
+        this.allocator = allocator;
+        this.blockSize = blockSize;
+        this.minLength = minLength;
+    }
+
+    @Override
+    public String generate(String originalUrl) {
+        return Base62Codec.encode(nextId(), minLength);
+    }
+
+    @Override
+    public boolean isCollisionFree() {
+        return true;
+    }
+
+    /**
+     * Moves the shared sequence past the largest id among the codes this generator could
+     * produce. Ids below the sequence's previous position may sit in a block another node has
+     * leased, so their codes are returned as taken. So are codes more than
+     * {@link #MAX_RESERVE_AHEAD} ids past the sequence, which would otherwise let one import
+     * skip most of the code space or overflow it.
+     */
+    @Override
+    public Set<String> reserve(Collection<String> codes) {
+        Map<String, Long> ids = new HashMap<>();
+        for (String code : codes) {
+            long id = Base62Codec.decode(code);
+            if (id >= 0 && Base62Codec.encode(id, minLength).equals(code)) {
+                ids.put(code, id);
+            }
+        }
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> taken = new HashSet<>();
+        long ceiling = allocator.next() + MAX_RESERVE_AHEAD;
+        ids.entrySet().removeIf(entry -> entry.getValue() > ceiling && taken.add(entry.getKey()));
+        if (ids.isEmpty()) {
+            return taken;
+        }
+        long next = allocator.reserveThrough(Collections.max(ids.values()));
+        ids.forEach((code, id) -> {
+            if (id < next) {
+                taken.add(code);
+            }
+        });
+        return taken;
+    }
+
+    long nextId() {
+        while (true) {
+            Block current = block;
+            long id = current.next.getAndIncrement();
+            if (id < current.end) {
+                return id;
+            }
+            leaseLock.lock();
+            try {
+                if (block == current) {
+                    long start = allocator.allocate(blockSize);
+                    log.debug("Leased id block [{}, {})", start, start + blockSize);
+                    block = new Block(start, start + blockSize);
+                }
+            } finally {
+                leaseLock.unlock();
+            }
+        }
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
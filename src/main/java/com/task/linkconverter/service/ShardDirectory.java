@@ -0,0 +1,111 @@
+package com.task.linkconverter.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Maps each of the {@link #SLOTS} logical slots to the shard that owns it. A code's slot is its
+ * first base62 character and a URL's slot comes from its fingerprint; the sharded code generator
+ * makes the two agree for every new link.
+ * <p>
+ * The map lives in a {@code shard_slot} table on shard 0 so that every instance routes the same
+ * way; it is seeded round-robin on first start and re-read on every {@link #refresh()}. While a
+ * slot is being moved it also names its previous owner, which reads fall back to.
+ */
+public class ShardDirectory {
+    public static final int SLOTS = 62;
+    public static final int NONE = -1;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int shardCount;
+    private volatile Assignment assignment;
+    private volatile long refreshedAt;
+
+    public ShardDirectory(JdbcTemplate jdbcTemplate, int shardCount) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardCount = shardCount;
+    }
+
+    public static int slotOf(String shortCode) {
+        int digit = shortCode.isEmpty() ? NONE : Base62Codec.digit(shortCode.charAt(0));
+        // a code that does not start with a base62 symbol was not generated here; it simply misses in slot 0
+        return digit == NONE ? 0 : digit;
+    }
+
+    public static int slotOfUrl(String originalUrl) {
+        return (int) Long.remainderUnsigned(UrlFingerprint.of(originalUrl), SLOTS);
+    }
+
+    public void initialize() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS shard_slot ("
+                + "slot INTEGER NOT NULL PRIMARY KEY, "
+                + "owner INTEGER NOT NULL, "
+                + "previous INTEGER NOT NULL)");
+        Integer seeded = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM shard_slot", Integer.class);
+        if (seeded == null || seeded == 0) {
+            List<Object[]> rows = new ArrayList<>(SLOTS);
+            for (int slot = 0; slot < SLOTS; slot++) {
+                rows.add(new Object[]{slot, slot % shardCount, NONE});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO shard_slot (slot, owner, previous) VALUES (?, ?, ?)", rows);
+        }
+        refresh();
+    }
+
+    public void refresh() {
+        int[] owners = new int[SLOTS];
+        int[] previous = new int[SLOTS];
+        Arrays.fill(owners, NONE);
+        jdbcTemplate.query("SELECT slot, owner, previous FROM shard_slot", rs -> {
+            int slot = rs.getInt("slot");
+            owners[slot] = rs.getInt("owner");
+            previous[slot] = rs.getInt("previous");
+        });
+        for (int slot = 0; slot < SLOTS; slot++) {
+            if (owners[slot] < 0 || owners[slot] >= shardCount || previous[slot] >= shardCount) {
+                throw new IllegalStateException("Slot " + slot + " is assigned to shard " + owners[slot]
+                        + " (previous " + previous[slot] + ") but only " + shardCount + " shards are configured");
+            }
+        }
+        assignment = new Assignment(owners, previous);
+        refreshedAt = System.nanoTime();
+    }
+
+    /**
+     * Time since the map was last read successfully.
+     */
+    public Duration age() {
+        return Duration.ofNanos(System.nanoTime() - refreshedAt);
+    }
+
+    public int owner(int slot) {
+        return assignment.owners()[slot];
+    }
+
+    /**
+     * The shard a slot is being moved away from, or {@link #NONE}.
+     */
+    public int previous(int slot) {
+        return assignment.previous()[slot];
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Records a new owner for the slot and applies it locally right away; other instances pick it
+     * up on their next refresh.
+     */
+    public void assign(int slot, int owner, int previous) {
+        jdbcTemplate.update("UPDATE shard_slot SET owner = ?, previous = ? WHERE slot = ?", owner, previous, slot);
+        refresh();
+    }
+
+    private record Assignment(int[] owners, int[] previous) {
+    }
+}
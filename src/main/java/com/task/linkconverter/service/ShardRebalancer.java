@@ -0,0 +1,119 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.config.ShardingProperties;
+import com.task.linkconverter.model.ShortLink;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves slots between shards while the application keeps serving. To add a shard, append it
+ * to {@code app.sharding.shards} and restart the instances one by one (the new shard owns no
+ * slots, so nothing routes to it yet), then run {@link #rebalance()} on one instance.
+ * <p>
+ * A slot is moved in four steps: it is first marked as migrating, so that every instance sends
+ * new links to the target and falls back to the source on reads; after two refresh intervals
+ * its rows are copied to the target in batches, skipping codes already there; then the target
+ * becomes the sole owner, and after two more intervals the source is drained. Draining copies
+ * each batch again before deleting it, so a link an instance with a stale directory wrote to
+ * the source in the meantime is moved rather than lost; by then such an instance refuses
+ * writes, see {@link ShardedLinkStore}.
+ */
+@Slf4j
+public class ShardRebalancer {
+    private final ShardedLinkStore store;
+    private final ShardingProperties properties;
+
+    public ShardRebalancer(ShardedLinkStore store, ShardingProperties properties) {
+        this.store = store;
+        this.properties = properties;
+    }
+
+    /**
+     * Moves slots from the most to the least loaded shards until every shard owns
+     * {@code SLOTS / shards} slots, give or take one, and returns the moves as
+     * {@code slot:source->target}.
+     */
+    public synchronized List<String> rebalance() {
+        ShardDirectory directory = store.directory();
+        int shardCount = directory.shardCount();
+        List<List<Integer>> owned = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            owned.add(new ArrayList<>());
+        }
+        for (int slot = 0; slot < ShardDirectory.SLOTS; slot++) {
+            owned.get(directory.owner(slot)).add(slot);
+        }
+        List<String> moves = new ArrayList<>();
+        while (true) {
+            int largest = 0;
+            int smallest = 0;
+            for (int shard = 1; shard < shardCount; shard++) {
+                if (owned.get(shard).size() > owned.get(largest).size()) {
+                    largest = shard;
+                }
+                if (owned.get(shard).size() < owned.get(smallest).size()) {
+                    smallest = shard;
+                }
+            }
+            if (owned.get(largest).size() - owned.get(smallest).size() <= 1) {
+                return moves;
+            }
+            int slot = owned.get(largest).remove(owned.get(largest).size() - 1);
+            moveSlot(slot, smallest);
+            owned.get(smallest).add(slot);
+            moves.add(slot + ":" + largest + "->" + smallest);
+        }
+    }
+
+    public synchronized void moveSlot(int slot, int target) {
+        ShardDirectory directory = store.directory();
+        int source = directory.owner(slot);
+        if (source == target) {
+            return;
+        }
+        JdbcShardStore from = store.shards().get(source);
+        JdbcShardStore to = store.shards().get(target);
+        int batchSize = properties.getCopyBatchSize();
+
+        directory.assign(slot, target, source);
+        awaitRefresh();
+        int copied = 0;
+        String after = "";
+        List<ShortLink> batch;
+        do {
+            batch = from.findBySlot(slot, after, batchSize);
+            if (!batch.isEmpty()) {
+                copied += to.saveMissing(batch);
+                after = batch.get(batch.size() - 1).getShortLink();
+            }
+        } while (batch.size() == batchSize);
+
+        directory.assign(slot, target, ShardDirectory.NONE);
+        awaitRefresh();
+        int deleted = 0;
+        do {
+            batch = from.findBySlot(slot, "", batchSize);
+            if (!batch.isEmpty()) {
+                copied += to.saveMissing(batch);
+                from.deleteAll(batch);
+                deleted += batch.size();
+            }
+        } while (batch.size() == batchSize);
+        log.info("Moved slot {} from shard {} to shard {}: copied {} links, deleted {}",
+                slot, source, target, copied, deleted);
+    }
+
+    // other instances see a directory change on their next refresh, which may already be running
+    private void awaitRefresh() {
+        Duration interval = properties.getRefreshInterval();
+        try {
+            Thread.sleep(interval.multipliedBy(2).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the shard directory to propagate", e);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.interfaces.LinkStore;
+import com.task.linkconverter.model.ShortLink;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Spreads links over several {@link JdbcShardStore}s. Lookups by code are routed by the code's
+ * slot and lookups by URL by the URL's slot, which is the same shard for every link created
+ * through the sharded code generator, so both are single-shard queries. While a slot is being
+ * moved, writes go to its new owner and reads that miss there fall back to the previous one.
+ * An instance that has not refreshed its directory for two refresh intervals, the time the
+ * {@link ShardRebalancer} waits for a change to propagate, refuses writes rather than send
+ * them to a shard that may no longer own the slot.
+ * <p>
+ * Batch calls are split per shard; {@link #saveAll} is atomic within each shard but not
+ * across shards.
+ */
+@Slf4j
+public class ShardedLinkStore implements LinkStore {
+    private final List<JdbcShardStore> shards;
+    private final ShardDirectory directory;
+    private final Duration maxDirectoryAge;
+
+    public ShardedLinkStore(List<JdbcShardStore> shards, ShardDirectory directory, Duration refreshInterval) {
+        this.shards = List.copyOf(shards);
+        this.directory = directory;
+        this.maxDirectoryAge = refreshInterval.multipliedBy(2);
+    }
+
+    public List<JdbcShardStore> shards() {
+        return shards;
+    }
+
+    public ShardDirectory directory() {
+        return directory;
+    }
+
+    @Scheduled(fixedDelayString = "#{@shardingProperties.refreshInterval.toMillis()}")
+    public void refreshDirectory() {
+        try {
+            directory.refresh();
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh the shard directory, keeping the current one: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public Optional<ShortLink> findByCode(String shortCode) {
+        int slot = ShardDirectory.slotOf(shortCode);
+        Optional<ShortLink> link = owner(slot).findByCode(shortCode);
+        int previous = directory.previous(slot);
+        if (link.isPresent() || previous == ShardDirectory.NONE) {
+            return link;
+        }
+        return shards.get(previous).findByCode(shortCode);
+    }
+
+    @Override
+    public List<ShortLink> findAllByCode(Collection<String> shortCodes) {
+        List<ShortLink> found = new ArrayList<>();
+        Map<Integer, List<String>> byOwner = groupBy(shortCodes, code -> directory.owner(ShardDirectory.slotOf(code)));
+        Set<String> codes = new HashSet<>();
+        byOwner.forEach((shard, group) -> shards.get(shard).findAllByCode(group).forEach(link -> {
+            found.add(link);
+            codes.add(link.getShortLink());
+        }));
+        List<String> missing = shortCodes.stream()
+                .filter(code -> !codes.contains(code) && directory.previous(ShardDirectory.slotOf(code)) != ShardDirectory.NONE)
+                .toList();
+        groupBy(missing, code -> directory.previous(ShardDirectory.slotOf(code)))
+                .forEach((shard, group) -> found.addAll(shards.get(shard).findAllByCode(group)));
+        return found;
+    }
+
+    @Override
+    public Optional<ShortLink> findByUrl(String originalUrl) {
+        int slot = ShardDirectory.slotOfUrl(originalUrl);
+        Optional<ShortLink> link = owner(slot).findByUrl(originalUrl);
+        int previous = directory.previous(slot);
+        if (link.isPresent() || previous == ShardDirectory.NONE) {
+            return link;
+        }
+        return shards.get(previous).findByUrl(originalUrl);
+    }
+
+    @Override
+    public Map<String, ShortLink> findAllByUrl(Collection<String> originalUrls) {
+        Map<String, ShortLink> live = new HashMap<>();
+        groupBy(originalUrls, url -> directory.owner(ShardDirectory.slotOfUrl(url)))
+                .forEach((shard, group) -> live.putAll(shards.get(shard).findAllByUrl(group)));
+        List<String> missing = originalUrls.stream()
+                .filter(url -> !live.containsKey(url)
+                        && directory.previous(ShardDirectory.slotOfUrl(url)) != ShardDirectory.NONE)
+                .toList();
+        groupBy(missing, url -> directory.previous(ShardDirectory.slotOfUrl(url)))
+                .forEach((shard, group) -> shards.get(shard).findAllByUrl(group).forEach(live::putIfAbsent));
+        return live;
+    }
+
+    @Override
+    public void save(ShortLink link) {
+        checkDirectoryFresh();
+        owner(ShardDirectory.slotOf(link.getShortLink())).save(link);
+    }
+
+    @Override
+    public void saveAll(Collection<ShortLink> links) {
+        checkDirectoryFresh();
+        groupBy(links, link -> directory.owner(ShardDirectory.slotOf(link.getShortLink())))
+                .forEach((shard, group) -> shards.get(shard).saveAll(group));
+    }
+
+    @Override
+    public void saveAlias(ShortLink link) {
+        checkDirectoryFresh();
+        owner(ShardDirectory.slotOf(link.getShortLink())).saveAlias(link);
+    }
+
+    @Override
+    public void delete(ShortLink link) {
+        int slot = ShardDirectory.slotOf(link.getShortLink());
+        owner(slot).delete(link);
+        int previous = directory.previous(slot);
+        if (previous != ShardDirectory.NONE) {
+            shards.get(previous).delete(link);
+        }
+    }
+
+    @Override
+    public void deleteAll(Collection<ShortLink> links) {
+        groupBy(links, link -> directory.owner(ShardDirectory.slotOf(link.getShortLink())))
+                .forEach((shard, group) -> shards.get(shard).deleteAll(group));
+        List<ShortLink> migrating = links.stream()
+                .filter(link -> directory.previous(ShardDirectory.slotOf(link.getShortLink())) != ShardDirectory.NONE)
+                .toList();
+        groupBy(migrating, link -> directory.previous(ShardDirectory.slotOf(link.getShortLink())))
+                .forEach((shard, group) -> shards.get(shard).deleteAll(group));
+    }
+
+    @Override
+    public int deleteExpiredByUrl(String originalUrl) {
+        int slot = ShardDirectory.slotOfUrl(originalUrl);
+        int deleted = owner(slot).deleteExpiredByUrl(originalUrl);
+        int previous = directory.previous(slot);
+        if (previous != ShardDirectory.NONE) {
+            deleted += shards.get(previous).deleteExpiredByUrl(originalUrl);
+        }
+        return deleted;
+    }
+
+    /**
+     * Closes the shard connection pools; called by the container on shutdown.
+     */
+    public void close() {
+        for (JdbcShardStore shard : shards) {
+            if (shard.dataSource() instanceof AutoCloseable pool) {
+                try {
+                    pool.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close the pool of shard {}: {}", shard.index(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void checkDirectoryFresh() {
+        Duration age = directory.age();
+        if (age.compareTo(maxDirectoryAge) > 0) {
+            throw new IllegalStateException("Shard directory was last refreshed " + age.toSeconds()
+                    + "s ago; refusing writes until it can be read again");
+        }
+    }
+
+    private JdbcShardStore owner(int slot) {
+        return shards.get(directory.owner(slot));
+    }
+
+    private static <T> Map<Integer, List<T>> groupBy(Collection<T> items, Function<T, Integer> shard) {
+        Map<Integer, List<T>> groups = new HashMap<>();
+        for (T item : items) {
+            groups.computeIfAbsent(shard.apply(item), key -> new ArrayList<>()).add(item);
+        }
+        return groups;
+    }
+}
@@ -0,0 +1,48 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.interfaces.ShortCodeGenerator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Prefixes every code with the base62 symbol of its URL's slot, so the code alone tells the
+ * {@link ShardedLinkStore} which shard holds the link, and a dedup lookup by URL lands on the
+ * same shard. The prefix makes codes one character longer and keeps them collision-free if
+ * the delegate's codes are.
+ */
+public class ShardedShortCodeGenerator implements ShortCodeGenerator {
+    private final ShortCodeGenerator delegate;
+
+    public ShardedShortCodeGenerator(ShortCodeGenerator delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String generate(String originalUrl) {
+        return Base62Codec.symbol(ShardDirectory.slotOfUrl(originalUrl)) + delegate.generate(originalUrl);
+    }
+
+    @Override
+    public boolean isCollisionFree() {
+        return delegate.isCollisionFree();
+    }
+
+    @Override
+    public Set<String> reserve(Collection<String> codes) {
+        Map<String, List<String>> byRest = new HashMap<>();
+        for (String code : codes) {
+            if (code.length() > 1) {
+                byRest.computeIfAbsent(code.substring(1), rest -> new ArrayList<>()).add(code);
+            }
+        }
+        Set<String> taken = new HashSet<>();
+        delegate.reserve(byRest.keySet()).forEach(rest -> taken.addAll(byRest.get(rest)));
+        return taken;
+    }
+}
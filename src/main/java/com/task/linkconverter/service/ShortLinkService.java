@@ -1,110 +1,221 @@
 package com.task.linkconverter.service;
 
+import com.task.linkconverter.cache.CachedLink;
+import com.task.linkconverter.cache.LinkCache;
 import com.task.linkconverter.exceptions.LinkExpiredException;
 import com.task.linkconverter.exceptions.LinkNotFoundException;
 import com.task.linkconverter.exceptions.RateLimitExceededException;
 import com.task.linkconverter.exceptions.ShortLinkCollisionException;
-import com.task.linkconverter.interfaces.ShortLinkRepository;
+import com.task.linkconverter.interfaces.LinkFilter;
+import com.task.linkconverter.interfaces.LinkStore;
+import com.task.linkconverter.interfaces.LinkWriter;
+import com.task.linkconverter.interfaces.RateLimiter;
+import com.task.linkconverter.interfaces.ShortCodeGenerator;
+import com.task.linkconverter.metrics.LinkMetrics;
+import com.task.linkconverter.metrics.RequestLogSampler;
 import com.task.linkconverter.model.ShortLink;
-import io.seruco.encoding.base62.Base62;
-import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.script.DefaultRedisScript;
-import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.concurrent.TimeUnit;
+import java.util.Optional;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ShortLinkService {
-    private static final String GLOBAL_RATE_LIMIT_KEY = "global_rate_limit";
-    private static final int GLOBAL_RATE_LIMIT = 100;
-    private static final int WINDOW_MINUTES = 1;
-
-    private final ShortLinkRepository repository;
-    private final RedisTemplate<String, Integer> redisTemplate;
+    private final LinkStore linkStore;
+    private final RateLimiter globalRateLimiter;
+    private final LinkCache linkCache;
+    private final ShortCodeGenerator codeGenerator;
+    private final LinkWriter linkWriter;
+    private final LinkFilter linkFilter;
+    private final LinkMetrics metrics;
+    private final RequestLogSampler logSampler;
+    private final SingleFlight<String, CachedLink> lookups = new SingleFlight<>();
+    private final SingleFlight<String, String> shortens = new SingleFlight<>();
 
     public String shortenUrl(String originalUrl) {
+        return shortenUrl(originalUrl, null, null);
+    }
+
+    /**
+     * Returns the live short code for the URL, creating one with the given redirect status and
+     * lifetime if there is none. An existing link keeps its own status and expiry.
+     */
+    public String shortenUrl(String originalUrl, Integer redirectStatus, Duration ttl) {
         checkGlobalRateLimit();
+        long start = System.nanoTime();
         try {
-            log.debug("Shortening URL: {}", originalUrl);
-            return repository.findByOriginalUrl(originalUrl)
-                    .map(existing -> {
-                        log.info("Returning existing short code for URL: {}", originalUrl);
-                        return existing.getShortLink();
-                    })
-                    .orElseGet(() -> createAndSaveShortLink(originalUrl));
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+            return findOrCreate(originalUrl, redirectStatus, ttl);
+        } finally {
+            metrics.recordShorten(start);
         }
     }
 
-    private void checkGlobalRateLimit() {
-        Long currentCount = redisTemplate.opsForValue().increment(GLOBAL_RATE_LIMIT_KEY, 1);
+    /**
+     * Concurrent calls for the same URL share one lookup and at most one insert, and all of them
+     * return its code.
+     */
+    String findOrCreate(String originalUrl, Integer redirectStatus, Duration ttl) {
+        return shortens.execute(originalUrl, () -> findOrCreateNow(originalUrl, redirectStatus, ttl));
+    }
 
-        if (currentCount != null && currentCount == 1) {
-            redisTemplate.expire(GLOBAL_RATE_LIMIT_KEY, WINDOW_MINUTES, TimeUnit.MINUTES);
-        }
+    private String findOrCreateNow(String originalUrl, Integer redirectStatus, Duration ttl) {
+        log.debug("Shortening URL: {}", originalUrl);
+        return findByOriginalUrl(originalUrl)
+                .map(existing -> {
+                    if (logSampler.sample()) {
+                        log.info("Returning existing short code for URL: {}", originalUrl);
+                    }
+                    return existing.getShortLink();
+                })
+                .orElseGet(() -> createAndSaveShortLink(originalUrl, redirectStatus, ttl));
+    }
+
+    Optional<ShortLink> findByOriginalUrl(String originalUrl) {
+        Instant now = Instant.now();
+        return linkWriter.pendingByUrl(originalUrl)
+                .filter(pending -> !pending.isExpired(now))
+                .or(() -> linkFilter.mightContainUrl(originalUrl) ? linkStore.findByUrl(originalUrl) : Optional.empty());
+    }
 
-        if (currentCount != null && currentCount > GLOBAL_RATE_LIMIT) {
+    void checkGlobalRateLimit() {
+        if (!globalRateLimiter.tryAcquire()) {
+            metrics.globalRateLimited();
             throw new RateLimitExceededException("Global rate limit exceeded");
         }
     }
 
-    private String createAndSaveShortLink(String originalUrl) {
+    private String createAndSaveShortLink(String originalUrl, Integer redirectStatus, Duration ttl) {
         String shortCode = generateShortLink(originalUrl);
-        if (repository.findByShortLink(shortCode).isPresent()) {
-            log.error("Hash collision detected for URL: {}", originalUrl);
-            throw new ShortLinkCollisionException("Short code collision detected");
+        Instant now = Instant.now();
+        if (!codeGenerator.isCollisionFree() && linkFilter.mightContainCode(shortCode)) {
+            Optional<ShortLink> taken = linkStore.findByCode(shortCode);
+            if (taken.isPresent() && !taken.get().isExpired(now)) {
+                metrics.collision();
+                log.error("Hash collision detected for URL: {}", originalUrl);
+                throw new ShortLinkCollisionException("Short code collision detected");
+            }
+            // the code is free again once its previous link has expired
+            taken.ifPresent(linkStore::delete);
         }
 
-        ShortLink shortLink = new ShortLink(null, originalUrl, shortCode, Instant.now());
-        repository.save(shortLink);
-        log.info("Created new short link: {} -> {}", shortCode, originalUrl);
+        ShortLink shortLink = new ShortLink(null, originalUrl, shortCode, now,
+                UrlFingerprint.of(originalUrl), redirectStatus, now.plus(ttl != null ? ttl : ShortLink.TTL));
+        // added before the write, so no lookup can rule out a stored link
+        linkFilter.add(shortLink);
+        Optional<String> winner = write(shortLink);
+        if (winner.isPresent()) {
+            return winner.get();
+        }
+        linkCache.put(shortCode, CachedLink.of(shortLink));
+        if (logSampler.sample()) {
+            log.info("Created new short link: {} -> {}", shortCode, originalUrl);
+        }
         return shortCode;
     }
 
+    /**
+     * Writes the link, or returns the code written first for the same URL by another node or by
+     * a batch on this one. The store keeps one row per URL fingerprint, so the full URL is
+     * compared here: a row left by an expired link under the fingerprint is deleted and the write
+     * retried once. A taken code is a collision; any other violation, including a live link to a
+     * different URL with the same fingerprint, is rethrown.
+     */
+    private Optional<String> write(ShortLink link) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                linkWriter.write(link);
+                return Optional.empty();
+            } catch (DataIntegrityViolationException e) {
+                Optional<ShortLink> stored = linkWriter.pendingByUrl(link.getOriginalUrl())
+                        .filter(pending -> !pending.isExpired(Instant.now()))
+                        .or(() -> linkStore.findByUrl(link.getOriginalUrl()));
+                if (stored.isPresent()) {
+                    return Optional.of(stored.get().getShortLink());
+                }
+                if (linkStore.findByCode(link.getShortLink()).isPresent()) {
+                    metrics.collision();
+                    throw new ShortLinkCollisionException("Short code collision detected");
+                }
+                if (attempt > 0 || linkStore.deleteExpiredByUrl(link.getOriginalUrl()) == 0) {
+                    throw e;
+                }
+            }
+        }
+    }
+
     public String getOriginalUrl(String shortCode) {
-        log.debug("Retrieving original URL for: {}", shortCode);
-        ShortLink shortLink = repository.findByShortLink(shortCode)
-                .orElseThrow(() -> {
-                    log.warn("Short link not found: {}", shortCode);
-                    return new LinkNotFoundException("Short link not found");
-                });
-
-        if (isExpired(shortLink)) {
-            log.warn("Attempt to access expired link: {}", shortCode);
+        return getLink(shortCode).getOriginalUrl();
+    }
+
+    /**
+     * Returns the live link for the code, with its expiry and redirect status, or throws if the
+     * code is unknown or expired.
+     */
+    public CachedLink getLink(String shortCode) {
+        long start = System.nanoTime();
+        try {
+            log.debug("Retrieving original URL for: {}", shortCode);
+            CachedLink link = linkCache.getIfPresent(shortCode);
+            if (link != null) {
+                metrics.cacheHit();
+            } else {
+                link = linkCache.get(shortCode, this::loadLink);
+            }
+            return resolve(shortCode, link);
+        } finally {
+            metrics.recordLookup(start);
+        }
+    }
+
+    CachedLink resolve(String shortCode, CachedLink link) {
+        if (link.isMissing()) {
+            metrics.notFound();
+            if (logSampler.sample()) {
+                log.warn("Short link not found: {}", shortCode);
+            }
+            throw new LinkNotFoundException("Short link not found");
+        }
+
+        if (link.isExpired(Instant.now())) {
+            metrics.expired();
+            if (logSampler.sample()) {
+                log.warn("Attempt to access expired link: {}", shortCode);
+            }
+            linkCache.evict(shortCode);
             throw new LinkExpiredException("Short link has expired");
         }
 
-        return shortLink.getOriginalUrl();
+        return link;
     }
 
-    private boolean isExpired(ShortLink shortLink) {
-        return shortLink.getCreatedAt().plus(10, ChronoUnit.MINUTES).isBefore(Instant.now());
+    /**
+     * Loads the code from storage; concurrent loads of the same code share one query.
+     */
+    CachedLink loadLink(String shortCode) {
+        metrics.cacheMiss();
+        return lookups.execute(shortCode, () -> loadLinkNow(shortCode));
     }
 
-    public String generateShortLink(String originalUrl) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(originalUrl.getBytes(StandardCharsets.UTF_8));
-
-            Base62 base62 = Base62.createInstance();
-            byte[] encoded = base62.encode(Arrays.copyOf(hash, 6));
-            return new String(encoded, StandardCharsets.UTF_8);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Error generating short code", e);
+    private CachedLink loadLinkNow(String shortCode) {
+        if (!linkFilter.mightContainCode(shortCode)) {
+            metrics.filtered();
+            return linkWriter.pendingByCode(shortCode)
+                    .map(CachedLink::of)
+                    .orElse(CachedLink.missing());
         }
+        return linkStore.findByCode(shortCode)
+                .or(() -> linkWriter.pendingByCode(shortCode))
+                .map(CachedLink::of)
+                .orElse(CachedLink.missing());
+    }
+
+    public String generateShortLink(String originalUrl) {
+        return codeGenerator.generate(originalUrl);
     }
 }
\ No newline at end of file
@@ -0,0 +1,125 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.model.ShortLink;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fills {@code url_hash} for rows written before the column existed, in small batches so
+ * that no long-running lock is held. Until it completes, URL lookups also consult rows
+ * without a fingerprint. A failed pass is logged and retried every few minutes.
+ * <p>
+ * Legacy rows may repeat a URL, which the unique fingerprint no longer allows: the first row
+ * to claim the fingerprint keeps it, a later expired one is deleted, and a later live one is
+ * left without a fingerprint, so its code still resolves like an alias.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UrlHashBackfill {
+    private static final int BATCH_SIZE = 1000;
+    private static final String UPDATE = "UPDATE short_link SET url_hash = ? WHERE id = ? AND url_hash IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean complete;
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        run();
+    }
+
+    @Scheduled(fixedDelay = 5, initialDelay = 5, timeUnit = TimeUnit.MINUTES)
+    public void retry() {
+        if (!complete) {
+            run();
+        }
+    }
+
+    public void run() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            backfill();
+            complete = true;
+        } catch (DataAccessException e) {
+            log.warn("url_hash backfill failed, retrying later: {}", e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void backfill() {
+        long total = 0;
+        long duplicates = 0;
+        long afterId = Long.MIN_VALUE;
+        while (true) {
+            List<LegacyRow> rows = jdbcTemplate.query(
+                    "SELECT id, original_url, created_at, expires_at FROM short_link "
+                            + "WHERE url_hash IS NULL AND id > ? ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> {
+                        Timestamp expiresAt = rs.getTimestamp(4);
+                        Instant createdAt = rs.getTimestamp(3).toInstant();
+                        return new LegacyRow(rs.getLong(1), UrlFingerprint.of(rs.getString(2)),
+                                expiresAt != null ? expiresAt.toInstant() : createdAt.plus(ShortLink.TTL));
+                    },
+                    afterId, BATCH_SIZE);
+            if (rows.isEmpty()) {
+                break;
+            }
+            List<Object[]> updates = new ArrayList<>(rows.size());
+            rows.forEach(row -> updates.add(new Object[]{row.urlHash(), row.id()}));
+            try {
+                jdbcTemplate.batchUpdate(UPDATE, updates);
+            } catch (DataIntegrityViolationException e) {
+                // some of the batch repeat a fingerprinted URL; resolve them one by one
+                for (LegacyRow row : rows) {
+                    duplicates += backfillSingly(row) ? 0 : 1;
+                }
+            }
+            total += rows.size();
+            afterId = rows.get(rows.size() - 1).id();
+        }
+        if (total > 0) {
+            log.info("Backfilled url_hash for {} links, {} of them duplicates of another link", total, duplicates);
+        }
+    }
+
+    // false if the row duplicates a fingerprinted URL
+    private boolean backfillSingly(LegacyRow row) {
+        try {
+            jdbcTemplate.update(UPDATE, row.urlHash(), row.id());
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            if (row.expiresAt().isBefore(Instant.now())) {
+                jdbcTemplate.update("DELETE FROM short_link WHERE id = ?", row.id());
+            }
+            return false;
+        }
+    }
+
+    private record LegacyRow(long id, long urlHash, Instant expiresAt) {
+    }
+}
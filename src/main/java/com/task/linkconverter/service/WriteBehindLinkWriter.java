@@ -0,0 +1,240 @@
+package com.task.linkconverter.service;
+
+import com.task.linkconverter.config.PersistenceProperties;
+import com.task.linkconverter.interfaces.LinkStore;
+import com.task.linkconverter.interfaces.LinkWriter;
+import com.task.linkconverter.model.ShortLink;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Acknowledges a new link once it is in the {@link LinkAppendLog} and commits it to the
+ * {@link LinkStore} later, in batches. Until then the link is served from the pending maps.
+ * <p>
+ * A link enters the pending maps before its log append starts, and each flush rotates the log
+ * before taking its snapshot of pending links, so every record in a segment older than the
+ * rotation belongs to a link in the snapshot. The older segments are deleted only when the
+ * whole snapshot is committed. On startup, links left in the log are pending again and are
+ * committed by the first flush; links that reached the store before a crash are skipped by
+ * code. A logged link whose URL is held by an expired row is retried once the row is deleted,
+ * and one whose URL another node has since linked is kept as an {@link LinkStore#saveAlias alias},
+ * since its code was already handed out. A logged link the store still refuses is moved to the
+ * log's dead-letter file, and kept pending if that fails. Above {@code max-pending} links, writes
+ * fall back to a synchronous save. A URL has at most one live pending link, so a second write
+ * for it fails as it would against the store.
+ */
+@Slf4j
+public class WriteBehindLinkWriter implements LinkWriter {
+    private final LinkStore linkStore;
+    private final PersistenceProperties.WriteBehind properties;
+    private final LinkAppendLog appendLog;
+    private final Map<String, ShortLink> pendingByCode = new ConcurrentHashMap<>();
+    private final Map<String, ShortLink> pendingByUrl = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public WriteBehindLinkWriter(LinkStore linkStore, PersistenceProperties.WriteBehind properties) {
+        this.linkStore = linkStore;
+        this.properties = properties;
+        this.appendLog = new LinkAppendLog(Path.of(properties.getDirectory()));
+        List<ShortLink> recovered = appendLog.recover();
+        for (ShortLink link : recovered) {
+            addPending(link);
+        }
+        if (!recovered.isEmpty()) {
+            log.info("Recovered {} links from the write-behind log", recovered.size());
+        }
+    }
+
+    @Override
+    public void write(ShortLink link) {
+        if (pendingByCode.size() >= properties.getMaxPending()) {
+            log.warn("Write-behind backlog at {} links, saving synchronously", pendingByCode.size());
+            linkStore.save(link);
+            return;
+        }
+        addAndLog(List.of(link));
+    }
+
+    @Override
+    public void writeAll(Collection<ShortLink> links) {
+        if (pendingByCode.size() + links.size() > properties.getMaxPending()) {
+            log.warn("Write-behind backlog at {} links, saving {} synchronously", pendingByCode.size(), links.size());
+            linkStore.saveAll(links);
+            return;
+        }
+        addAndLog(links);
+    }
+
+    private void addAndLog(Collection<ShortLink> links) {
+        List<ShortLink> added = new ArrayList<>(links.size());
+        try {
+            for (ShortLink link : links) {
+                if (!tryAddPending(link)) {
+                    throw new DataIntegrityViolationException(
+                            "URL " + link.getOriginalUrl() + " already has a pending short code");
+                }
+                added.add(link);
+            }
+            // appended together, so the batch shares the log's forced writes
+            List<CompletableFuture<Void>> appends = new ArrayList<>(links.size());
+            links.forEach(link -> appends.add(appendLog.append(link)));
+            for (CompletableFuture<Void> append : appends) {
+                append.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            added.forEach(this::removePending);
+            throw new IllegalStateException("Interrupted while logging " + links.size() + " links", e);
+        } catch (ExecutionException e) {
+            added.forEach(this::removePending);
+            throw new IllegalStateException("Failed to log " + links.size() + " links", e.getCause());
+        } catch (RuntimeException e) {
+            added.forEach(this::removePending);
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<ShortLink> pendingByCode(String shortCode) {
+        return Optional.ofNullable(pendingByCode.get(shortCode));
+    }
+
+    @Override
+    public Optional<ShortLink> pendingByUrl(String originalUrl) {
+        return Optional.ofNullable(pendingByUrl.get(originalUrl));
+    }
+
+    public int pendingCount() {
+        return pendingByCode.size();
+    }
+
+    @Scheduled(fixedDelayString = "#{@persistenceProperties.writeBehind.flushInterval.toMillis()}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            if (pendingByCode.isEmpty()) {
+                // nothing pending: every record outside the active segment is committed
+                appendLog.deleteBefore(appendLog.activeSegment());
+                return;
+            }
+            long segment = appendLog.rotate();
+            List<ShortLink> snapshot = new ArrayList<>(pendingByCode.values());
+            boolean committed = true;
+            for (int from = 0; from < snapshot.size(); from += properties.getBatchSize()) {
+                committed &= commit(snapshot.subList(from, Math.min(from + properties.getBatchSize(), snapshot.size())));
+            }
+            if (committed) {
+                appendLog.deleteBefore(segment);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+        appendLog.close();
+    }
+
+    private boolean commit(List<ShortLink> batch) {
+        try {
+            try {
+                linkStore.saveAll(copies(batch));
+            } catch (DataIntegrityViolationException e) {
+                log.info("Batch of {} links conflicted, committing one by one", batch.size());
+                for (ShortLink link : batch) {
+                    commitSingly(link);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to commit {} links, retrying on next flush: {}", batch.size(), e.getMessage());
+            return false;
+        }
+        batch.forEach(this::removePending);
+        return true;
+    }
+
+    private void commitSingly(ShortLink link) {
+        if (linkStore.findByCode(link.getShortLink()).isPresent()) {
+            return;
+        }
+        DataIntegrityViolationException refused;
+        try {
+            linkStore.save(copy(link));
+            return;
+        } catch (DataIntegrityViolationException e) {
+            refused = e;
+        }
+        if (linkStore.deleteExpiredByUrl(link.getOriginalUrl()) > 0) {
+            try {
+                linkStore.save(copy(link));
+                return;
+            } catch (DataIntegrityViolationException e) {
+                refused = e;
+            }
+        }
+        Optional<ShortLink> winner = linkStore.findByUrl(link.getOriginalUrl());
+        if (winner.isPresent()) {
+            try {
+                linkStore.saveAlias(copy(link));
+                log.info("Stored logged link {} as an alias of {}", link.getShortLink(), winner.get().getShortLink());
+                return;
+            } catch (DataIntegrityViolationException e) {
+                refused = e;
+            }
+        }
+        // acknowledged to the caller, so it is kept for an operator rather than dropped
+        log.error("Moving logged link {} that cannot be stored to the dead-letter file: {}",
+                link.getShortLink(), refused.getMessage());
+        appendLog.deadLetter(link);
+    }
+
+    // false if the URL already has a live pending link; an expired one is replaced
+    private boolean tryAddPending(ShortLink link) {
+        Instant now = Instant.now();
+        ShortLink held = pendingByUrl.merge(link.getOriginalUrl(), link,
+                (current, added) -> current.isExpired(now) ? added : current);
+        if (held != link) {
+            return false;
+        }
+        pendingByCode.put(link.getShortLink(), link);
+        return true;
+    }
+
+    private void addPending(ShortLink link) {
+        pendingByCode.put(link.getShortLink(), link);
+        pendingByUrl.put(link.getOriginalUrl(), link);
+    }
+
+    private void removePending(ShortLink link) {
+        pendingByCode.remove(link.getShortLink(), link);
+        pendingByUrl.remove(link.getOriginalUrl(), link);
+    }
+
+    // fresh entities per attempt, so ids assigned by a rolled-back batch are not reused
+    private static List<ShortLink> copies(List<ShortLink> links) {
+        List<ShortLink> copies = new ArrayList<>(links.size());
+        links.forEach(link -> copies.add(copy(link)));
+        return copies;
+    }
+
+    private static ShortLink copy(ShortLink link) {
+        return new ShortLink(null, link.getOriginalUrl(), link.getShortLink(), link.getCreatedAt(),
+                link.getUrlHash(), link.getRedirectStatus(), link.getExpiresAt());
+    }
+}
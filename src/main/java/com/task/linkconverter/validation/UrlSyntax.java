@@ -0,0 +1,205 @@
+package com.task.linkconverter.validation;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+
+/**
+ * Single-pass, allocation-free URL checks used on the shorten and retrieve paths.
+ * {@link #isValid} accepts exactly what the former {@code @Pattern} on
+ * {@code ShortenRequest.originalUrl} accepted:
+ * {@code ^https://www\.[a-zA-Z0-9-]+\.[a-zA-Z]{2,5}(?:/[a-zA-Z0-9-._~!$&'()*+,;=:@/?%]*)?$}
+ */
+public final class UrlSyntax {
+    private static final String PREFIX = "https://www.";
+    private static final boolean[] LABEL = table("-");
+    private static final boolean[] PATH = table("-._~!$&'()*+,;=:@/?%");
+    // characters java.net.URI accepts unescaped in a hierarchical URI, minus '%'
+    private static final boolean[] URI_SAFE = table("-._~!$&'()*+,;=:@/?#");
+
+    private UrlSyntax() {
+    }
+
+    public static boolean isValid(CharSequence url) {
+        int length = url.length();
+        if (length < PREFIX.length() || !startsWithPrefix(url)) {
+            return false;
+        }
+        int i = PREFIX.length();
+        int labelStart = i;
+        while (i < length && is(LABEL, url.charAt(i))) {
+            i++;
+        }
+        if (i == labelStart || i == length || url.charAt(i) != '.') {
+            return false;
+        }
+        int tldStart = ++i;
+        while (i < length && isLetter(url.charAt(i))) {
+            i++;
+        }
+        int tldLength = i - tldStart;
+        if (tldLength < 2 || tldLength > 5) {
+            return false;
+        }
+        if (i == length) {
+            return true;
+        }
+        if (url.charAt(i) != '/') {
+            return false;
+        }
+        for (i++; i < length; i++) {
+            if (!is(PATH, url.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Canonical form of a URL accepted by {@link #isValid}: the host is lower-cased and a path
+     * consisting of a single {@code /} is dropped. Returns the argument itself when it is
+     * already canonical.
+     */
+    public static String normalize(String url) {
+        int hostEnd = url.indexOf('/', PREFIX.length());
+        int end = hostEnd < 0 ? url.length() : hostEnd;
+        boolean trailingSlash = hostEnd == url.length() - 1;
+        boolean upperCase = false;
+        for (int i = PREFIX.length(); i < end && !upperCase; i++) {
+            char c = url.charAt(i);
+            upperCase = c >= 'A' && c <= 'Z';
+        }
+        if (!upperCase && !trailingSlash) {
+            return url;
+        }
+        StringBuilder normalized = new StringBuilder(url.length());
+        for (int i = 0; i < end; i++) {
+            char c = url.charAt(i);
+            normalized.append(c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+        }
+        if (!trailingSlash) {
+            normalized.append(url, end, url.length());
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Last segment of the URL's path, as {@link URI#getPath()} would give it. Plain ASCII URLs
+     * are scanned in place, so the only allocation is the returned substring; anything with
+     * escapes or characters that need URI's own rules goes through {@link URI}.
+     *
+     * @throws IllegalArgumentException if the URL is not a valid URI
+     */
+    public static String lastPathSegment(String url) {
+        int length = url.length();
+        int fragments = 0;
+        for (int i = 0; i < length; i++) {
+            char c = url.charAt(i);
+            if (!is(URI_SAFE, c) || (c == '#' && ++fragments > 1)) {
+                return lastPathSegmentOfUri(url);
+            }
+        }
+        int pathStart = 0;
+        int scheme = schemeLength(url);
+        if (scheme == 0 && colonInFirstSegment(url)) {
+            return lastPathSegmentOfUri(url);
+        }
+        if (scheme > 0) {
+            if (!url.startsWith("//", scheme + 1)) {
+                return lastPathSegmentOfUri(url);
+            }
+            pathStart = scheme + 3;
+        } else if (url.startsWith("//")) {
+            pathStart = 2;
+        }
+        if (pathStart > 0) {
+            int authorityStart = pathStart;
+            while (pathStart < length && "/?#".indexOf(url.charAt(pathStart)) < 0) {
+                pathStart++;
+            }
+            if (pathStart == authorityStart) {
+                return lastPathSegmentOfUri(url);
+            }
+        }
+        int pathEnd = pathStart;
+        while (pathEnd < length && url.charAt(pathEnd) != '?' && url.charAt(pathEnd) != '#') {
+            pathEnd++;
+        }
+        int segmentStart = url.lastIndexOf('/', pathEnd - 1) + 1;
+        return url.substring(Math.max(segmentStart, pathStart), pathEnd);
+    }
+
+    static String lastPathSegmentOfUri(String url) {
+        try {
+            String path = new URI(url).getPath();
+            if (path == null) {
+                throw new IllegalArgumentException("Invalid short URL format");
+            }
+            return path.substring(path.lastIndexOf('/') + 1);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid short URL format");
+        }
+    }
+
+    // length of a leading "scheme" followed by ':', or 0 if there is none
+    private static int schemeLength(String url) {
+        int length = url.length();
+        if (length == 0 || !isLetter(url.charAt(0))) {
+            return 0;
+        }
+        for (int i = 1; i < length; i++) {
+            char c = url.charAt(i);
+            if (c == ':') {
+                return i;
+            }
+            if (!isLetter(c) && !(c >= '0' && c <= '9') && c != '+' && c != '-' && c != '.') {
+                return 0;
+            }
+        }
+        return 0;
+    }
+
+    private static boolean colonInFirstSegment(String url) {
+        for (int i = 0; i < url.length(); i++) {
+            char c = url.charAt(i);
+            if (c == ':') {
+                return true;
+            }
+            if (c == '/' || c == '?' || c == '#') {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static boolean startsWithPrefix(CharSequence url) {
+        for (int i = 0; i < PREFIX.length(); i++) {
+            if (url.charAt(i) != PREFIX.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean is(boolean[] table, char c) {
+        return c < table.length && table[c];
+    }
+
+    private static boolean[] table(String symbols) {
+        boolean[] table = new boolean[128];
+        for (char c = '0'; c <= '9'; c++) {
+            table[c] = true;
+        }
+        for (char c = 'a'; c <= 'z'; c++) {
+            table[c] = true;
+            table[c - 'a' + 'A'] = true;
+        }
+        for (int i = 0; i < symbols.length(); i++) {
+            table[symbols.charAt(i)] = true;
+        }
+        return table;
+    }
+}
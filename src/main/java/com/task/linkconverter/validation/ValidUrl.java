@@ -0,0 +1,25 @@
+package com.task.linkconverter.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotated string must be a URL {@link UrlSyntax#isValid} accepts. {@code null} is valid.
+ */
+@Documented
+@Constraint(validatedBy = ValidUrlValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidUrl {
+    String message() default "URL must be in format: https://www.[domain].[2-5 letter TLD]/[optional path]";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,12 @@
+package com.task.linkconverter.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class ValidUrlValidator implements ConstraintValidator<ValidUrl, CharSequence> {
+
+    @Override
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        return value == null || UrlSyntax.isValid(value);
+    }
+}
@@ -0,0 +1,161 @@
+package com.task.linkconverter;
+
+import com.task.linkconverter.cache.LinkCache;
+import com.task.linkconverter.config.AppConfig;
+import com.task.linkconverter.config.BatchProperties;
+import com.task.linkconverter.config.CacheProperties;
+import com.task.linkconverter.config.PersistenceProperties;
+import com.task.linkconverter.interfaces.IdRangeAllocator;
+import com.task.linkconverter.interfaces.LinkFilter;
+import com.task.linkconverter.interfaces.LinkWriter;
+import com.task.linkconverter.interfaces.ShortLinkRepository;
+import com.task.linkconverter.model.BatchShortenResult;
+import com.task.linkconverter.model.BatchShortenResult.Status;
+import com.task.linkconverter.model.ShortLink;
+import com.task.linkconverter.model.ShortenRequest;
+import com.task.linkconverter.service.BatchShortenService;
+import com.task.linkconverter.service.DirectLinkWriter;
+import com.task.linkconverter.service.JpaLinkStore;
+import com.task.linkconverter.service.SequenceShortCodeGenerator;
+import com.task.linkconverter.service.ShortLinkService;
+import com.task.linkconverter.service.UrlHashBackfill;
+import com.task.linkconverter.service.WriteBehindLinkWriter;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchShortenServiceTest {
+
+    @Mock
+    private ShortLinkService shortLinkService;
+
+    @Mock
+    private ShortLinkRepository repository;
+
+    @Mock
+    private UrlHashBackfill urlHashBackfill;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final BatchProperties properties = new BatchProperties();
+
+    private BatchShortenService batchService;
+
+    private JpaLinkStore linkStore;
+
+    @BeforeEach
+    void setUp() {
+        linkStore = new JpaLinkStore(repository, urlHashBackfill, transactionManager);
+        batchService = batchService(new DirectLinkWriter(linkStore));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shorten_DeduplicatesWithinChunkAndResolvesExisting() {
+        ShortLink existing = new ShortLink(1L, "https://www.example.com/old", "abc123", Instant.now());
+        when(repository.findAllByUrlHashIn(anyCollection())).thenReturn(List.of(existing));
+
+        List<BatchShortenResult> results = run(
+                "https://www.example.com/old",
+                "https://www.example.com/new",
+                "https://www.example.com/new",
+                "not-a-url");
+
+        assertEquals(4, results.size());
+        assertEquals(Status.EXISTING, results.get(0).getStatus());
+        assertEquals("http://localhost:8080/abc123", results.get(0).getShortLink());
+        assertEquals(Status.CREATED, results.get(1).getStatus());
+        assertEquals(Status.CREATED, results.get(2).getStatus());
+        assertEquals(results.get(1).getShortLink(), results.get(2).getShortLink());
+        assertEquals(Status.INVALID, results.get(3).getStatus());
+        assertEquals(3, results.get(3).getIndex());
+
+        ArgumentCaptor<List<ShortLink>> saved = ArgumentCaptor.forClass(List.class);
+        verify(repository).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        verify(repository, times(1)).findAllByUrlHashIn(anyCollection());
+    }
+
+    @Test
+    void shorten_StopsAtMaxItems() {
+        properties.setChunkSize(2);
+        properties.setMaxItems(3);
+        when(repository.findAllByUrlHashIn(anyCollection())).thenReturn(List.of());
+
+        List<BatchShortenResult> results = run(
+                "https://www.example.com/1",
+                "https://www.example.com/2",
+                "https://www.example.com/3",
+                "https://www.example.com/4");
+
+        assertEquals(4, results.size());
+        assertEquals(Status.CREATED, results.get(2).getStatus());
+        assertEquals(Status.ERROR, results.get(3).getStatus());
+        assertEquals(3, results.get(3).getIndex());
+        verify(repository, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    void shorten_WithWriteBehind_ReportsPendingLinkAsExistingAndLogsNewOnes(@TempDir Path directory) {
+        PersistenceProperties.WriteBehind writeBehind = new PersistenceProperties.WriteBehind();
+        writeBehind.setDirectory(directory.toString());
+        WriteBehindLinkWriter writer = new WriteBehindLinkWriter(linkStore, writeBehind);
+        writer.write(new ShortLink(null, "https://www.example.com/pending", "pend01", Instant.now()));
+        batchService = batchService(writer);
+
+        List<BatchShortenResult> results = run("https://www.example.com/pending", "https://www.example.com/new");
+
+        assertEquals(Status.EXISTING, results.get(0).getStatus());
+        assertEquals("http://localhost:8080/pend01", results.get(0).getShortLink());
+        assertEquals(Status.CREATED, results.get(1).getStatus());
+        assertTrue(writer.pendingByUrl("https://www.example.com/new").isPresent());
+        verify(repository, never()).saveAll(anyIterable());
+        writer.close();
+    }
+
+    private BatchShortenService batchService(LinkWriter linkWriter) {
+        AtomicLong next = new AtomicLong();
+        IdRangeAllocator allocator = size -> next.getAndAdd(size);
+        AppConfig appConfig = new AppConfig();
+        appConfig.setBaseUrl("http://localhost:8080");
+        return new BatchShortenService(
+                shortLinkService,
+                linkStore,
+                linkWriter,
+                new SequenceShortCodeGenerator(allocator, 100, 7),
+                LinkFilter.none(),
+                new LinkCache(new CacheProperties(), Optional.empty(), Optional.empty()),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                appConfig,
+                properties);
+    }
+
+    private List<BatchShortenResult> run(String... urls) {
+        List<ShortenRequest> requests = new ArrayList<>();
+        for (String url : urls) {
+            requests.add(new ShortenRequest(url));
+        }
+        List<BatchShortenResult> results = new ArrayList<>();
+        batchService.shorten(requests.iterator(), results::addAll);
+        return results;
+    }
+}
@@ -0,0 +1,118 @@
+package com.task.linkconverter;
+
+import com.task.linkconverter.cache.CachedLink;
+import com.task.linkconverter.cache.HotSetTracker;
+import com.task.linkconverter.cache.LinkCache;
+import com.task.linkconverter.config.CacheProperties;
+import com.task.linkconverter.interfaces.LinkStore;
+import com.task.linkconverter.model.ShortLink;
+import com.task.linkconverter.service.CacheWarmer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmerTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private LinkStore linkStore;
+
+    @Mock
+    private LinkCache linkCache;
+
+    private CacheProperties properties;
+    private HotSetTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CacheProperties();
+        properties.getWarmup().setEnabled(true);
+        properties.getWarmup().setFile(directory.resolve("hot-set.txt").toString());
+        properties.getWarmup().setSize(3);
+        tracker = new HotSetTracker(properties);
+    }
+
+    @Test
+    void tracker_RanksByRecentRedirects() {
+        hit("old", 8);
+        tracker.decay();
+        tracker.decay();
+        hit("new", 3);
+        hit("cold", 1);
+
+        assertEquals(List.of("new", "old", "cold"), tracker.top(3));
+        assertEquals(List.of("new"), tracker.top(1));
+
+        tracker.decay();
+        assertEquals(2, tracker.size());
+        tracker.decay();
+        assertEquals(List.of(), tracker.top(3));
+    }
+
+    @Test
+    void snapshot_IsLoadedIntoCacheOnNextStart() throws IOException {
+        hit("aaa", 5);
+        hit("bbb", 9);
+        hit("ccc", 1);
+        hit("ddd", 2);
+        new CacheWarmer(tracker, linkStore, linkCache, properties).shutdown();
+        assertEquals(List.of("bbb", "aaa", "ddd"), Files.readAllLines(Path.of(properties.getWarmup().getFile())));
+
+        Instant now = Instant.now();
+        when(linkStore.findAllByCode(anyCollection())).thenAnswer(invocation -> {
+            List<ShortLink> links = new ArrayList<>();
+            for (String code : invocation.<Collection<String>>getArgument(0)) {
+                Instant createdAt = code.equals("ddd") ? now.minus(Duration.ofDays(2)) : now;
+                links.add(new ShortLink(null, "https://www.example.com/" + code, code, createdAt));
+            }
+            return links;
+        });
+        CacheWarmer warmer = new CacheWarmer(new HotSetTracker(properties), linkStore, linkCache, properties);
+        warmer.warmUp();
+
+        assertEquals(CacheWarmer.State.WARM, warmer.state());
+        assertEquals(3, warmer.processed());
+        assertEquals(2, warmer.cached());
+        verify(linkCache).putLocal(eq("aaa"), any(CachedLink.class));
+        verify(linkCache).putLocal(eq("bbb"), any(CachedLink.class));
+        verify(linkCache, never()).putLocal(eq("ddd"), any(CachedLink.class));
+    }
+
+    @Test
+    void warmUp_WithoutSnapshot_StartsCold() {
+        CacheWarmer warmer = new CacheWarmer(tracker, linkStore, linkCache, properties);
+        warmer.warmUp();
+
+        assertEquals(CacheWarmer.State.WARM, warmer.state());
+        verify(linkStore, never()).findAllByCode(anyCollection());
+    }
+
+    private void hit(String code, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.record(code);
+        }
+    }
+}
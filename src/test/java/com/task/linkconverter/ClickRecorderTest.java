@@ -0,0 +1,157 @@
+package com.task.linkconverter;
+
+import com.task.linkconverter.config.AnalyticsProperties;
+import com.task.linkconverter.interfaces.ClickStatsStore;
+import com.task.linkconverter.model.ClickCount;
+import com.task.linkconverter.model.LinkStatsResponse;
+import com.task.linkconverter.service.ClickRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClickRecorderTest {
+    private static final Instant NOW = Instant.parse("2024-05-01T10:15:30Z");
+
+    private InMemoryStore store;
+    private AnalyticsProperties properties;
+    private ClickRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryStore();
+        properties = new AnalyticsProperties();
+        properties.setBufferSize(16);
+        recorder = new ClickRecorder(store, properties, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void flush_AggregatesPerCodeMinuteAndReferrer() {
+        recorder.record("abc123", "https://www.Google.com/search?q=x");
+        recorder.record("abc123", "https://www.google.com/");
+        recorder.record("abc123", null);
+        recorder.record("xyz789", null);
+
+        recorder.flush();
+
+        assertEquals(1, store.writes);
+        assertTrue(store.counts.contains(
+                new ClickCount("abc123", Instant.parse("2024-05-01T10:15:00Z"), "www.google.com", 2)));
+        assertTrue(store.counts.contains(new ClickCount("abc123", Instant.parse("2024-05-01T10:15:00Z"), "", 1)));
+        assertTrue(store.counts.contains(new ClickCount("xyz789", Instant.parse("2024-05-01T10:15:00Z"), "", 1)));
+    }
+
+    @Test
+    void fullBuffer_DropsAndCounts() {
+        for (int i = 0; i < 20; i++) {
+            recorder.record("abc123", null);
+        }
+
+        assertEquals(4, recorder.droppedClicks());
+        recorder.flush();
+        assertEquals(16, store.counts.get(0).getClicks());
+
+        assertTrue(recorder.record("abc123", null));
+    }
+
+    @Test
+    void failedWrite_RetriedOnNextFlush() {
+        recorder.record("abc123", null);
+        store.fail = true;
+        recorder.flush();
+        store.fail = false;
+        recorder.record("abc123", null);
+
+        recorder.flush();
+
+        assertEquals(List.of(new ClickCount("abc123", Instant.parse("2024-05-01T10:15:00Z"), "", 2)), store.counts);
+    }
+
+    @Test
+    void disabled_RecordsNothing() {
+        properties.setEnabled(false);
+
+        assertFalse(recorder.record("abc123", null));
+        recorder.flush();
+
+        assertEquals(0, store.writes);
+    }
+
+    @Test
+    void concurrentProducers_NoClickLostOrDuplicated() throws Exception {
+        properties.setBufferSize(1 << 16);
+        recorder = new ClickRecorder(store, properties, Clock.fixed(NOW, ZoneOffset.UTC));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 5000; i++) {
+                    if (recorder.record("abc123", null)) {
+                        accepted.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        recorder.flush();
+
+        assertEquals(40_000, accepted.get() + recorder.droppedClicks());
+        assertEquals(accepted.get(), store.counts.stream().mapToLong(ClickCount::getClicks).sum());
+    }
+
+    @Test
+    void stats_BuildsTimelineAndReferrers() {
+        store.counts.add(new ClickCount("abc123", Instant.parse("2024-05-01T10:16:00Z"), "t.co", 3));
+        store.counts.add(new ClickCount("abc123", Instant.parse("2024-05-01T10:15:00Z"), "www.google.com", 5));
+        store.counts.add(new ClickCount("abc123", Instant.parse("2024-05-01T10:15:00Z"), "", 1));
+
+        LinkStatsResponse stats = recorder.stats("abc123");
+
+        assertEquals(9, stats.getTotalClicks());
+        assertEquals(List.of("www.google.com", "t.co"), new ArrayList<>(stats.getReferrers().keySet()));
+        assertEquals(List.of(
+                new LinkStatsResponse.Bucket(Instant.parse("2024-05-01T10:15:00Z"), 6),
+                new LinkStatsResponse.Bucket(Instant.parse("2024-05-01T10:16:00Z"), 3)), stats.getTimeline());
+    }
+
+    private static class InMemoryStore implements ClickStatsStore {
+        final List<ClickCount> counts = new ArrayList<>();
+        int writes;
+        boolean fail;
+
+        @Override
+        public void add(Collection<ClickCount> added) {
+            if (fail) {
+                throw new IllegalStateException("store down");
+            }
+            writes++;
+            counts.addAll(added);
+        }
+
+        @Override
+        public List<ClickCount> find(String shortLink) {
+            return counts.stream().filter(count -> count.getShortLink().equals(shortLink)).toList();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.task.linkconverter;
+
+import com.task.linkconverter.config.RateLimitProperties;
+import com.task.linkconverter.service.ClientRateLimiters;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientRateLimitersTest {
+
+    private final RateLimitProperties properties = new RateLimitProperties();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void policyWithoutRate_IsRejectedByName() {
+        policy("shorten", 0, Duration.ofSeconds(1), 5);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> new ClientRateLimiters(properties, registry));
+        assertTrue(e.getMessage().contains("policies.shorten.rate"));
+    }
+
+    @Test
+    void policyWithZeroBurstOrPeriod_IsRejected() {
+        policy("redirect", 10, Duration.ofSeconds(1), 0);
+        assertThrows(IllegalStateException.class, () -> new ClientRateLimiters(properties, registry));
+
+        policy("redirect", 10, Duration.ZERO, 1);
+        assertThrows(IllegalStateException.class, () -> new ClientRateLimiters(properties, registry));
+    }
+
+    @Test
+    void limiterCounts_AreExportedByPolicyAndOutcome() {
+        policy("retrieve", 1, Duration.ofHours(1), 1);
+        ClientRateLimiters limiters = new ClientRateLimiters(properties, registry);
+
+        limiters.getLimiters().get(0).tryAcquire("ip:1");
+        limiters.getLimiters().get(0).tryAcquire("ip:1");
+
+        assertEquals(1, registry.get("links.client_rate_limit")
+                .tags("policy", "retrieve", "outcome", "allowed").functionCounter().count());
+        assertEquals(1, registry.get("links.client_rate_limit")
+                .tags("policy", "retrieve", "outcome", "rejected").functionCounter().count());
+    }
+
+    private void policy(String name, int rate, Duration period, int burst) {
+        RateLimitProperties.Policy policy = new RateLimitProperties.Policy();
+        policy.setRate(rate);
+        policy.setPeriod(period);
+        policy.setBurst(burst);
+        properties.getClient().getPolicies().put(name, policy);
+    }
+}
@@ -0,0 +1,52 @@
+package com.task.linkconverter;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.task.linkconverter.service.GcraRateLimiter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GcraRateLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final Ticker ticker = nanos::get;
+
+    @Test
+    void burstAllowedThenSpacedByEmissionInterval() {
+        GcraRateLimiter limiter = new GcraRateLimiter("shorten", 10, Duration.ofSeconds(1), 3, 100, ticker);
+
+        assertEquals(0, limiter.tryAcquire("ip:1"));
+        assertEquals(0, limiter.tryAcquire("ip:1"));
+        assertEquals(0, limiter.tryAcquire("ip:1"));
+        long wait = limiter.tryAcquire("ip:1");
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), wait);
+
+        nanos.addAndGet(wait);
+        assertEquals(0, limiter.tryAcquire("ip:1"));
+        assertEquals(4, limiter.allowedCount());
+        assertEquals(1, limiter.rejectedCount());
+    }
+
+    @Test
+    void clientsAreLimitedIndependently() {
+        GcraRateLimiter limiter = new GcraRateLimiter("redirect", 1, Duration.ofSeconds(1), 1, 100, ticker);
+
+        assertEquals(0, limiter.tryAcquire("ip:1"));
+        assertTrue(limiter.tryAcquire("ip:1") > 0);
+        assertEquals(0, limiter.tryAcquire("key:tenant-a"));
+    }
+
+    @Test
+    void noFixedWindowEdgeBurst() {
+        GcraRateLimiter limiter = new GcraRateLimiter("shorten", 2, Duration.ofSeconds(1), 2, 100, ticker);
+
+        assertEquals(0, limiter.tryAcquire("ip:1"));
+        assertEquals(0, limiter.tryAcquire("ip:1"));
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+        assertTrue(limiter.tryAcquire("ip:1") > 0);
+    }
+}
@@ -0,0 +1,37 @@
+package com.task.linkconverter;
+
+import com.task.linkconverter.interfaces.LinkStore;
+import com.task.linkconverter.interfaces.ShortLinkRepository;
+import com.task.linkconverter.service.JpaLinkStore;
+import com.task.linkconverter.service.UrlHashBackfill;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// without the test transaction, so each call commits on its own as it does in the service
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JpaLinkStoreTest extends LinkStoreContractTest {
+
+    @Autowired
+    private ShortLinkRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private LinkStore store;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAllInBatch();
+        store = new JpaLinkStore(repository, new UrlHashBackfill(null), transactionManager);
+    }
+
+    @Override
+    protected LinkStore store() {
+        return store;
+    }
+}
@@ -0,0 +1,88 @@
+package com.task.linkconverter;
+
+import com.task.linkconverter.config.RateLimitProperties;
+import com.task.linkconverter.service.LeasedTokenBucketRateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeasedTokenBucketRateLimiterTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private final RateLimitProperties properties = new RateLimitProperties();
+
+    @BeforeEach
+    void setUp() {
+        properties.setLimit(100);
+        properties.setWindow(Duration.ofHours(1));
+        properties.getLeased().setTolerance(0.05);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void tryAcquire_ServesLeasedTokensLocally_ThenRejectsWithoutRedis() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(5L, 0L);
+        LeasedTokenBucketRateLimiter limiter = new LeasedTokenBucketRateLimiter(redisTemplate, Runnable::run, properties);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        // initial lease, two low-watermark prefetches, one lease on the empty bucket
+        verify(redisTemplate, times(4)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void tryAcquire_RedisUnavailable_FailsOpenWithLocalLease() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        LeasedTokenBucketRateLimiter limiter = new LeasedTokenBucketRateLimiter(redisTemplate, Runnable::run, properties);
+
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void tryAcquire_RedisUnavailable_GrantsOneLocalLeasePerWindow() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        LeasedTokenBucketRateLimiter limiter = new LeasedTokenBucketRateLimiter(redisTemplate, Runnable::run, properties);
+
+        // lease size is 5% of the limit of 100
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        for (int i = 0; i < 10; i++) {
+            assertFalse(limiter.tryAcquire());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void tryAcquire_RedisUnavailableAndFailClosed_Rejects() {
+        properties.getLeased().setFailOpen(false);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        LeasedTokenBucketRateLimiter limiter = new LeasedTokenBucketRateLimiter(redisTemplate, Runnable::run, properties);
+
+        assertFalse(limiter.tryAcquire());
+    }
+}
@@ -0,0 +1,114 @@
+package com.task.linkconverter;
+
+import com.task.linkconverter.cache.CachedLink;
+import com.task.linkconverter.cache.LinkCache;
+import com.task.linkconverter.cache.MappedLinkIndex;
+import com.task.linkconverter.cache.SharedLinkCache;
+import com.task.linkconverter.config.CacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LinkCacheTest {
+
+    @Mock
+    private SharedLinkCache sharedCache;
+
+    @Mock
+    private MappedLinkIndex index;
+
+    private LinkCache linkCache;
+
+    @BeforeEach
+    void setUp() {
+        linkCache = new LinkCache(new CacheProperties(), Optional.of(sharedCache), Optional.empty());
+    }
+
+    @Test
+    void localMiss_SharedHit_LoaderNotCalled() {
+        CachedLink shared = link("https://www.example.com");
+        when(sharedCache.get("abc123")).thenReturn(shared);
+        AtomicInteger loads = new AtomicInteger();
+
+        CachedLink result = linkCache.get("abc123", code -> {
+            loads.incrementAndGet();
+            return CachedLink.missing();
+        });
+
+        assertEquals(shared, result);
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void bothTiersMiss_LoadedValueWrittenToShared() {
+        CachedLink loaded = link("https://www.example.com");
+        when(sharedCache.get("abc123")).thenReturn(null);
+
+        assertEquals(loaded, linkCache.get("abc123", code -> loaded));
+        assertEquals(loaded, linkCache.get("abc123", code -> fail("should be served locally")));
+
+        verify(sharedCache).put("abc123", loaded);
+        verify(sharedCache, times(1)).get("abc123");
+    }
+
+    @Test
+    void put_PublishesInvalidation() {
+        CachedLink created = link("https://www.example.com");
+
+        linkCache.put("abc123", created);
+
+        verify(sharedCache).put("abc123", created);
+        verify(sharedCache).publishInvalidation("abc123");
+    }
+
+    @Test
+    void invalidateLocal_DropsEntryWithoutTouchingShared() {
+        linkCache.put("abc123", link("https://www.example.com"));
+        when(sharedCache.get("abc123")).thenReturn(null);
+
+        linkCache.invalidateLocal("abc123");
+        CachedLink reloaded = linkCache.get("abc123", code -> CachedLink.missing());
+
+        assertTrue(reloaded.isMissing());
+        verify(sharedCache, never()).evict("abc123");
+    }
+
+    @Test
+    void indexedExpiredLink_IsLoadedFromStorage() {
+        LinkCache indexed = new LinkCache(new CacheProperties(), Optional.of(sharedCache), Optional.of(index));
+        Instant past = Instant.now().minus(1, ChronoUnit.HOURS);
+        when(index.get("abc123")).thenReturn(new CachedLink("https://www.example.com/old", past, past.plusSeconds(60)));
+        CachedLink reissued = link("https://www.example.com/new");
+
+        assertNull(indexed.getIndexed("abc123"));
+        assertEquals(reissued, indexed.get("abc123", code -> reissued));
+        verify(index).put("abc123", reissued);
+    }
+
+    @Test
+    void invalidateLocal_AndEvict_DropIndexedRecord() {
+        LinkCache indexed = new LinkCache(new CacheProperties(), Optional.of(sharedCache), Optional.of(index));
+
+        indexed.invalidateLocal("abc123");
+        indexed.evict("def456");
+
+        verify(index).remove("abc123");
+        verify(index).remove("def456");
+    }
+
+    private CachedLink link(String url) {
+        Instant now = Instant.now();
+        return new CachedLink(url, now, now.plus(10, ChronoUnit.MINUTES));
+    }
+}
@@ -0,0 +1,85 @@
+package com.task.linkconverter;
+
+import com.task.linkconverter.cache.LocalLinkFilter;
+import com.task.linkconverter.config.CacheProperties;
+import com.task.linkconverter.interfaces.LinkFilter;
+import com.task.linkconverter.model.ShortLink;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LinkFilterTest {
+
+    private final LocalLinkFilter filter = new LocalLinkFilter(new CacheProperties.Filter());
+
+    @Test
+    void beforeFirstBuild_NothingIsRuledOut() {
+        assertFalse(filter.isReady());
+        assertTrue(filter.mightContainCode("abc123"));
+        assertTrue(filter.mightContainUrl("https://www.example.com/a"));
+    }
+
+    @Test
+    void afterBuild_KnowsLinksAndRulesOutOthers() {
+        rebuild(link("abc123", "https://www.example.com/a"));
+
+        assertTrue(filter.isReady());
+        assertTrue(filter.mightContainCode("abc123"));
+        assertTrue(filter.mightContainUrl("https://www.example.com/a"));
+        assertFalse(filter.mightContainCode("abc124"));
+        assertFalse(filter.mightContainUrl("https://www.example.com/b"));
+        // codes and URLs are kept apart even for the same string
+        assertFalse(filter.mightContainUrl("abc123"));
+    }
+
+    @Test
+    void addedLink_SurvivesOneRebuildAndDropsOutAfterTwo() {
+        rebuild();
+        filter.add(link("abc123", "https://www.example.com/a"));
+        assertTrue(filter.mightContainCode("abc123"));
+
+        rebuild();
+        assertTrue(filter.mightContainCode("abc123"));
+
+        rebuild();
+        assertFalse(filter.mightContainCode("abc123"));
+    }
+
+    @Test
+    void startRebuild_WhileRunning_ReturnsEmpty() {
+        LinkFilter.Rebuild running = filter.startRebuild().orElseThrow();
+
+        assertTrue(filter.startRebuild().isEmpty());
+
+        running.abort();
+        assertTrue(filter.startRebuild().isPresent());
+    }
+
+    @Test
+    void noFalseNegatives() {
+        List<ShortLink> links = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            links.add(link("code" + i, "https://www.example.com/" + i));
+        }
+        rebuild(links.toArray(ShortLink[]::new));
+
+        for (ShortLink link : links) {
+            assertTrue(filter.mightContainCode(link.getShortLink()));
+            assertTrue(filter.mightContainUrl(link.getOriginalUrl()));
+        }
+    }
+
+    private void rebuild(ShortLink... links) {
+        LinkFilter.Rebuild rebuild = filter.startRebuild().orElseThrow();
+        rebuild.add(List.of(links));
+        rebuild.publish();
+    }
+
+    private static ShortLink link(String code, String url) {
+        return new ShortLink(null, url, code, Instant.now());
+    }
+}
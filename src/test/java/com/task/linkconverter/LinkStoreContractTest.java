@@ -0,0 +1,176 @@
+package com.task.linkconverter;
+
+import com.task.linkconverter.interfaces.LinkStore;
+import com.task.linkconverter.model.ShortLink;
+import com.task.linkconverter.service.UrlFingerprint;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Behaviour every {@link LinkStore} must provide; each backend runs it by extending this class.
+ */
+abstract class LinkStoreContractTest {
+    private static final String URL_A = "https://www.example.com/a";
+    private static final String URL_B = "https://www.example.com/b";
+    private static final String URL_C = "https://www.example.com/c";
+
+    protected abstract LinkStore store();
+
+    /**
+     * The code stored for a link to the URL; backends that route by code prefix override this.
+     */
+    protected String code(String code, String url) {
+        return code;
+    }
+
+    @Test
+    void save_ThenFindByCode_ReturnsLink() {
+        ShortLink link = link(code("abc123", URL_A), URL_A, ShortLink.TTL);
+        link.setRedirectStatus(301);
+        store().save(link);
+
+        ShortLink found = store().findByCode(code("abc123", URL_A)).orElseThrow();
+
+        assertSameLink(link, found);
+        assertEquals(301, found.getRedirectStatus());
+    }
+
+    @Test
+    void findByCode_Unknown_ReturnsEmpty() {
+        assertEquals(Optional.empty(), store().findByCode("nope123"));
+    }
+
+    @Test
+    void findByUrl_ReturnsLiveLinkForExactUrl() {
+        ShortLink link = link(code("abc123", URL_A), URL_A, ShortLink.TTL);
+        store().save(link);
+
+        assertSameLink(link, store().findByUrl(URL_A).orElseThrow());
+        assertEquals(Optional.empty(), store().findByUrl(URL_B));
+    }
+
+    @Test
+    void findByUrl_SkipsExpiredLink() {
+        store().save(link(code("abc123", URL_A), URL_A, Duration.ofMinutes(-1)));
+
+        assertEquals(Optional.empty(), store().findByUrl(URL_A));
+    }
+
+    @Test
+    void saveAll_ThenFindAllByCode_ReturnsKnownCodesOnly() {
+        store().saveAll(List.of(
+                link(code("abc123", URL_A), URL_A, ShortLink.TTL),
+                link(code("abc124", URL_B), URL_B, ShortLink.TTL)));
+
+        List<ShortLink> found = store().findAllByCode(List.of(
+                code("abc123", URL_A), code("abc124", URL_B), code("abc125", URL_C)));
+
+        assertEquals(2, found.size());
+        assertTrue(found.stream().anyMatch(link -> link.getShortLink().equals(code("abc124", URL_B))
+                && link.getOriginalUrl().equals(URL_B)));
+    }
+
+    @Test
+    void findAllByUrl_KeysLiveLinksByUrl() {
+        store().saveAll(List.of(
+                link(code("abc123", URL_A), URL_A, ShortLink.TTL),
+                link(code("abc124", URL_B), URL_B, Duration.ofMinutes(-1))));
+
+        Map<String, ShortLink> found = store().findAllByUrl(List.of(URL_A, URL_B, URL_C));
+
+        assertEquals(1, found.size());
+        assertEquals(code("abc123", URL_A), found.get(URL_A).getShortLink());
+    }
+
+    @Test
+    void save_TakenCode_IsRejected() {
+        store().save(link(code("abc123", URL_A), URL_A, ShortLink.TTL));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> store().save(link(code("abc123", URL_A), URL_B, ShortLink.TTL)));
+
+        assertEquals(URL_A, store().findByCode(code("abc123", URL_A)).orElseThrow().getOriginalUrl());
+    }
+
+    @Test
+    void save_UrlWithLiveLink_IsRejected() {
+        store().save(link(code("abc123", URL_A), URL_A, ShortLink.TTL));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> store().save(link(code("abc124", URL_A), URL_A, ShortLink.TTL)));
+
+        assertEquals(code("abc123", URL_A), store().findByUrl(URL_A).orElseThrow().getShortLink());
+    }
+
+    @Test
+    void deleteExpiredByUrl_FreesUrlForNewLink() {
+        store().save(link(code("abc123", URL_A), URL_A, Duration.ofMinutes(-1)));
+
+        store().deleteExpiredByUrl(URL_A);
+        store().save(link(code("abc124", URL_A), URL_A, ShortLink.TTL));
+
+        assertEquals(code("abc124", URL_A), store().findByUrl(URL_A).orElseThrow().getShortLink());
+    }
+
+    @Test
+    void saveAlias_ResolvesByCodeButNotByUrl() {
+        ShortLink link = link(code("abc123", URL_A), URL_A, ShortLink.TTL);
+        ShortLink alias = link(code("abc124", URL_A), URL_A, ShortLink.TTL);
+        store().save(link);
+
+        store().saveAlias(alias);
+
+        assertEquals(URL_A, store().findByCode(code("abc124", URL_A)).orElseThrow().getOriginalUrl());
+        assertEquals(code("abc123", URL_A), store().findByUrl(URL_A).orElseThrow().getShortLink());
+        assertThrows(DataIntegrityViolationException.class,
+                () -> store().saveAlias(link(code("abc123", URL_A), URL_B, ShortLink.TTL)));
+    }
+
+    @Test
+    void delete_RemovesLink() {
+        ShortLink link = link(code("abc123", URL_A), URL_A, ShortLink.TTL);
+        store().save(link);
+
+        store().delete(store().findByCode(code("abc123", URL_A)).orElseThrow());
+
+        assertEquals(Optional.empty(), store().findByCode(code("abc123", URL_A)));
+        assertEquals(Optional.empty(), store().findByUrl(URL_A));
+    }
+
+    @Test
+    void delete_CopyWithoutId_RemovesStoredLink() {
+        store().saveAll(List.of(
+                link(code("abc123", URL_A), URL_A, ShortLink.TTL),
+                link(code("abc124", URL_B), URL_B, ShortLink.TTL)));
+
+        // as read from a replica, which does not carry the primary's id
+        store().delete(link(code("abc123", URL_A), URL_A, ShortLink.TTL));
+        store().deleteAll(List.of(link(code("abc124", URL_B), URL_B, ShortLink.TTL)));
+
+        assertEquals(Optional.empty(), store().findByCode(code("abc123", URL_A)));
+        assertEquals(Optional.empty(), store().findByCode(code("abc124", URL_B)));
+    }
+
+    protected static ShortLink link(String code, String url, Duration ttl) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Instant createdAt = ttl.isNegative() ? now.minus(ShortLink.TTL) : now;
+        return new ShortLink(null, url, code, createdAt, UrlFingerprint.of(url), null, now.plus(ttl));
+    }
+
+    private static void assertSameLink(ShortLink expected, ShortLink actual) {
+        assertEquals(expected.getShortLink(), actual.getShortLink());
+        assertEquals(expected.getOriginalUrl(), actual.getOriginalUrl());
+        assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+        assertEquals(expected.getExpiresAt(), actual.getExpiresAt());
+        assertEquals(expected.getRedirectStatus(), actual.getRedirectStatus());
+    }
+}
@@ -0,0 +1,179 @@
+package com.task.linkconverter;
+
+import com.task.linkconverter.cache.CachedLink;
+import com.task.linkconverter.cache.LinkCache;
+import com.task.linkconverter.config.BatchProperties;
+import com.task.linkconverter.config.StorageProperties;
+import com.task.linkconverter.interfaces.LinkFilter;
+import com.task.linkconverter.interfaces.ShortCodeGenerator;
+import com.task.linkconverter.model.LinkImportResult;
+import com.task.linkconverter.model.LinkRecord;
+import com.task.linkconverter.service.Base62Codec;
+import com.task.linkconverter.service.DatabaseIdRangeAllocator;
+import com.task.linkconverter.service.HashShortCodeGenerator;
+import com.task.linkconverter.service.JdbcShardStore;
+import com.task.linkconverter.service.LinkTransferService;
+import com.task.linkconverter.service.LinkTransferService.ConflictMode;
+import com.task.linkconverter.service.SequenceShortCodeGenerator;
+import com.task.linkconverter.service.ShardedLinkStore;
+import com.task.linkconverter.service.ShortLinkService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class LinkTransferServiceTest {
+
+    @Mock
+    private ShortLinkService shortLinkService;
+
+    @Mock
+    private LinkCache linkCache;
+
+    @Mock
+    private ObjectProvider<ShardedLinkStore> shardedLinkStore;
+
+    private final Instant now = Instant.now();
+
+    private JdbcShardStore source;
+    private JdbcShardStore target;
+
+    @BeforeEach
+    void setUp() {
+        source = database();
+        target = database();
+    }
+
+    @Test
+    void exportThenImport_CopiesLiveLinksAcrossPages() {
+        LinkImportResult seeded = service(source).importLinks(List.of(
+                live("aaa", "https://www.example.com/a"),
+                live("bbb", "https://www.example.com/b"),
+                live("ccc", "https://www.example.com/c"),
+                live("ddd", "https://www.example.com/d"),
+                live("eee", "https://www.example.com/e")).iterator(), ConflictMode.SKIP);
+        assertEquals(5, seeded.getCreated());
+        source.jdbcTemplate().update("UPDATE short_link SET expires_at = ? WHERE short_link = 'ccc'",
+                Timestamp.from(now.minusSeconds(1)));
+
+        List<LinkRecord> exported = export(source, false);
+        LinkImportResult copied = service(target).importLinks(exported.iterator(), ConflictMode.SKIP);
+
+        assertEquals(List.of("aaa", "bbb", "ddd", "eee"), exported.stream().map(LinkRecord::getCode).toList());
+        assertEquals(4, copied.getCreated());
+        assertEquals("https://www.example.com/d", target.findByCode("ddd").orElseThrow().getOriginalUrl());
+        assertEquals(5, export(source, true).size());
+    }
+
+    @Test
+    void importLinks_ExistingCode_IsSkippedOrReplaced() {
+        service(target).importLinks(List.of(live("aaa", "https://www.example.com/old")).iterator(), ConflictMode.SKIP);
+
+        LinkImportResult skipped = service(target).importLinks(
+                List.of(live("aaa", "https://www.example.com/new")).iterator(), ConflictMode.SKIP);
+        assertEquals(1, skipped.getSkipped());
+        assertEquals("https://www.example.com/old", target.findByCode("aaa").orElseThrow().getOriginalUrl());
+
+        LinkImportResult upserted = service(target).importLinks(
+                List.of(live("aaa", "https://www.example.com/new")).iterator(), ConflictMode.UPSERT);
+        assertEquals(1, upserted.getUpdated());
+        assertEquals("https://www.example.com/new", target.findByCode("aaa").orElseThrow().getOriginalUrl());
+        verify(linkCache).put(eq("aaa"), any(CachedLink.class));
+    }
+
+    @Test
+    void importLinks_InvalidAndExpiredRecords_AreCountedNotStored() {
+        LinkImportResult result = service(target).importLinks(List.of(
+                live("aaa", "not a url"),
+                live(null, "https://www.example.com/a"),
+                new LinkRecord("bbb", "https://www.example.com/b", now.minus(Duration.ofDays(2)),
+                        now.minus(Duration.ofDays(1)), null),
+                new LinkRecord("ccc", "https://www.example.com/c", now, now.plus(Duration.ofDays(1)), 418),
+                live("ddd", "https://www.example.com/d")).iterator(), ConflictMode.SKIP);
+
+        assertEquals(5, result.getRead());
+        assertEquals(3, result.getInvalid());
+        assertEquals(1, result.getExpired());
+        assertEquals(1, result.getCreated());
+        assertEquals(3, result.getErrors().size());
+        assertTrue(result.getErrors().get(0).startsWith("line 1:"));
+        assertTrue(target.findByCode("bbb").isEmpty());
+    }
+
+    @Test
+    void importLinks_NonBase62Code_IsInvalid() {
+        LinkImportResult result = service(target).importLinks(List.of(
+                live("a%2Fb", "https://www.example.com/a"),
+                live("abé", "https://www.example.com/b"),
+                live("a".repeat(256), "https://www.example.com/c")).iterator(), ConflictMode.SKIP);
+
+        assertEquals(3, result.getInvalid());
+        assertEquals(0, result.getCreated());
+    }
+
+    @Test
+    void importLinks_SequenceCodes_AreReservedOrRejected() {
+        target.jdbcTemplate().execute("CREATE TABLE code_sequence ("
+                + "sequence_name VARCHAR(255) PRIMARY KEY, next_value BIGINT NOT NULL)");
+        DatabaseIdRangeAllocator allocator = new DatabaseIdRangeAllocator(target.jdbcTemplate(),
+                new DataSourceTransactionManager(target.dataSource()), "short_link");
+        SequenceShortCodeGenerator generator = new SequenceShortCodeGenerator(allocator, 10, 3);
+        assertEquals("000", generator.generate("https://www.example.com/first"));
+
+        LinkImportResult result = service(target, generator).importLinks(List.of(
+                live(Base62Codec.encode(5, 3), "https://www.example.com/a"),
+                live(Base62Codec.encode(100, 3), "https://www.example.com/b")).iterator(), ConflictMode.SKIP);
+
+        assertEquals(1, result.getInvalid());
+        assertEquals(1, result.getCreated());
+        assertTrue(target.findByCode(Base62Codec.encode(5, 3)).isEmpty());
+        assertTrue(allocator.allocate(10) > 100);
+    }
+
+    private List<LinkRecord> export(JdbcShardStore database, boolean includeExpired) {
+        List<LinkRecord> exported = new ArrayList<>();
+        long total = service(database).export(includeExpired, exported::addAll);
+        assertEquals(exported.size(), total);
+        return exported;
+    }
+
+    private LinkRecord live(String code, String url) {
+        return new LinkRecord(code, url, now, now.plus(Duration.ofDays(1)), 301);
+    }
+
+    private LinkTransferService service(JdbcShardStore database) {
+        return service(database, new HashShortCodeGenerator());
+    }
+
+    private LinkTransferService service(JdbcShardStore database, ShortCodeGenerator generator) {
+        BatchProperties properties = new BatchProperties();
+        properties.setChunkSize(2);
+        return new LinkTransferService(shortLinkService, generator, database.jdbcTemplate(),
+                shardedLinkStore, database,
+                LinkFilter.none(), linkCache, new StorageProperties(), properties);
+    }
+
+    private static JdbcShardStore database() {
+        JdbcShardStore store = new JdbcShardStore(0, new DriverManagerDataSource(
+                "jdbc:h2:mem:transfer-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"));
+        store.createSchema();
+        return store;
+    }
+}
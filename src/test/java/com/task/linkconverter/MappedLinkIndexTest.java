@@ -0,0 +1,141 @@
+package com.task.linkconverter;
+
+import com.task.linkconverter.cache.CachedLink;
+import com.task.linkconverter.cache.MappedLinkIndex;
+import com.task.linkconverter.config.CacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedLinkIndexTest {
+
+    @TempDir
+    Path directory;
+
+    private CacheProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CacheProperties();
+        properties.getIndex().setDirectory(directory.toString());
+        properties.getIndex().setCapacity(1024);
+        properties.getIndex().setDataSize(DataSize.ofKilobytes(64));
+    }
+
+    @Test
+    void put_ThenGet_ReturnsRecord() {
+        MappedLinkIndex index = new MappedLinkIndex(properties);
+        CachedLink link = link("https://www.example.com/a", 308);
+
+        assertTrue(index.put("abc123", link));
+
+        assertEquals(link, index.get("abc123"));
+        assertNull(index.get("abc124"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void leadingZeros_AreDistinctCodes() {
+        MappedLinkIndex index = new MappedLinkIndex(properties);
+        index.put("a", link("https://www.example.com/a", null));
+        index.put("0a", link("https://www.example.com/b", null));
+
+        assertEquals("https://www.example.com/a", index.get("a").getOriginalUrl());
+        assertEquals("https://www.example.com/b", index.get("0a").getOriginalUrl());
+    }
+
+    @Test
+    void unpackableCode_IsNotIndexed() {
+        MappedLinkIndex index = new MappedLinkIndex(properties);
+
+        assertFalse(index.put("abc-123", link("https://www.example.com", null)));
+        assertFalse(index.put("abcdefghijk", link("https://www.example.com", null)));
+        assertNull(index.get("abc-123"));
+    }
+
+    @Test
+    void recreatedCode_ServesNewRecord() {
+        MappedLinkIndex index = new MappedLinkIndex(properties);
+        Instant earlier = Instant.now().minus(1, ChronoUnit.HOURS).truncatedTo(ChronoUnit.MILLIS);
+        index.put("abc123", new CachedLink("https://www.example.com", earlier, earlier.plusSeconds(600)));
+        CachedLink recreated = link("https://www.example.com", null);
+
+        index.put("abc123", recreated);
+
+        assertEquals(recreated, index.get("abc123"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void replacedUrl_WithSameCreationTime_ServesNewRecord() {
+        MappedLinkIndex index = new MappedLinkIndex(properties);
+        CachedLink original = link("https://www.example.com/old", null);
+        index.put("abc123", original);
+        CachedLink replaced = new CachedLink("https://www.example.com/new", original.getCreatedAt(),
+                original.getExpiresAt());
+
+        assertTrue(index.put("abc123", replaced));
+
+        assertEquals(replaced, index.get("abc123"));
+    }
+
+    @Test
+    void remove_MissesUntilPutAgain() {
+        MappedLinkIndex index = new MappedLinkIndex(properties);
+        CachedLink link = link("https://www.example.com", null);
+        index.put("abc123", link);
+
+        index.remove("abc123");
+        index.remove("abc124");
+
+        assertNull(index.get("abc123"));
+        assertEquals(1, index.size());
+        assertTrue(index.put("abc123", link));
+        assertEquals(link, index.get("abc123"));
+    }
+
+    @Test
+    void cleanReopen_KeepsEntries() {
+        MappedLinkIndex index = new MappedLinkIndex(properties);
+        CachedLink link = link("https://www.example.com", null);
+        index.put("abc123", link);
+        index.close();
+
+        MappedLinkIndex reopened = new MappedLinkIndex(properties);
+
+        assertEquals(link, reopened.get("abc123"));
+    }
+
+    @Test
+    void reopenAfterCrash_DiscardsFile() {
+        MappedLinkIndex index = new MappedLinkIndex(properties);
+        index.put("abc123", link("https://www.example.com", null));
+
+        MappedLinkIndex reopened = new MappedLinkIndex(properties);
+
+        assertNull(reopened.get("abc123"));
+        assertEquals(0, reopened.size());
+    }
+
+    @Test
+    void fullRecordArea_RejectsNewCodes() {
+        properties.getIndex().setDataSize(DataSize.ofBytes(64));
+        MappedLinkIndex index = new MappedLinkIndex(properties);
+
+        assertTrue(index.put("a", link("https://www.example.com/a", null)));
+        assertFalse(index.put("b", link("https://www.example.com/" + "b".repeat(64), null)));
+        assertNull(index.get("b"));
+    }
+
+    private static CachedLink link(String url, Integer status) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        return new CachedLink(url, now, now.plusSeconds(600), status);
+    }
+}
@@ -0,0 +1,109 @@
+package com.task.linkconverter;
+
+import com.task.linkconverter.cache.CachedLink;
+import com.task.linkconverter.cache.LinkCache;
+import com.task.linkconverter.cache.ReactiveSharedLinkCache;
+import com.task.linkconverter.config.AppConfig;
+import com.task.linkconverter.config.CacheProperties;
+import com.task.linkconverter.config.RateLimitProperties;
+import com.task.linkconverter.exceptions.LinkNotFoundException;
+import com.task.linkconverter.interfaces.LinkFilter;
+import com.task.linkconverter.interfaces.LinkStore;
+import com.task.linkconverter.interfaces.ShortLinkRepository;
+import com.task.linkconverter.metrics.LinkMetrics;
+import com.task.linkconverter.metrics.RequestLogSampler;
+import com.task.linkconverter.model.ShortLink;
+import com.task.linkconverter.service.DirectLinkWriter;
+import com.task.linkconverter.service.FixedWindowRateLimiter;
+import com.task.linkconverter.service.HashShortCodeGenerator;
+import com.task.linkconverter.service.JpaLinkStore;
+import com.task.linkconverter.service.ReactiveShortLinkService;
+import com.task.linkconverter.service.ShortLinkService;
+import com.task.linkconverter.service.UrlHashBackfill;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveShortLinkServiceTest {
+
+    @Mock
+    private ShortLinkRepository repository;
+
+    @Mock
+    private RedisTemplate<String, Integer> redisTemplate;
+
+    @Mock
+    private UrlHashBackfill urlHashBackfill;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ReactiveSharedLinkCache sharedCache;
+
+    private LinkCache linkCache;
+
+    private ShortLinkService shortLinkService;
+
+    @BeforeEach
+    void setUp() {
+        LinkStore linkStore = new JpaLinkStore(repository, urlHashBackfill, transactionManager);
+        linkCache = new LinkCache(new CacheProperties(), Optional.empty(), Optional.empty());
+        shortLinkService = new ShortLinkService(
+                linkStore,
+                new FixedWindowRateLimiter(redisTemplate, new RateLimitProperties()),
+                linkCache,
+                new HashShortCodeGenerator(),
+                new DirectLinkWriter(linkStore),
+                LinkFilter.none(),
+                LinkMetrics.noop(),
+                new RequestLogSampler(new AppConfig()));
+    }
+
+    @Test
+    void sharedHit_ResolvedWithoutRepository() {
+        Instant now = Instant.now();
+        CachedLink shared = new CachedLink("https://www.example.com", now, now.plus(10, ChronoUnit.MINUTES));
+        when(sharedCache.get("abc123")).thenReturn(Mono.just(shared));
+        ReactiveShortLinkService service = new ReactiveShortLinkService(shortLinkService, linkCache, LinkMetrics.noop(), Optional.of(sharedCache));
+
+        assertEquals("https://www.example.com", service.getOriginalUrl("abc123").block(Duration.ofSeconds(5)));
+        assertEquals(shared, linkCache.getIfPresent("abc123"));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void sharedMiss_LoadedFromRepositoryAndWrittenBack() {
+        ShortLink stored = new ShortLink(1L, "https://www.example.com", "abc123", Instant.now());
+        when(sharedCache.get("abc123")).thenReturn(Mono.empty());
+        when(sharedCache.put(eq("abc123"), any())).thenReturn(Mono.just(true));
+        when(repository.findByShortLink("abc123")).thenReturn(Optional.of(stored));
+        ReactiveShortLinkService service = new ReactiveShortLinkService(shortLinkService, linkCache, LinkMetrics.noop(), Optional.of(sharedCache));
+
+        assertEquals("https://www.example.com", service.getOriginalUrl("abc123").block(Duration.ofSeconds(5)));
+        verify(sharedCache).put(eq("abc123"), any());
+    }
+
+    @Test
+    void unknownCode_ErrorsWithNotFound() {
+        when(repository.findByShortLink("missing")).thenReturn(Optional.empty());
+        ReactiveShortLinkService service = new ReactiveShortLinkService(shortLinkService, linkCache, LinkMetrics.noop(), Optional.empty());
+
+        assertThrows(LinkNotFoundException.class, () -> service.getOriginalUrl("missing").block(Duration.ofSeconds(5)));
+    }
+}
@@ -1,16 +1,30 @@
 package com.task.linkconverter;
 
+import com.task.linkconverter.cache.CachedLink;
+import com.task.linkconverter.cache.HotSetTracker;
+import com.task.linkconverter.config.AppConfig;
+import com.task.linkconverter.config.CacheProperties;
+import com.task.linkconverter.config.RedirectProperties;
 import com.task.linkconverter.controllers.RedirectController;
+import com.task.linkconverter.controllers.RedirectResponses;
 import com.task.linkconverter.exceptions.LinkExpiredException;
+import com.task.linkconverter.metrics.RequestLogSampler;
+import com.task.linkconverter.service.ClickRecorder;
 import com.task.linkconverter.service.ShortLinkService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class RedirectControllerTest {
@@ -18,19 +32,62 @@ class RedirectControllerTest {
     @Mock
     private ShortLinkService service;
 
-    @InjectMocks
+    @Mock
+    private ClickRecorder clickRecorder;
+
     private RedirectController controller;
 
+    @BeforeEach
+    void setUp() {
+        controller = new RedirectController(service, new RedirectResponses(new RedirectProperties()), clickRecorder,
+                new RequestLogSampler(new AppConfig()), new HotSetTracker(new CacheProperties()));
+    }
+
+    @Test
+    void validRedirect_ReturnsFoundWithLocation() {
+        Instant now = Instant.now();
+        when(service.getLink("valid"))
+                .thenReturn(new CachedLink("https://www.example.com", now, now.plus(Duration.ofMinutes(5))));
+        ResponseEntity<Void> result = controller.redirect("valid", null);
+        assertEquals(302, result.getStatusCode().value());
+        assertEquals(URI.create("https://www.example.com"), result.getHeaders().getLocation());
+        verify(clickRecorder).record("valid", null);
+    }
+
+    @Test
+    void redirect_SendsStoredUrlAsLocation() {
+        Instant now = Instant.now();
+        when(service.getLink("percent"))
+                .thenReturn(new CachedLink("https://www.example.com/100%", now, now.plus(Duration.ofMinutes(5))));
+        ResponseEntity<Void> result = controller.redirect("percent", null);
+        assertEquals(302, result.getStatusCode().value());
+        assertEquals("https://www.example.com/100%", result.getHeaders().getFirst(HttpHeaders.LOCATION));
+    }
+
+    @Test
+    void redirect_CacheHeadersFollowRemainingLifetime() {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(Duration.ofMinutes(5));
+        when(service.getLink("valid")).thenReturn(new CachedLink("https://www.example.com", now, expiresAt));
+        HttpHeaders headers = controller.redirect("valid", null).getHeaders();
+        long maxAge = Long.parseLong(headers.getCacheControl().replaceAll(".*max-age=(\\d+).*", "$1"));
+        assertTrue(maxAge > 290 && maxAge <= 300);
+        assertTrue(headers.getCacheControl().contains("public"));
+        assertEquals(expiresAt.getEpochSecond(), headers.getExpires() / 1000);
+    }
+
     @Test
-    void validRedirect_ReturnsRedirectView() {
-        when(service.getOriginalUrl("valid")).thenReturn("https://www.example.com");
-        String result = controller.redirect("valid");
-        assertEquals("redirect:https://www.example.com", result);
+    void redirect_UsesPerLinkStatus() {
+        Instant now = Instant.now();
+        when(service.getLink("valid"))
+                .thenReturn(new CachedLink("https://www.example.com", now, now.plus(Duration.ofMinutes(5)), 308));
+        assertEquals(308, controller.redirect("valid", null).getStatusCode().value());
     }
 
     @Test
     void expiredLink_ThrowsException() {
-        when(service.getOriginalUrl("expired")).thenThrow(new LinkExpiredException("Expired"));
-        assertThrows(LinkExpiredException.class, () -> controller.redirect("expired"));
+        when(service.getLink("expired")).thenThrow(new LinkExpiredException("Expired"));
+        assertThrows(LinkExpiredException.class, () -> controller.redirect("expired", null));
+        verifyNoInteractions(clickRecorder);
     }
 }
@@ -0,0 +1,80 @@
+package com.task.linkconverter;
+
+import com.task.linkconverter.config.AnalyticsProperties;
+import com.task.linkconverter.model.ClickCount;
+import com.task.linkconverter.service.RedisClickStatsStore;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+class RedisClickStatsStoreTest {
+
+    @Container
+    static GenericContainer<?> redisContainer = new GenericContainer<>("redis:7.2-alpine")
+            .withExposedPorts(6379)
+            .waitingFor(Wait.forListeningPort());
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private RedisClickStatsStore store;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(redisContainer.getHost(), redisContainer.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        });
+        store = new RedisClickStatsStore(redisTemplate, new AnalyticsProperties());
+    }
+
+    @Test
+    void add_IncrementsCountsAndSetsRetention() {
+        Instant minute = Instant.now().truncatedTo(ChronoUnit.MINUTES);
+        store.add(List.of(
+                new ClickCount("abc123", minute, "", 2),
+                new ClickCount("abc123", minute, "example.com", 1),
+                new ClickCount("abc124", minute, "", 5)));
+        store.add(List.of(new ClickCount("abc123", minute, "", 3)));
+
+        List<ClickCount> counts = store.find("abc123").stream()
+                .sorted(Comparator.comparing(ClickCount::getReferrer))
+                .toList();
+
+        assertEquals(List.of(
+                new ClickCount("abc123", minute, "", 5),
+                new ClickCount("abc123", minute, "example.com", 1)), counts);
+        assertEquals(List.of(new ClickCount("abc124", minute, "", 5)), store.find("abc124"));
+        assertTrue(redisTemplate.getExpire("clicks:abc123") > 0);
+        assertTrue(redisTemplate.getExpire("clicks:abc124") > 0);
+    }
+}
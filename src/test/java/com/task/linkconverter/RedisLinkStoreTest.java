@@ -0,0 +1,80 @@
+package com.task.linkconverter;
+
+import com.task.linkconverter.config.StorageProperties;
+import com.task.linkconverter.interfaces.LinkStore;
+import com.task.linkconverter.model.ShortLink;
+import com.task.linkconverter.service.RedisLinkStore;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+class RedisLinkStoreTest extends LinkStoreContractTest {
+
+    @Container
+    static GenericContainer<?> redisContainer = new GenericContainer<>("redis:7.2-alpine")
+            .withExposedPorts(6379)
+            .waitingFor(Wait.forListeningPort());
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private LinkStore store;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(redisContainer.getHost(), redisContainer.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        });
+        store = new RedisLinkStore(redisTemplate, new StorageProperties());
+    }
+
+    @Override
+    protected LinkStore store() {
+        return store;
+    }
+
+    @Test
+    void save_ExpiresKeysWithLink() {
+        store.save(link("abc123", "https://www.example.com/a", ShortLink.TTL));
+
+        Long ttl = redisTemplate.getExpire("links:code:abc123", TimeUnit.MILLISECONDS);
+
+        assertNotNull(ttl);
+        assertTrue(ttl > 0 && ttl <= ShortLink.TTL.toMillis(), "ttl " + ttl);
+    }
+
+    @Test
+    void save_AlreadyExpiredLink_IsNotStored() {
+        store.save(link("abc123", "https://www.example.com/a", Duration.ofMinutes(-1)));
+
+        assertFalse(redisTemplate.hasKey("links:code:abc123"));
+    }
+}
@@ -0,0 +1,128 @@
+package com.task.linkconverter;
+
+import com.task.linkconverter.config.ReplicationProperties;
+import com.task.linkconverter.model.ShortLink;
+import com.task.linkconverter.service.JdbcShardStore;
+import com.task.linkconverter.service.ReplicaRoutingLinkStore;
+import com.task.linkconverter.service.ReplicaSet;
+import com.task.linkconverter.service.UrlFingerprint;
+import com.task.linkconverter.service.UrlHashBackfill;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The primary and both replicas are separate H2 databases with nothing replicating between
+ * them, so where a link is found shows where the lookup went.
+ */
+class ReplicaRoutingLinkStoreTest {
+
+    private JdbcShardStore primary;
+    private JdbcShardStore first;
+    private JdbcShardStore second;
+    private ReplicaSet replicas;
+    private ReplicaRoutingLinkStore store;
+
+    @BeforeEach
+    void setUp() {
+        primary = database(0);
+        first = database(0);
+        second = database(1);
+        replicas = new ReplicaSet(List.of(first, second));
+        UrlHashBackfill urlHashBackfill = new UrlHashBackfill(primary.jdbcTemplate());
+        urlHashBackfill.run();
+        ReplicationProperties properties = new ReplicationProperties();
+        properties.setReadYourWritesWindow(Duration.ofMillis(200));
+        store = new ReplicaRoutingLinkStore(primary, replicas, urlHashBackfill, properties);
+    }
+
+    @Test
+    void lookups_AlternateBetweenReplicas() {
+        first.save(link("onfirst", "https://www.example.com/first"));
+
+        assertTrue(store.findByCode("onfirst").isPresent());
+        assertTrue(store.findByCode("onfirst").isEmpty());
+        assertTrue(store.findByCode("onfirst").isPresent());
+    }
+
+    @Test
+    void ownWrites_AreReadFromPrimaryUntilWindowPasses() throws InterruptedException {
+        ShortLink link = link("mine", "https://www.example.com/mine");
+        store.save(link);
+
+        assertEquals("https://www.example.com/mine", store.findByCode("mine").orElseThrow().getOriginalUrl());
+        assertEquals("mine", store.findByUrl("https://www.example.com/mine").orElseThrow().getShortLink());
+        assertEquals(1, store.findAllByCode(List.of("mine", "other")).size());
+
+        Thread.sleep(400);
+        // not replicated in this setup, so the replicas do not know it yet
+        assertTrue(store.findByUrl("https://www.example.com/mine").isEmpty());
+    }
+
+    @Test
+    void replicaMiss_IsCheckedOnPrimary() {
+        primary.save(link("elsewhere", "https://www.example.com/elsewhere"));
+
+        assertTrue(store.findByCode("elsewhere").isPresent());
+        assertEquals(1, store.findAllByCode(List.of("elsewhere", "unknown")).size());
+    }
+
+    @Test
+    void linkReadFromReplica_IsDeletedOnPrimary() {
+        ShortLink link = link("shared", "https://www.example.com/shared");
+        primary.save(link);
+        first.save(link);
+        second.save(link);
+
+        store.delete(store.findByCode("shared").orElseThrow());
+
+        assertTrue(primary.findByCode("shared").isEmpty());
+    }
+
+    @Test
+    void failingReplica_IsTakenOutOfRotationUntilHealthy() {
+        second.save(link("shared", "https://www.example.com/shared"));
+        first.jdbcTemplate().execute("DROP TABLE short_link");
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(store.findByCode("shared").isPresent());
+        }
+        assertFalse(replicas.isHealthy(0));
+        assertTrue(replicas.isHealthy(1));
+
+        replicas.checkHealth();
+        assertFalse(replicas.isHealthy(0));
+        first.createSchema();
+        replicas.checkHealth();
+        assertTrue(replicas.isHealthy(0));
+    }
+
+    @Test
+    void allReplicasDown_ReadsFromPrimary() {
+        primary.save(link("primary", "https://www.example.com/primary"));
+        first.jdbcTemplate().execute("DROP TABLE short_link");
+        second.jdbcTemplate().execute("DROP TABLE short_link");
+
+        assertTrue(store.findByCode("primary").isPresent());
+        assertTrue(store.findByUrl("https://www.example.com/primary").isPresent());
+    }
+
+    private static ShortLink link(String code, String url) {
+        Instant now = Instant.now();
+        return new ShortLink(null, url, code, now, UrlFingerprint.of(url), null, now.plus(Duration.ofHours(1)));
+    }
+
+    private static JdbcShardStore database(int index) {
+        JdbcShardStore store = new JdbcShardStore(index, new DriverManagerDataSource(
+                "jdbc:h2:mem:replica-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"));
+        store.createSchema();
+        return store;
+    }
+}
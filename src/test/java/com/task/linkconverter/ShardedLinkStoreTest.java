@@ -0,0 +1,153 @@
+package com.task.linkconverter;
+
+import com.task.linkconverter.config.ShardingProperties;
+import com.task.linkconverter.interfaces.LinkStore;
+import com.task.linkconverter.model.ShortLink;
+import com.task.linkconverter.service.Base62Codec;
+import com.task.linkconverter.service.JdbcShardStore;
+import com.task.linkconverter.service.ShardDirectory;
+import com.task.linkconverter.service.ShardRebalancer;
+import com.task.linkconverter.service.ShardedLinkStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedLinkStoreTest extends LinkStoreContractTest {
+
+    private final List<DataSource> databases = new ArrayList<>();
+
+    private ShardedLinkStore store;
+
+    @BeforeEach
+    void setUp() {
+        databases.add(database());
+        databases.add(database());
+        store = open(databases);
+    }
+
+    @Override
+    protected LinkStore store() {
+        return store;
+    }
+
+    @Override
+    protected String code(String code, String url) {
+        return Base62Codec.symbol(ShardDirectory.slotOfUrl(url)) + code;
+    }
+
+    @Test
+    void links_AreSpreadOverShardsBySlot() {
+        List<ShortLink> links = links(200);
+        store.saveAll(links);
+
+        for (JdbcShardStore shard : store.shards()) {
+            Integer rows = shard.jdbcTemplate().queryForObject("SELECT COUNT(*) FROM short_link", Integer.class);
+            assertTrue(rows != null && rows > 0 && rows < links.size(), "shard " + shard.index() + " holds " + rows);
+        }
+        for (ShortLink link : links) {
+            int owner = store.directory().owner(ShardDirectory.slotOf(link.getShortLink()));
+            assertTrue(store.shards().get(owner).findByCode(link.getShortLink()).isPresent());
+            assertEquals(link.getShortLink(), store.findByUrl(link.getOriginalUrl()).orElseThrow().getShortLink());
+        }
+    }
+
+    @Test
+    void addedShard_TakesOverSlotsAfterRebalance() {
+        List<ShortLink> links = links(200);
+        store.saveAll(links);
+        databases.add(database());
+        ShardedLinkStore grown = open(databases);
+        ShardingProperties properties = new ShardingProperties();
+        properties.setRefreshInterval(Duration.ZERO);
+        properties.setCopyBatchSize(7);
+
+        List<String> moves = new ShardRebalancer(grown, properties).rebalance();
+
+        assertEquals(20, moves.size());
+        int[] owned = new int[3];
+        for (int slot = 0; slot < ShardDirectory.SLOTS; slot++) {
+            owned[grown.directory().owner(slot)]++;
+            assertEquals(ShardDirectory.NONE, grown.directory().previous(slot));
+        }
+        assertArrayEquals(new int[]{21, 21, 20}, owned);
+        for (ShortLink link : links) {
+            assertTrue(grown.findByCode(link.getShortLink()).isPresent(), link.getShortLink());
+            assertTrue(grown.findByUrl(link.getOriginalUrl()).isPresent(), link.getOriginalUrl());
+        }
+        int total = 0;
+        for (JdbcShardStore shard : grown.shards()) {
+            total += shard.jdbcTemplate().queryForObject("SELECT COUNT(*) FROM short_link", Integer.class);
+        }
+        assertEquals(links.size(), total);
+    }
+
+    @Test
+    void migratingSlot_ReadsFallBackToPreviousOwner() {
+        ShortLink link = link(code("abc123", "https://www.example.com/a"), "https://www.example.com/a", ShortLink.TTL);
+        store.save(link);
+        int slot = ShardDirectory.slotOf(link.getShortLink());
+        int owner = store.directory().owner(slot);
+
+        store.directory().assign(slot, 1 - owner, owner);
+
+        assertTrue(store.findByCode(link.getShortLink()).isPresent());
+        assertTrue(store.findByUrl(link.getOriginalUrl()).isPresent());
+        assertEquals(1, store.findAllByCode(List.of(link.getShortLink())).size());
+    }
+
+    @Test
+    void findBySlot_IgnoresCodesOfOtherCase_OnCaseInsensitiveShard() {
+        JdbcShardStore shard = new JdbcShardStore(0, new DriverManagerDataSource(
+                "jdbc:h2:mem:shard-" + UUID.randomUUID() + ";IGNORECASE=TRUE;DB_CLOSE_DELAY=-1"));
+        shard.createSchema();
+        shard.save(link("abc123", "https://www.example.com/a", ShortLink.TTL));
+        shard.save(link("Abd123", "https://www.example.com/b", ShortLink.TTL));
+
+        List<ShortLink> slot = shard.findBySlot(ShardDirectory.slotOf("abc123"), "", 10);
+
+        assertEquals(1, slot.size());
+        assertEquals("abc123", slot.get(0).getShortLink());
+    }
+
+    @Test
+    void staleDirectory_RefusesWrites() {
+        ShardedLinkStore stale = new ShardedLinkStore(store.shards(), store.directory(), Duration.ZERO);
+        ShortLink link = link(code("abc123", "https://www.example.com/a"), "https://www.example.com/a", ShortLink.TTL);
+
+        assertThrows(IllegalStateException.class, () -> stale.save(link));
+        assertTrue(store.findByCode(link.getShortLink()).isEmpty());
+    }
+
+    private List<ShortLink> links(int count) {
+        List<ShortLink> links = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String url = "https://www.example.com/" + i;
+            links.add(link(code(Base62Codec.encode(i, 6), url), url, ShortLink.TTL));
+        }
+        return links;
+    }
+
+    private static ShardedLinkStore open(List<DataSource> databases) {
+        List<JdbcShardStore> shards = new ArrayList<>();
+        for (DataSource database : databases) {
+            JdbcShardStore shard = new JdbcShardStore(shards.size(), database);
+            shard.createSchema();
+            shards.add(shard);
+        }
+        ShardDirectory directory = new ShardDirectory(shards.get(0).jdbcTemplate(), shards.size());
+        directory.initialize();
+        return new ShardedLinkStore(shards, directory, new ShardingProperties().getRefreshInterval());
+    }
+
+    private static DataSource database() {
+        return new DriverManagerDataSource("jdbc:h2:mem:shard-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+    }
+}
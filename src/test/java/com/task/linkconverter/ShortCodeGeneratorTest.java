@@ -0,0 +1,106 @@
+package com.task.linkconverter;
+
+import com.task.linkconverter.interfaces.IdRangeAllocator;
+import com.task.linkconverter.service.Base62Codec;
+import com.task.linkconverter.service.HashShortCodeGenerator;
+import com.task.linkconverter.service.SequenceShortCodeGenerator;
+import io.seruco.encoding.base62.Base62;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShortCodeGeneratorTest {
+
+    @Test
+    void hashGenerator_MatchesPreviousEncoding() throws Exception {
+        String url = "https://www.example.com/path";
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+        String expected = new String(Base62.createInstance().encode(Arrays.copyOf(hash, 6)), StandardCharsets.UTF_8);
+
+        assertEquals(expected, new HashShortCodeGenerator().generate(url));
+    }
+
+    @Test
+    void base62Codec_PadsToMinimumLength() {
+        assertEquals("0000000", Base62Codec.encode(0, 7));
+        assertEquals("000000z", Base62Codec.encode(61, 7));
+        assertEquals("0000010", Base62Codec.encode(62, 7));
+        assertEquals("AzL8n0Y58m7", Base62Codec.encode(Long.MAX_VALUE, 7));
+    }
+
+    @Test
+    void sequenceGenerator_LeasesNewBlockWhenExhausted() {
+        AtomicInteger leases = new AtomicInteger();
+        IdRangeAllocator allocator = size -> leases.getAndIncrement() * 1000L;
+        SequenceShortCodeGenerator generator = new SequenceShortCodeGenerator(allocator, 3, 7);
+
+        assertEquals("0000000", generator.generate("a"));
+        assertEquals("0000001", generator.generate("a"));
+        assertEquals("0000002", generator.generate("a"));
+        assertEquals(Base62Codec.encode(1000, 7), generator.generate("a"));
+        assertEquals(2, leases.get());
+    }
+
+    @Test
+    void sequenceGenerator_Reserve_SkipsImportedIdsButRefusesFarOnes() {
+        AtomicLong next = new AtomicLong(1000);
+        IdRangeAllocator allocator = new IdRangeAllocator() {
+            @Override
+            public long allocate(int size) {
+                return next.getAndAdd(size);
+            }
+
+            @Override
+            public long reserveThrough(long id) {
+                return next.getAndAccumulate(id + 1, Math::max);
+            }
+
+            @Override
+            public long next() {
+                return next.get();
+            }
+        };
+        SequenceShortCodeGenerator generator = new SequenceShortCodeGenerator(allocator, 10, 7);
+        String handedOut = Base62Codec.encode(10, 7);
+        String ahead = Base62Codec.encode(5000, 7);
+        String far = Base62Codec.encode(Long.MAX_VALUE, 7);
+
+        Set<String> taken = generator.reserve(List.of(handedOut, ahead, far, "custom"));
+
+        assertEquals(Set.of(handedOut, far), taken);
+        assertEquals(5001, next.get());
+    }
+
+    @Test
+    void sequenceGenerator_ConcurrentCallers_NeverCollide() throws Exception {
+        AtomicLong next = new AtomicLong();
+        IdRangeAllocator allocator = size -> next.getAndAdd(size);
+        SequenceShortCodeGenerator generator = new SequenceShortCodeGenerator(allocator, 50, 7);
+        Set<String> codes = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < 5000; j++) {
+                    codes.add(generator.generate("https://www.example.com"));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(40_000, codes.size());
+    }
+}
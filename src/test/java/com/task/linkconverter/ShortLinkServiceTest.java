@@ -1,19 +1,38 @@
 package com.task.linkconverter;
 
+import com.task.linkconverter.cache.LinkCache;
+import com.task.linkconverter.cache.LocalLinkFilter;
+import com.task.linkconverter.config.AppConfig;
+import com.task.linkconverter.config.CacheProperties;
+import com.task.linkconverter.config.RateLimitProperties;
 import com.task.linkconverter.exceptions.*;
+import com.task.linkconverter.interfaces.LinkFilter;
+import com.task.linkconverter.interfaces.LinkStore;
 import com.task.linkconverter.interfaces.ShortLinkRepository;
+import com.task.linkconverter.metrics.LinkMetrics;
+import com.task.linkconverter.metrics.RequestLogSampler;
 import com.task.linkconverter.model.ShortLink;
+import com.task.linkconverter.service.DirectLinkWriter;
+import com.task.linkconverter.service.FixedWindowRateLimiter;
+import com.task.linkconverter.service.HashShortCodeGenerator;
+import com.task.linkconverter.service.JpaLinkStore;
 import com.task.linkconverter.service.ShortLinkService;
+import com.task.linkconverter.service.UrlHashBackfill;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,26 +46,54 @@ class ShortLinkServiceTest {
     private ShortLinkRepository repository;
 
     @Mock
-    private RedisTemplate<String, String> redisTemplate;
+    private RedisTemplate<String, Integer> redisTemplate;
 
     @Mock
-    private ValueOperations<String, String> valueOperations;
+    private ValueOperations<String, Integer> valueOperations;
+
+    @Mock
+    private UrlHashBackfill urlHashBackfill;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private LinkCache linkCache;
 
-    @InjectMocks
     private ShortLinkService service;
 
+    @BeforeEach
+    void setUp() {
+        service = newService(LinkFilter.none());
+    }
+
+    private ShortLinkService newService(LinkFilter linkFilter) {
+        LinkStore linkStore = new JpaLinkStore(repository, urlHashBackfill, transactionManager);
+        linkCache = new LinkCache(new CacheProperties(), Optional.empty(), Optional.empty());
+        return new ShortLinkService(
+                linkStore,
+                new FixedWindowRateLimiter(redisTemplate, new RateLimitProperties()),
+                linkCache,
+                new HashShortCodeGenerator(),
+                new DirectLinkWriter(linkStore),
+                linkFilter,
+                new LinkMetrics(meterRegistry),
+                new RequestLogSampler(new AppConfig()));
+    }
+
     @Test
     void shortenUrl_NewUrl_CreatesNewEntry() {
         // Stub Redis rate limiting for this test
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
         when(valueOperations.increment(eq("global_rate_limit"), eq(1L))).thenReturn(1L);
 
-        when(repository.findByOriginalUrl(anyString())).thenReturn(Optional.empty());
-        when(repository.save(any())).thenReturn(new ShortLink());
+        when(repository.findAllByUrlHash(anyLong())).thenReturn(List.of());
+        when(repository.saveAndFlush(any())).thenReturn(new ShortLink());
 
         String result = service.shortenUrl("https://www.example.com");
         assertNotNull(result);
-        verify(repository).save(any());
+        verify(repository).saveAndFlush(any());
     }
 
     @Test
@@ -56,7 +103,7 @@ class ShortLinkServiceTest {
         when(valueOperations.increment(eq("global_rate_limit"), eq(1L))).thenReturn(1L);
 
         ShortLink existing = new ShortLink(1L, "https://www.example.com", "abc123", Instant.now());
-        when(repository.findByOriginalUrl(anyString())).thenReturn(Optional.of(existing));
+        when(repository.findAllByUrlHash(anyLong())).thenReturn(List.of(existing));
 
         String result = service.shortenUrl("https://www.example.com");
         assertEquals("abc123", result);
@@ -96,11 +143,198 @@ class ShortLinkServiceTest {
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
         when(valueOperations.increment(eq("global_rate_limit"), eq(1L))).thenReturn(1L);
 
-        when(repository.findByOriginalUrl(anyString())).thenReturn(Optional.empty());
-        when(repository.findByShortLink(anyString())).thenReturn(Optional.of(new ShortLink()));
+        when(repository.findAllByUrlHash(anyLong())).thenReturn(List.of());
+        when(repository.findByShortLink(anyString()))
+                .thenReturn(Optional.of(new ShortLink(2L, "https://www.other.com", "abc123", Instant.now())));
 
-        // changed the assert because it gets wrapped in a RuntimeException
-        assertThrows(RuntimeException.class, () ->
+        assertThrows(ShortLinkCollisionException.class, () ->
                 service.shortenUrl("https://www.example.com"));
     }
+
+    @Test
+    void shortenUrl_LostInsertRaceForSameUrl_ReturnsWinningCode() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.increment(eq("global_rate_limit"), eq(1L))).thenReturn(1L);
+
+        ShortLink winner = new ShortLink(1L, "https://www.example.com", "abc123", Instant.now());
+        when(repository.findAllByUrlHash(anyLong())).thenReturn(List.of(), List.of(winner));
+        when(repository.findByShortLink(anyString())).thenReturn(Optional.empty());
+        when(repository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate short_link"));
+
+        assertEquals("abc123", service.shortenUrl("https://www.example.com"));
+    }
+
+    @Test
+    void shortenUrl_UrlHeldByExpiredRow_FreesItAndRetries() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.increment(eq("global_rate_limit"), eq(1L))).thenReturn(1L);
+
+        ShortLink expired = new ShortLink(1L, "https://www.example.com", "old123",
+                Instant.now().minus(11, ChronoUnit.MINUTES));
+        when(repository.findAllByUrlHash(anyLong())).thenReturn(List.of(expired));
+        when(repository.findByShortLink(anyString())).thenReturn(Optional.empty());
+        when(repository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate url"))
+                .thenReturn(new ShortLink());
+
+        assertEquals(service.generateShortLink("https://www.example.com"), service.shortenUrl("https://www.example.com"));
+        verify(repository).deleteByShortLinkIn(List.of("old123"));
+        verify(repository, times(2)).saveAndFlush(any());
+    }
+
+    @Test
+    void shortenUrl_OtherIntegrityViolation_IsRethrown() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.increment(eq("global_rate_limit"), eq(1L))).thenReturn(1L);
+
+        when(repository.findAllByUrlHash(anyLong())).thenReturn(List.of());
+        when(repository.findByShortLink(anyString())).thenReturn(Optional.empty());
+        when(repository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("value too long"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> service.shortenUrl("https://www.example.com"));
+        verify(repository, never()).deleteByShortLinkIn(anyCollection());
+    }
+
+    @Test
+    void getOriginalUrl_RepeatedLookup_ServedFromCache() {
+        ShortLink existing = new ShortLink(1L, "https://www.example.com", "abc123", Instant.now());
+        when(repository.findByShortLink("abc123")).thenReturn(Optional.of(existing));
+
+        assertEquals("https://www.example.com", service.getOriginalUrl("abc123"));
+        assertEquals("https://www.example.com", service.getOriginalUrl("abc123"));
+
+        verify(repository, times(1)).findByShortLink("abc123");
+        assertEquals(1, linkCache.stats().hitCount());
+    }
+
+    @Test
+    void getOriginalUrl_UnknownCode_NegativeLookupCached() {
+        when(repository.findByShortLink("missing")).thenReturn(Optional.empty());
+
+        assertThrows(LinkNotFoundException.class, () -> service.getOriginalUrl("missing"));
+        assertThrows(LinkNotFoundException.class, () -> service.getOriginalUrl("missing"));
+
+        verify(repository, times(1)).findByShortLink("missing");
+    }
+
+    @Test
+    void shortenUrl_NewUrl_ReplacesNegativeCacheEntry() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.increment(eq("global_rate_limit"), eq(1L))).thenReturn(1L);
+        String shortCode = service.generateShortLink("https://www.example.com");
+        when(repository.findByShortLink(shortCode)).thenReturn(Optional.empty());
+        when(repository.findAllByUrlHash(anyLong())).thenReturn(List.of());
+
+        assertThrows(LinkNotFoundException.class, () -> service.getOriginalUrl(shortCode));
+        service.shortenUrl("https://www.example.com");
+
+        assertEquals("https://www.example.com", service.getOriginalUrl(shortCode));
+    }
+
+    @Test
+    void shortenUrl_FingerprintMatchWithDifferentUrl_CreatesNewEntry() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.increment(eq("global_rate_limit"), eq(1L))).thenReturn(1L);
+        when(urlHashBackfill.isComplete()).thenReturn(true);
+
+        ShortLink other = new ShortLink(1L, "https://www.other.com", "abc123", Instant.now());
+        when(repository.findAllByUrlHash(anyLong())).thenReturn(List.of(other));
+        when(repository.findByShortLink(anyString())).thenReturn(Optional.empty());
+
+        String result = service.shortenUrl("https://www.example.com");
+        assertNotEquals("abc123", result);
+        verify(repository).saveAndFlush(any());
+        verify(repository, never()).findFirstByOriginalUrlAndUrlHashIsNull(anyString());
+    }
+
+    @Test
+    void shortenUrl_BackfillIncomplete_FallsBackToFullUrlLookup() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.increment(eq("global_rate_limit"), eq(1L))).thenReturn(1L);
+
+        ShortLink legacy = new ShortLink(1L, "https://www.example.com", "abc123", Instant.now(), null, null, null);
+        when(repository.findAllByUrlHash(anyLong())).thenReturn(List.of());
+        when(repository.findFirstByOriginalUrlAndUrlHashIsNull("https://www.example.com"))
+                .thenReturn(Optional.of(legacy));
+
+        assertEquals("abc123", service.shortenUrl("https://www.example.com"));
+    }
+
+    @Test
+    void shortenUrl_ExistingLinkExpired_IssuesFreshLink() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.increment(eq("global_rate_limit"), eq(1L))).thenReturn(1L);
+
+        ShortLink expired = new ShortLink(1L, "https://www.example.com", "abc123",
+                Instant.now().minus(11, ChronoUnit.MINUTES));
+        when(repository.findAllByUrlHash(anyLong())).thenReturn(List.of(expired));
+        String shortCode = service.generateShortLink("https://www.example.com");
+        ShortLink sameCodeExpired = new ShortLink(3L, "https://www.example.com", shortCode,
+                Instant.now().minus(11, ChronoUnit.MINUTES));
+        when(repository.findByShortLink(shortCode)).thenReturn(Optional.of(sameCodeExpired));
+
+        assertEquals(shortCode, service.shortenUrl("https://www.example.com"));
+        verify(repository).deleteByShortLinkIn(List.of(sameCodeExpired.getShortLink()));
+        verify(repository).saveAndFlush(argThat(link -> !link.isExpired(Instant.now())));
+    }
+
+    @Test
+    void shortenUrl_WithTtl_SetsExpiry() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.increment(eq("global_rate_limit"), eq(1L))).thenReturn(1L);
+        when(repository.findAllByUrlHash(anyLong())).thenReturn(List.of());
+        when(repository.findByShortLink(anyString())).thenReturn(Optional.empty());
+
+        service.shortenUrl("https://www.example.com", null, Duration.ofDays(2));
+
+        verify(repository).saveAndFlush(argThat(link ->
+                Duration.between(link.getCreatedAt(), link.getExpiresAt()).equals(Duration.ofDays(2))));
+    }
+
+    @Test
+    void getOriginalUrl_PastPerLinkExpiry_ThrowsException() {
+        Instant createdAt = Instant.now().minus(2, ChronoUnit.MINUTES);
+        ShortLink shortLived = new ShortLink(1L, "https://www.example.com", "abc123", createdAt, null, null,
+                createdAt.plus(Duration.ofMinutes(1)));
+        when(repository.findByShortLink("abc123")).thenReturn(Optional.of(shortLived));
+
+        assertThrows(LinkExpiredException.class, () -> service.getOriginalUrl("abc123"));
+    }
+
+    @Test
+    void getOriginalUrl_RecordsOutcomesAndLatency() {
+        ShortLink existing = new ShortLink(1L, "https://www.example.com", "abc123", Instant.now());
+        when(repository.findByShortLink("abc123")).thenReturn(Optional.of(existing));
+        when(repository.findByShortLink("missing")).thenReturn(Optional.empty());
+
+        service.getOriginalUrl("abc123");
+        service.getOriginalUrl("abc123");
+        assertThrows(LinkNotFoundException.class, () -> service.getOriginalUrl("missing"));
+
+        assertEquals(1, outcome("cache_hit"));
+        assertEquals(2, outcome("cache_miss"));
+        assertEquals(1, outcome("not_found"));
+        assertEquals(3, meterRegistry.get("links.lookup").timer().count());
+    }
+
+    @Test
+    void getOriginalUrl_FilteredCode_SkipsRepository() {
+        LocalLinkFilter linkFilter = new LocalLinkFilter(new CacheProperties.Filter());
+        ShortLink existing = new ShortLink(1L, "https://www.example.com", "abc123", Instant.now());
+        LinkFilter.Rebuild rebuild = linkFilter.startRebuild().orElseThrow();
+        rebuild.add(List.of(existing));
+        rebuild.publish();
+        service = newService(linkFilter);
+        when(repository.findByShortLink("abc123")).thenReturn(Optional.of(existing));
+
+        assertEquals("https://www.example.com", service.getOriginalUrl("abc123"));
+        assertThrows(LinkNotFoundException.class, () -> service.getOriginalUrl("missing"));
+
+        verify(repository, never()).findByShortLink("missing");
+        assertEquals(1, outcome("filtered"));
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.get("links.outcomes").tag("outcome", outcome).counter().count();
+    }
 }
@@ -0,0 +1,91 @@
+package com.task.linkconverter;
+
+import com.task.linkconverter.service.SingleFlight;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 16;
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void concurrentCallsForSameKey_ShareOneCall() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = runConcurrently(() -> singleFlight.execute("abc123", () -> {
+            calls.incrementAndGet();
+            await(release);
+            return "https://www.example.com";
+        }), release);
+
+        for (Future<String> result : results) {
+            assertEquals("https://www.example.com", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void failedCall_IsRethrownToEveryWaiter() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = runConcurrently(() -> singleFlight.execute("abc123", () -> {
+            await(release);
+            throw new IllegalStateException("database down");
+        }), release);
+
+        for (Future<String> result : results) {
+            Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+        assertEquals("again", singleFlight.execute("abc123", () -> "again"));
+    }
+
+    @Test
+    void differentKeys_RunIndependently() {
+        assertEquals("a", singleFlight.execute("a", () -> singleFlight.execute("b", () -> "a")));
+    }
+
+    private List<Future<String>> runConcurrently(Callable<String> call,
+                                                 CountDownLatch release) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(call));
+            }
+            // give every caller time to join the call in flight before it completes
+            while (singleFlight.inFlight() == 0) {
+                Thread.onSpinWait();
+            }
+            Thread.sleep(200);
+            release.countDown();
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
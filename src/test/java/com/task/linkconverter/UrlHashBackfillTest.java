@@ -0,0 +1,81 @@
+package com.task.linkconverter;
+
+import com.task.linkconverter.service.JdbcShardStore;
+import com.task.linkconverter.service.UrlFingerprint;
+import com.task.linkconverter.service.UrlHashBackfill;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UrlHashBackfillTest {
+    private static final String URL = "https://www.example.com/a";
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        JdbcShardStore store = new JdbcShardStore(0, new DriverManagerDataSource(
+                "jdbc:h2:mem:backfill-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"));
+        store.createSchema();
+        jdbcTemplate = store.jdbcTemplate();
+    }
+
+    @Test
+    void run_FingerprintsLegacyRows() {
+        insertLegacy("abc123", URL, Duration.ofMinutes(10));
+        insertLegacy("abc124", "https://www.example.com/b", Duration.ofMinutes(10));
+        UrlHashBackfill backfill = new UrlHashBackfill(jdbcTemplate);
+
+        backfill.run();
+
+        assertTrue(backfill.isComplete());
+        assertEquals(UrlFingerprint.of(URL), urlHash("abc123"));
+        assertEquals(UrlFingerprint.of("https://www.example.com/b"), urlHash("abc124"));
+    }
+
+    @Test
+    void run_ResolvesDuplicateLegacyRows() {
+        insertLegacy("abc123", URL, Duration.ofMinutes(10));
+        insertLegacy("abc124", URL, Duration.ofMinutes(-1));
+        insertLegacy("abc125", URL, Duration.ofMinutes(10));
+        UrlHashBackfill backfill = new UrlHashBackfill(jdbcTemplate);
+
+        backfill.run();
+
+        assertTrue(backfill.isComplete());
+        assertEquals(UrlFingerprint.of(URL), urlHash("abc123"));
+        // the expired duplicate is gone, the live one keeps resolving by code
+        assertEquals(List.of("abc123", "abc125"),
+                jdbcTemplate.queryForList("SELECT short_link FROM short_link ORDER BY short_link", String.class));
+        assertNull(urlHash("abc125"));
+    }
+
+    @Test
+    void run_Failure_IsLoggedAndLeavesBackfillIncomplete() {
+        jdbcTemplate.execute("DROP TABLE short_link");
+        UrlHashBackfill backfill = new UrlHashBackfill(jdbcTemplate);
+
+        backfill.run();
+
+        assertFalse(backfill.isComplete());
+    }
+
+    private void insertLegacy(String code, String url, Duration ttl) {
+        Instant now = Instant.now();
+        jdbcTemplate.update("INSERT INTO short_link (short_link, original_url, created_at, expires_at) VALUES (?, ?, ?, ?)",
+                code, url, Timestamp.from(now), Timestamp.from(now.plus(ttl)));
+    }
+
+    private Long urlHash(String code) {
+        return jdbcTemplate.queryForObject("SELECT url_hash FROM short_link WHERE short_link = ?", Long.class, code);
+    }
+}
@@ -0,0 +1,80 @@
+package com.task.linkconverter;
+
+import com.task.linkconverter.validation.UrlSyntax;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.net.URI;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UrlSyntaxTest {
+    private static final Pattern FORMER_PATTERN = Pattern.compile(
+            "^https://www\\.[a-zA-Z0-9-]+\\.[a-zA-Z]{2,5}(?:/[a-zA-Z0-9-._~!$&'()*+,;=:@/?%]*)?$");
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "https://www.example.com",
+            "https://www.example.com/",
+            "https://www.Ex-ample.IO/path/to?q=1&b=%20#frag",
+            "https://www.example.co/a:b@c;d=e,f*g+h(i)'j!k$l~m_n.o-p",
+            "https://www.example.abcdef",
+            "https://www.example.c",
+            "https://www..com",
+            "https://www.exa_mple.com",
+            "https://www.example.com#top",
+            "https://www.example.com/<script>",
+            "https://www.example.com/ space",
+            "https://www.sub.example.com",
+            "http://www.example.com",
+            "HTTPS://www.example.com",
+            "https://example.com",
+            "https://www.",
+            ""
+    })
+    void isValid_MatchesFormerPattern(String url) {
+        assertEquals(FORMER_PATTERN.matcher(url).matches(), UrlSyntax.isValid(url), url);
+    }
+
+    @Test
+    void normalize_LowerCasesHostAndDropsBareSlash() {
+        assertEquals("https://www.example.com", UrlSyntax.normalize("https://www.Example.COM/"));
+        assertEquals("https://www.example.com/Path", UrlSyntax.normalize("https://www.EXAMPLE.com/Path"));
+    }
+
+    @Test
+    void normalize_CanonicalUrl_ReturnsSameInstance() {
+        String url = "https://www.example.com/Path?Q=1";
+        assertSame(url, UrlSyntax.normalize(url));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "http://localhost:8080/0000a1B",
+            "http://localhost:8080/0000a1B?utm_source=mail",
+            "http://localhost:8080/a/b/0000a1B#x",
+            "http://localhost:8080",
+            "//localhost/0000a1B",
+            "0000a1B",
+            "/0000a1B/",
+            "http://localhost/%41bc",
+            "mailto:someone"
+    })
+    void lastPathSegment_MatchesUriPath(String url) {
+        String path = URI.create(url).getPath();
+        String expected = path == null ? null : path.substring(path.lastIndexOf('/') + 1);
+        if (expected == null) {
+            assertThrows(IllegalArgumentException.class, () -> UrlSyntax.lastPathSegment(url));
+        } else {
+            assertEquals(expected, UrlSyntax.lastPathSegment(url));
+        }
+    }
+
+    @Test
+    void lastPathSegment_InvalidUri_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> UrlSyntax.lastPathSegment("http://localhost/a b"));
+        assertThrows(IllegalArgumentException.class, () -> UrlSyntax.lastPathSegment("http://localhost/a#b#c"));
+    }
+}
@@ -0,0 +1,228 @@
+package com.task.linkconverter;
+
+import com.task.linkconverter.config.PersistenceProperties;
+import com.task.linkconverter.interfaces.LinkStore;
+import com.task.linkconverter.interfaces.ShortLinkRepository;
+import com.task.linkconverter.model.ShortLink;
+import com.task.linkconverter.service.JpaLinkStore;
+import com.task.linkconverter.service.UrlFingerprint;
+import com.task.linkconverter.service.UrlHashBackfill;
+import com.task.linkconverter.service.WriteBehindLinkWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WriteBehindLinkWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private ShortLinkRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private UrlHashBackfill urlHashBackfill;
+
+    private LinkStore linkStore;
+
+    private PersistenceProperties.WriteBehind properties;
+
+    @BeforeEach
+    void setUp() {
+        linkStore = new JpaLinkStore(repository, urlHashBackfill, transactionManager);
+        properties = new PersistenceProperties.WriteBehind();
+        properties.setDirectory(directory.toString());
+    }
+
+    @Test
+    void write_IsVisibleAsPendingBeforeFlush() {
+        WriteBehindLinkWriter writer = new WriteBehindLinkWriter(linkStore, properties);
+        ShortLink link = link("abc123", "https://www.example.com/a");
+
+        writer.write(link);
+
+        assertEquals(Optional.of(link), writer.pendingByCode("abc123"));
+        assertEquals(Optional.of(link), writer.pendingByUrl("https://www.example.com/a"));
+        verify(repository, never()).saveAndFlush(any());
+        writer.close();
+    }
+
+    @Test
+    void writeForUrlWithPendingLink_Conflicts() {
+        WriteBehindLinkWriter writer = new WriteBehindLinkWriter(linkStore, properties);
+        writer.write(link("abc123", "https://www.example.com/a"));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> writer.writeAll(List.of(link("abc124", "https://www.example.com/b"),
+                        link("abc125", "https://www.example.com/a"))));
+
+        assertEquals(1, writer.pendingCount());
+        assertEquals("abc123", writer.pendingByUrl("https://www.example.com/a").orElseThrow().getShortLink());
+        assertTrue(writer.pendingByCode("abc124").isEmpty());
+        writer.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_SavesBatchAndClearsPending() throws Exception {
+        WriteBehindLinkWriter writer = new WriteBehindLinkWriter(linkStore, properties);
+        writer.write(link("abc123", "https://www.example.com/a"));
+        writer.write(link("abc124", "https://www.example.com/b"));
+
+        writer.flush();
+
+        ArgumentCaptor<Iterable<ShortLink>> saved = ArgumentCaptor.forClass(Iterable.class);
+        verify(repository).saveAll(saved.capture());
+        assertEquals(2, ((List<ShortLink>) saved.getValue()).size());
+        assertEquals(0, writer.pendingCount());
+        assertTrue(writer.pendingByCode("abc123").isEmpty());
+        assertEquals(1, segments());
+        writer.close();
+    }
+
+    @Test
+    void restart_ReplaysUnflushedLinks() {
+        WriteBehindLinkWriter crashed = new WriteBehindLinkWriter(linkStore, properties);
+        ShortLink link = link("abc123", "https://www.example.com/a");
+        link.setRedirectStatus(301);
+        crashed.write(link);
+
+        WriteBehindLinkWriter restarted = new WriteBehindLinkWriter(linkStore, properties);
+
+        ShortLink replayed = restarted.pendingByCode("abc123").orElseThrow();
+        assertEquals(link.getOriginalUrl(), replayed.getOriginalUrl());
+        assertEquals(link.getCreatedAt(), replayed.getCreatedAt());
+        assertEquals(link.getExpiresAt(), replayed.getExpiresAt());
+        assertEquals(301, replayed.getRedirectStatus());
+        assertEquals(link.getUrlHash(), replayed.getUrlHash());
+        restarted.close();
+        crashed.close();
+    }
+
+    @Test
+    void replayedLinkAlreadyInDatabase_IsSkipped() {
+        WriteBehindLinkWriter crashed = new WriteBehindLinkWriter(linkStore, properties);
+        crashed.write(link("abc123", "https://www.example.com/a"));
+        crashed.write(link("abc124", "https://www.example.com/b"));
+        WriteBehindLinkWriter restarted = new WriteBehindLinkWriter(linkStore, properties);
+        when(repository.saveAll(anyIterable())).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(repository.findByShortLink("abc123")).thenReturn(Optional.of(link("abc123", "https://www.example.com/a")));
+        when(repository.findByShortLink("abc124")).thenReturn(Optional.empty());
+
+        restarted.flush();
+
+        verify(repository).saveAndFlush(argThat(saved -> saved.getShortLink().equals("abc124")));
+        verify(repository, never()).saveAndFlush(argThat(saved -> saved.getShortLink().equals("abc123")));
+        assertEquals(0, restarted.pendingCount());
+        restarted.close();
+        crashed.close();
+    }
+
+    @Test
+    void refusedLink_IsMovedToDeadLetterFile() throws Exception {
+        WriteBehindLinkWriter writer = new WriteBehindLinkWriter(linkStore, properties);
+        writer.write(link("abc123", "https://www.example.com/a"));
+        when(repository.saveAll(anyIterable())).thenThrow(new DataIntegrityViolationException("too long"));
+        when(repository.findByShortLink("abc123")).thenReturn(Optional.empty());
+        when(repository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("too long"));
+
+        writer.flush();
+
+        assertEquals(0, writer.pendingCount());
+        List<String> deadLetters = Files.readAllLines(directory.resolve("dead-letter.log"));
+        assertEquals(1, deadLetters.size());
+        assertTrue(deadLetters.get(0).contains("\tabc123\t"));
+        writer.close();
+    }
+
+    @Test
+    void linkWhoseUrlIsHeldByExpiredRow_IsSavedAfterRowIsDeleted() throws Exception {
+        WriteBehindLinkWriter writer = new WriteBehindLinkWriter(linkStore, properties);
+        writer.write(link("abc123", "https://www.example.com/a"));
+        ShortLink expired = link("old123", "https://www.example.com/a");
+        expired.setExpiresAt(Instant.now().minusSeconds(60));
+        when(repository.saveAll(anyIterable())).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(repository.findByShortLink("abc123")).thenReturn(Optional.empty());
+        when(repository.findAllByUrlHash(UrlFingerprint.of("https://www.example.com/a"))).thenReturn(List.of(expired));
+        when(repository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        writer.flush();
+
+        verify(repository).deleteByShortLinkIn(List.of("old123"));
+        verify(repository, times(2)).saveAndFlush(argThat(saved -> saved.getShortLink().equals("abc123")
+                && saved.getUrlHash() != null));
+        assertEquals(0, writer.pendingCount());
+        assertFalse(Files.exists(directory.resolve("dead-letter.log")));
+        writer.close();
+    }
+
+    @Test
+    void linkWhoseUrlAnotherNodeLinked_IsKeptAsAlias() throws Exception {
+        WriteBehindLinkWriter writer = new WriteBehindLinkWriter(linkStore, properties);
+        writer.write(link("abc123", "https://www.example.com/a"));
+        when(repository.saveAll(anyIterable())).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(repository.findByShortLink("abc123")).thenReturn(Optional.empty());
+        when(repository.findAllByUrlHash(UrlFingerprint.of("https://www.example.com/a")))
+                .thenReturn(List.of(link("xyz789", "https://www.example.com/a")));
+        when(repository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        writer.flush();
+
+        verify(repository).saveAndFlush(argThat(saved -> saved.getShortLink().equals("abc123")
+                && saved.getUrlHash() == null));
+        verify(repository, never()).deleteByShortLinkIn(any());
+        assertEquals(0, writer.pendingCount());
+        assertFalse(Files.exists(directory.resolve("dead-letter.log")));
+        writer.close();
+    }
+
+    @Test
+    void failedFlush_KeepsLinksPendingAndLogged() throws Exception {
+        WriteBehindLinkWriter writer = new WriteBehindLinkWriter(linkStore, properties);
+        writer.write(link("abc123", "https://www.example.com/a"));
+        when(repository.saveAll(anyIterable())).thenThrow(new IllegalStateException("database down"));
+
+        writer.flush();
+
+        assertEquals(1, writer.pendingCount());
+        assertTrue(segments() > 1);
+        writer.close();
+    }
+
+    private long segments() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static ShortLink link(String code, String url) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        return new ShortLink(null, url, code, now, UrlFingerprint.of(url), null, now.plus(ShortLink.TTL));
+    }
+}